@@ -32,17 +32,28 @@ public class HitUCCApp {
 							peerHostCommand.csvSkipHeader,
 							peerHostCommand.csvQuoteCharacter,
 							peerHostCommand.csvEscapeCharacter,
+							peerHostCommand.csvParallelRead,
+							peerHostCommand.dictionaryEncoding,
+							peerHostCommand.disableTableSnapshot,
+							peerHostCommand.distributedRead,
 							peerHostCommand.output,
 							peerHostCommand.dataDuplicationFactor,
 							peerHostCommand.nullEqualsNull,
+							peerHostCommand.collapseDuplicateRows,
+							peerHostCommand.focusedSampling,
+							peerHostCommand.samplingThreshold,
+							peerHostCommand.algorithm,
 							peerHostCommand.sortColumnsInPhaseOne,
 							peerHostCommand.sortColumnsNegatively,
 							peerHostCommand.maxLocalTreeDepth,
 							peerHostCommand.createDiffSets,
-							peerHostCommand.minimizeDiffSets);
+							peerHostCommand.minimizeDiffSets,
+							peerHostCommand.compareBatches,
+							peerHostCommand.cacheBudget * 1024,
+							peerHostCommand.phaseOneParallelism);
 					break;
 				case HitUCCPeerSystem.PEER_ROLE:
-					HitUCCPeerSystem.start(peerCommand.workers,peerCommand.createDiffSets, peerCommand.minimizeDiffSets);
+					HitUCCPeerSystem.start(peerCommand.workers,peerCommand.createDiffSets, peerCommand.minimizeDiffSets, peerCommand.compareBatches, peerCommand.cacheBudget * 1024, peerCommand.phaseOneParallelism);
 					break;
 				default:
 					throw new AssertionError();
@@ -64,7 +75,9 @@ public class HitUCCApp {
 		LIST,
 		TRIE,
 		PATRICIA,
-		NAIVE;
+		NAIVE,
+		SLAB,
+		MINIMAL;
 
 		// converter that will be used later
 		public static CreateDiffSetsStrategy fromString(String code) {
@@ -110,7 +123,9 @@ public class HitUCCApp {
 	public enum MinimizeDiffSetsStrategy {
 		BUCKETING,
 		SORT,
-		NAIVE;
+		NAIVE,
+		SET_TRIE,
+		INVERTED_INDEX;
 
 		// converter that will be used later
 		public static MinimizeDiffSetsStrategy fromString(String code) {
@@ -125,6 +140,100 @@ public class HitUCCApp {
 		}
 	}
 
+	public enum CompareBatchesStrategy {
+		CROSS_PRODUCT,
+		BIT_SLICED,
+		PLI;
+
+		// converter that will be used later
+		public static CompareBatchesStrategy fromString(String code) {
+
+			for(CompareBatchesStrategy output : CompareBatchesStrategy.values()) {
+				if(output.toString().equalsIgnoreCase(code)) {
+					return output;
+				}
+			}
+
+			return null;
+		}
+	}
+
+	public static class CompareBatchesStrategyConverter implements IStringConverter<CompareBatchesStrategy> {
+
+		@Override
+		public CompareBatchesStrategy convert(String value) {
+			CompareBatchesStrategy convertedValue = CompareBatchesStrategy.fromString(value);
+
+			if(convertedValue == null) {
+				throw new ParameterException("Value " + value + "can not be converted to CompareBatchesStrategy. " +
+						"Available values are: " + Arrays.toString(CompareBatchesStrategy.values()));
+			}
+			return convertedValue;
+		}
+	}
+
+	public enum Algorithm {
+		EXACT,
+		HYBRID;
+
+		// converter that will be used later
+		public static Algorithm fromString(String code) {
+
+			for(Algorithm output : Algorithm.values()) {
+				if(output.toString().equalsIgnoreCase(code)) {
+					return output;
+				}
+			}
+
+			return null;
+		}
+	}
+
+	public static class AlgorithmConverter implements IStringConverter<Algorithm> {
+
+		@Override
+		public Algorithm convert(String value) {
+			Algorithm convertedValue = Algorithm.fromString(value);
+
+			if(convertedValue == null) {
+				throw new ParameterException("Value " + value + "can not be converted to Algorithm. " +
+						"Available values are: " + Arrays.toString(Algorithm.values()));
+			}
+			return convertedValue;
+		}
+	}
+
+	public enum DictionaryEncodingStrategy {
+		HASH,
+		SORT;
+
+		// converter that will be used later
+		public static DictionaryEncodingStrategy fromString(String code) {
+
+			for(DictionaryEncodingStrategy output : DictionaryEncodingStrategy.values()) {
+				if(output.toString().equalsIgnoreCase(code)) {
+					return output;
+				}
+			}
+
+			return null;
+		}
+	}
+
+	public static class DictionaryEncodingStrategyConverter implements IStringConverter<DictionaryEncodingStrategy> {
+
+		@Override
+		public DictionaryEncodingStrategy convert(String value) {
+			DictionaryEncodingStrategy convertedValue = DictionaryEncodingStrategy.fromString(value);
+
+			if(convertedValue == null) {
+				throw new ParameterException("Value " + value + "can not be converted to DictionaryEncodingStrategy. " +
+						"Available values are: " + Arrays.toString(DictionaryEncodingStrategy.values()));
+			}
+			return convertedValue;
+		}
+	}
+
 	static class PeerCommand {
 		public static final int DEFAULT_WORKERS = Runtime.getRuntime().availableProcessors() - 2;
 		public static final String DEFAULT_OUTPUT_FILE = "test-results.json";
@@ -132,7 +241,15 @@ public class HitUCCApp {
 		public static final int DEFAULT_MAX_LOCAL_TREE_DEPTH = 1000;
 		public static final boolean DEFAULT_GREEDY_TASK_DISTRIBUTION = false;
 		public static final boolean DEFAULT_NULL_EQUALS_EQUALS = false;
+		public static final boolean DEFAULT_COLLAPSE_DUPLICATE_ROWS = false;
+		public static final boolean DEFAULT_FOCUSED_SAMPLING = false;
+		public static final double DEFAULT_SAMPLING_THRESHOLD = 0.01;
 		public static final boolean DEFAULT_CSV_SKIP_HEADER = false;
+		public static final boolean DEFAULT_CSV_PARALLEL_READ = false;
+		public static final boolean DEFAULT_DISABLE_TABLE_SNAPSHOT = false;
+		public static final boolean DEFAULT_DISTRIBUTED_READ = false;
+		public static final int DEFAULT_CACHE_BUDGET = 256;
+		public static final int DEFAULT_PHASE_ONE_PARALLELISM = 1;
 
 		@Parameter(names = {"-w", "--workers"}, description = "number of workers to start locally", required = false)
 		int workers = DEFAULT_WORKERS;
@@ -149,6 +266,18 @@ public class HitUCCApp {
 				converter = MinimizeDiffSetsStrategyConverter.class)
 		MinimizeDiffSetsStrategy minimizeDiffSets = MinimizeDiffSetsStrategy.BUCKETING;
 
+		@Parameter(names = {"--compareBatches"},
+				description = "Compare Batches Strategy: CROSS_PRODUCT compares every row pair, BIT_SLICED compares every row pair 64 pairs at a time, PLI only the pairs that share a value in at least one column",
+				required = false,
+				converter = CompareBatchesStrategyConverter.class)
+		CompareBatchesStrategy compareBatches = CompareBatchesStrategy.CROSS_PRODUCT;
+
+		@Parameter(names = {"--cacheBudget"}, description = "cache size in KB that a tile of compared rows should fit in, by default an eighth of a 2 MB L2 cache, which the tile shares with the other rows and the collected difference sets", required = false)
+		int cacheBudget = DEFAULT_CACHE_BUDGET;
+
+		@Parameter(names = {"--phaseOneParallelism"}, description = "number of sub-tiles a batch pair is split into to compare it on several threads", required = false)
+		int phaseOneParallelism = DEFAULT_PHASE_ONE_PARALLELISM;
+
 //		@Parameter(names = {"-bh", "--bind-host"}, description = "this machine's host name or IP to bind against")
 //		String bindHost = "0.0.0.0";
 //		@Parameter(names = {"-bp", "--bind-port"}, description = "port to bind against", required = false)
@@ -173,8 +302,29 @@ public class HitUCCApp {
 				required = false)
 		boolean nullEqualsNull = DEFAULT_NULL_EQUALS_EQUALS;
 
+		@Parameter(names = {"-collapse_duplicates", "--collapseDuplicateRows"},
+				description = "Treat the input as a set of rows and remove duplicate rows before searching. Otherwise a table with duplicate rows has no UCC",
+				required = false)
+		boolean collapseDuplicateRows = DEFAULT_COLLAPSE_DUPLICATE_ROWS;
+
+		@Parameter(names = {"-sample", "--focusedSampling"},
+				description = "Sample neighbouring rows of every column before phase one and seed all workers with the minimal difference sets found",
+				required = false)
+		boolean focusedSampling = DEFAULT_FOCUSED_SAMPLING;
+
+		@Parameter(names = {"--samplingThreshold"},
+				description = "Stop sampling a column once fewer than this share of comparisons yields a new minimal difference set",
+				required = false)
+		double samplingThreshold = DEFAULT_SAMPLING_THRESHOLD;
+
+		@Parameter(names = {"--algorithm"},
+				description = "EXACT compares all row pairs in phase one. HYBRID samples difference sets and validates the resulting UCC candidates against the whole table instead",
+				required = false,
+				converter = AlgorithmConverter.class)
+		Algorithm algorithm = Algorithm.EXACT;
+
 		@Parameter(names = {"-i", "--input"},
-				description = "Input csv file",
+				description = "Input csv file, optionally gzip or zstd compressed",
 				required = true)
 		String input;
 
@@ -198,6 +348,27 @@ public class HitUCCApp {
 				required = false)
 		char csvEscapeCharacter = CSVParser.DEFAULT_ESCAPE_CHARACTER;
 
+		@Parameter(names = {"-csv_parallel", "--csvParallelRead"},
+				description = "Memory-map the csv file and parse newline aligned chunks of it on all cores",
+				required = false)
+		boolean csvParallelRead = DEFAULT_CSV_PARALLEL_READ;
+
+		@Parameter(names = {"--dictionaryEncoding"},
+				description = "Dictionary Encoding Strategy. HASH assigns unordered codes in one pass, SORT assigns codes in value order",
+				required = false,
+				converter = DictionaryEncodingStrategyConverter.class)
+		DictionaryEncodingStrategy dictionaryEncoding = DictionaryEncodingStrategy.HASH;
+
+		@Parameter(names = {"-no_snapshot", "--disableTableSnapshot"},
+				description = "Always parse and encode the csv file instead of loading or writing the encoded table snapshot next to it",
+				required = false)
+		boolean disableTableSnapshot = DEFAULT_DISABLE_TABLE_SNAPSHOT;
+
+		@Parameter(names = {"-distributed_read", "--distributedRead"},
+				description = "Let every actor system read and encode a slice of the input itself. The input has to be available under the same path on every node, e.g. on a shared filesystem",
+				required = false)
+		boolean distributedRead = DEFAULT_DISTRIBUTED_READ;
+
 		@Parameter(names = {"-o", "--o"},
 				description = "Output file with all accumulated UCCs",
 				required = false)
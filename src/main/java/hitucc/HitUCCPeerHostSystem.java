@@ -8,15 +8,20 @@ import com.typesafe.config.ConfigFactory;
 import hitucc.actors.PeerDataBouncer;
 import hitucc.actors.PeerWorker;
 import hitucc.actors.messages.TaskMessage;
+import hitucc.behaviour.dictionary.EncodedTableSnapshot;
+import hitucc.behaviour.dictionary.TableEncoder;
 import hitucc.model.AlgorithmTimerObject;
+import hitucc.model.CsvInput;
+import hitucc.model.EncodedTable;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
 public class HitUCCPeerHostSystem extends HitUCCSystem {
 
 	public static final String PEER_HOST_ROLE = "host";
 
-	public static void start(int workers, String input, boolean greedyTaskDistribution, char csvDelimiter, boolean csvSkipHeader, char csvQuoteCharacter, char csvEscapeCharacter, String output, int dataDuplicationFactor, boolean nullEqualsNull, boolean sortColumnsInPhaseOne, boolean sortNegatively, int maxTreeDepth, HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy, HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy) {
+	public static void start(int workers, String input, boolean greedyTaskDistribution, char csvDelimiter, boolean csvSkipHeader, char csvQuoteCharacter, char csvEscapeCharacter, boolean csvParallelRead, HitUCCApp.DictionaryEncodingStrategy dictionaryEncodingStrategy, boolean disableTableSnapshot, boolean distributedRead, String output, int dataDuplicationFactor, boolean nullEqualsNull, boolean collapseDuplicateRows, boolean focusedSampling, double samplingThreshold, HitUCCApp.Algorithm algorithm, boolean sortColumnsInPhaseOne, boolean sortNegatively, int maxTreeDepth, HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy, HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy, HitUCCApp.CompareBatchesStrategy compareBatchesStrategy, int cacheBudget, int phaseOneParallelism) {
 		final Config config = ConfigFactory.parseString("akka.cluster.roles = [" + PEER_HOST_ROLE + "]\n").withFallback(ConfigFactory.load());
 		String clusterName = config.getString("clustering.cluster.name");
 		final ActorSystem system = createSystem(clusterName, config);
@@ -35,7 +40,7 @@ public class HitUCCPeerHostSystem extends HitUCCSystem {
 
 //		system.actorOf(Reaper.props(), Reaper.DEFAULT_NAME + ":" + port);
 		for (int i = 0; i < workers; i++) {
-			system.actorOf(PeerWorker.props(createDiffSetsStrategy, minimizeDiffSetsStrategy), PeerWorker.DEFAULT_NAME + i + ":" + port);
+			system.actorOf(PeerWorker.props(createDiffSetsStrategy, minimizeDiffSetsStrategy, compareBatchesStrategy, cacheBudget, phaseOneParallelism), PeerWorker.DEFAULT_NAME + i + ":" + port);
 		}
 		final ActorRef dataBouncer = system.actorOf(PeerDataBouncer.props(workers), PeerDataBouncer.DEFAULT_NAME + ":" + port);
 
@@ -50,17 +55,63 @@ public class HitUCCPeerHostSystem extends HitUCCSystem {
 			AlgorithmTimerObject timerObject = new AlgorithmTimerObject(sortColumnsInPhaseOne, sortNegatively, output, input, maxTreeDepth, workers == 1 && Math.max(systemCount, 1) == 1 && dataDuplicationFactor == 1);
 			timerObject.setTableReadStartTime();
 
-			String[][] table = null;
-			try {
-				table = ReadDataTable.readTable("data/" + input, csvDelimiter, csvSkipHeader, csvQuoteCharacter, csvEscapeCharacter);
-			} catch (IOException e) {
-				e.printStackTrace();
-				System.exit(0);
+			EncodedTable table = null;
+			CsvInput distributedInput = null;
+			// the hybrid search validates candidates against the whole table, so the host reads it
+			if (distributedRead && algorithm != HitUCCApp.Algorithm.HYBRID && canReadInParallel("data/" + input, csvDelimiter, csvQuoteCharacter, csvEscapeCharacter)) {
+				// every data bouncer reads a slice of the input once all systems are registered
+				distributedInput = new CsvInput("data/" + input, csvDelimiter, csvSkipHeader, csvQuoteCharacter, csvEscapeCharacter, dictionaryEncodingStrategy);
+			} else {
+				table = loadTable("data/" + input, csvDelimiter, csvSkipHeader, csvQuoteCharacter, csvEscapeCharacter, csvParallelRead, dictionaryEncodingStrategy, !disableTableSnapshot, nullEqualsNull);
 			}
 
 			timerObject.setRegisterStartTime();
 
-			dataBouncer.tell(new TaskMessage(table, table[0].length, greedyTaskDistribution, dataDuplicationFactor, nullEqualsNull, Math.max(systemCount, 1), timerObject.clone()), ActorRef.noSender());
+			dataBouncer.tell(new TaskMessage(table, greedyTaskDistribution, dataDuplicationFactor, nullEqualsNull, collapseDuplicateRows, focusedSampling, samplingThreshold, algorithm, Math.max(systemCount, 1), timerObject.clone(), distributedInput), ActorRef.noSender());
 		});
 	}
+
+	private static boolean canReadInParallel(String path, char csvDelimiter, char csvQuoteCharacter, char csvEscapeCharacter) {
+		try {
+			return ReadDataTable.canReadInParallel(path, csvDelimiter, csvQuoteCharacter, csvEscapeCharacter, true);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static EncodedTable loadTable(String path, char csvDelimiter, boolean csvSkipHeader, char csvQuoteCharacter, char csvEscapeCharacter, boolean csvParallelRead, HitUCCApp.DictionaryEncodingStrategy dictionaryEncodingStrategy, boolean useSnapshot, boolean nullEqualsNull) {
+		EncodedTableSnapshot snapshot = null;
+		if (useSnapshot) {
+			String settings = "delimiter=" + csvDelimiter + ";skipHeader=" + csvSkipHeader + ";quote=" + csvQuoteCharacter +
+					";escape=" + csvEscapeCharacter + ";nullEqualsNull=" + nullEqualsNull + ";encoding=" + dictionaryEncodingStrategy;
+			try {
+				snapshot = new EncodedTableSnapshot(Paths.get(path + EncodedTableSnapshot.FILE_EXTENSION), EncodedTableSnapshot.checksum(Paths.get(path)), settings);
+				EncodedTable table = snapshot.read();
+				if (table != null) {
+					System.out.println("Loaded encoded table snapshot " + path + EncodedTableSnapshot.FILE_EXTENSION);
+					return table;
+				}
+			} catch (IOException e) {
+				System.out.println("Could not load encoded table snapshot: " + e.getMessage());
+			}
+		}
+
+		TableEncoder tableEncoder = new TableEncoder(nullEqualsNull, dictionaryEncodingStrategy);
+		try {
+			ReadDataTable.readTable(path, csvDelimiter, csvSkipHeader, csvQuoteCharacter, csvEscapeCharacter, csvParallelRead, tableEncoder::addRows);
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
+		EncodedTable table = tableEncoder.encode();
+
+		if (snapshot != null) {
+			try {
+				snapshot.write(table);
+			} catch (IOException e) {
+				System.out.println("Could not write encoded table snapshot: " + e.getMessage());
+			}
+		}
+		return table;
+	}
 }
@@ -2,20 +2,26 @@ package hitucc;
 
 import com.opencsv.CSVParser;
 import com.opencsv.CSVReader;
+import hitucc.behaviour.input.DecompressionPipeline;
+import hitucc.behaviour.input.MappedCsvReader;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ReadDataTable {
+	private static final int ROW_BLOCK_SIZE = 4096;
+
 	public static String[][] readTable(String path, char delimiter) throws IOException {
 		return readTable(path, delimiter, false, CSVParser.DEFAULT_QUOTE_CHARACTER, CSVParser.DEFAULT_ESCAPE_CHARACTER);
 	}
 
 	public static String[][] readTable(String path, char delimiter, boolean hasHeader, char quoteCharacter, char escapeCharacter) throws IOException {
 		List<String[]> records = new ArrayList<>();
-		FileReader reader = new FileReader(path);
+		Reader reader = new InputStreamReader(DecompressionPipeline.open(path));
 		try (CSVReader csvReader = new CSVReader(reader, delimiter, quoteCharacter, escapeCharacter, hasHeader ? 1 : 0)) {
 //			if (hasHeader) {
 //				csvReader.readNext();
@@ -34,4 +40,55 @@ public class ReadDataTable {
 
 		return records.toArray(new String[records.size()][records.get(0).length]);
 	}
+
+	public static String[][] readTable(String path, char delimiter, boolean hasHeader, char quoteCharacter, char escapeCharacter, boolean parallel) throws IOException {
+		if (!canReadInParallel(path, delimiter, quoteCharacter, escapeCharacter, parallel)) {
+			return readTable(path, delimiter, hasHeader, quoteCharacter, escapeCharacter);
+		}
+
+		List<String[]> records = new MappedCsvReader(path, delimiter, hasHeader, quoteCharacter, escapeCharacter).readAll();
+		return records.toArray(new String[records.size()][records.get(0).length]);
+	}
+
+	/**
+	 * Compressed files are always decompressed and parsed as one stream.
+	 */
+	public static boolean canReadInParallel(String path, char delimiter, char quoteCharacter, char escapeCharacter, boolean parallel) throws IOException {
+		return parallel && MappedCsvReader.supports(delimiter, quoteCharacter, escapeCharacter)
+				&& DecompressionPipeline.detectCompression(path) == DecompressionPipeline.Compression.NONE;
+	}
+
+	/**
+	 * Stream the table in blocks of rows to the consumer without materializing it. Rows with another column count than
+	 * the first row are skipped.
+	 */
+	public static void readTable(String path, char delimiter, boolean hasHeader, char quoteCharacter, char escapeCharacter, boolean parallel, Consumer<List<String[]>> rowBlockConsumer) throws IOException {
+		if (canReadInParallel(path, delimiter, quoteCharacter, escapeCharacter, parallel)) {
+			new MappedCsvReader(path, delimiter, hasHeader, quoteCharacter, escapeCharacter).read(rowBlockConsumer);
+			return;
+		}
+
+		Reader reader = new InputStreamReader(DecompressionPipeline.open(path));
+		try (CSVReader csvReader = new CSVReader(reader, delimiter, quoteCharacter, escapeCharacter, hasHeader ? 1 : 0)) {
+			List<String[]> block = new ArrayList<>(ROW_BLOCK_SIZE);
+			int columnCount = -1;
+
+			String[] values;
+			while ((values = csvReader.readNext()) != null) {
+				if (columnCount == -1) columnCount = values.length;
+				if (columnCount != values.length) {
+					System.out.println("Skip Line!");
+					continue;
+				}
+
+				block.add(values);
+				if (block.size() == ROW_BLOCK_SIZE) {
+					rowBlockConsumer.accept(block);
+					block = new ArrayList<>(ROW_BLOCK_SIZE);
+				}
+			}
+
+			if (!block.isEmpty()) rowBlockConsumer.accept(block);
+		}
+	}
 }
@@ -11,13 +11,21 @@ import akka.cluster.ClusterEvent.MemberUp;
 import akka.cluster.Member;
 import akka.event.Logging;
 import akka.event.LoggingAdapter;
+import hitucc.HitUCCApp;
 import hitucc.HitUCCPeerHostSystem;
 import hitucc.HitUCCPeerSystem;
 import hitucc.actors.messages.*;
-import hitucc.behaviour.dictionary.DictionaryEncoder;
+import hitucc.behaviour.dictionary.DictionaryMerger;
+import hitucc.behaviour.dictionary.DuplicateRowDetector;
 import hitucc.behaviour.dictionary.IColumn;
+import hitucc.behaviour.dictionary.TableEncoder;
+import hitucc.behaviour.differenceSets.FocusedSampler;
+import hitucc.behaviour.differenceSets.HybridDifferenceSetSearch;
+import hitucc.behaviour.input.MappedCsvReader;
+import hitucc.behaviour.profiling.ColumnProfiler;
 import hitucc.model.*;
 
+import java.io.IOException;
 import java.util.*;
 
 public class PeerDataBouncer extends AbstractActor {
@@ -36,8 +44,19 @@ public class PeerDataBouncer extends AbstractActor {
 	private BatchRoutingTable routingTable;
 	private EncodedBatches batches;
 	private TaskMessage task;
+	private ColumnProfile columnProfile;
+	private SerializableBitSet[] seedDifferenceSets = new SerializableBitSet[0];
 	private boolean started;
 
+	private List<ActorRef> sliceOwners;
+	private DictionaryMerger dictionaryMerger;
+	private int[] sliceRowCounts;
+	private int[] sliceColumnCounts;
+	private int[][] sliceBatchSizes;
+	private EncodedTable sliceTable;
+	private EncodedBatch[] sliceBatches;
+	private int sliceFirstBatch;
+
 	public PeerDataBouncer(Integer localWorkerCount) {
 		this.neededLocalWorkerCount = localWorkerCount;
 	}
@@ -77,6 +96,11 @@ public class PeerDataBouncer extends AbstractActor {
 				.match(RegistrationMessage.class, this::handle)
 				.match(RegisterSystemMessage.class, this::handle)
 				.match(TaskMessage.class, this::handle)
+				.match(ReadTableSliceMessage.class, this::handle)
+				.match(SliceDictionariesMessage.class, this::handle)
+				.match(TranslateSliceMessage.class, this::handle)
+				.match(SliceBatchesMessage.class, this::handle)
+				.match(SliceFailedMessage.class, this::handle)
 				.match(SetupDataBouncerMessage.class, this::handle)
 				.match(AddBatchRouteMessage.class, this::handle)
 				.match(RequestDataBatchMessage.class, this::handle)
@@ -199,15 +223,101 @@ public class PeerDataBouncer extends AbstractActor {
 			return;
 		}
 
-		AlgorithmTimerObject timerObject = task.getTimerObject();
-
 		workerPerSystem.add(new ArrayList<>(localWorker));
 
 		if (started) return;
 		started = true;
-		this.log.info("Received Task Message with table of size [row: {}, columns: {}]", task.getInputFile().length, task.getInputFile()[0].length);
 
-		String[][] table = task.getInputFile();
+		if (task.getDistributedInput() != null) {
+			startDistributedRead();
+			return;
+		}
+
+		startWithTable(task.getTable());
+	}
+
+	private void startWithTable(EncodedTable table) {
+		AlgorithmTimerObject timerObject = task.getTimerObject();
+		this.log.info("Received Task Message with table of size [row: {}, columns: {}]", table.getRowCount(), table.getColumnCount());
+
+		int batchCount = calculateBatchCount();
+
+		DuplicateRowDetector duplicateRowDetector = new DuplicateRowDetector(table);
+		if (duplicateRowDetector.hasDuplicates()) {
+			if (task.isCollapseDuplicateRows()) {
+				table = table.selectRows(duplicateRowDetector.getDistinctRows());
+				this.log.info("Removed duplicate rows, {} distinct rows remain", table.getRowCount());
+			} else {
+				// two equal rows result in the empty difference set, so the search ends without any UCC
+				int[] duplicatePair = duplicateRowDetector.getDuplicatePair();
+				this.log.info("Rows {} and {} are equal, the table has no UCC", duplicatePair[0], duplicatePair[1]);
+				table = table.selectRows(duplicatePair);
+				batchCount = 1;
+			}
+		}
+		routingTable = new BatchRoutingTable(batchCount, this.self());
+
+		timerObject.setDictionaryStartTime();
+		int[] cardinalities = new int[table.getColumnCount()];
+		for (int i = 0; i < cardinalities.length; i++) cardinalities[i] = table.getDictionary(i).size();
+		int[] columnOrder = calculateColumnOrder(cardinalities, ColumnProfiler.profile(table));
+		if (task.getAlgorithm() == HitUCCApp.Algorithm.HYBRID) {
+			startHybridSearch(table, columnOrder);
+			return;
+		}
+		if (task.isFocusedSampling()) {
+			FocusedSampler sampler = new FocusedSampler(table, columnOrder, task.getSamplingThreshold());
+			seedDifferenceSets = sampler.sample();
+			this.log.info("Sampled {} minimal difference sets with {} comparisons", seedDifferenceSets.length, sampler.getComparisons());
+		}
+
+		EncodedBatch[] tableBatches = createBatches(table, columnOrder, batchCount);
+		int[] batchSizes = new int[batchCount];
+		for (int i = 0; i < batchCount; i++) batchSizes[i] = tableBatches[i].getRowCount();
+		batches = new EncodedBatches(batchCount, batchSizes);
+		for (int i = 0; i < batchCount; i++) {
+			batches.setBatch(i, tableBatches[i]);
+		}
+
+		batches.updateBatchSizes();
+		// the encoded rows now live in the batches
+		task.setTable(null);
+		for (ActorRef remoteDataBouncer : remoteDataBouncer) {
+			remoteDataBouncer.tell(new SetupDataBouncerMessage(batchCount, batches.getBatchSizes(), null), this.self());
+		}
+
+		distributeTasks(batchCount);
+	}
+
+	/**
+	 * Find the minimal difference sets by sampling and validation on this node and start the tree search with them.
+	 * The workers skip phase one and only take part in the tree search.
+	 */
+	private void startHybridSearch(EncodedTable table, int[] columnOrder) {
+		AlgorithmTimerObject timerObject = task.getTimerObject();
+		timerObject.setPhaseOneStartTime();
+
+		FocusedSampler sampler = new FocusedSampler(table, columnOrder, task.getSamplingThreshold());
+		SerializableBitSet[] sampledSets = sampler.sample();
+		HybridDifferenceSetSearch hybridSearch = new HybridDifferenceSetSearch(table, columnOrder);
+		SerializableBitSet[] minimalDifferenceSets = hybridSearch.search(sampledSets);
+		this.log.info("Hybrid search found {} minimal difference sets with {} sampled comparisons, {} validations in {} iterations",
+				minimalDifferenceSets.length, sampler.getComparisons(), hybridSearch.getValidations(), hybridSearch.getIterations());
+		task.setTable(null);
+
+		timerObject.setPhaseTwoStartTime();
+		ActorRef[] allWorker = new ActorRef[workerInCluster()];
+		for (int i = 0; i < allWorker.length; i++) {
+			allWorker[i] = i < localWorker.size() ? localWorker.get(i) : remoteWorker.get(i - localWorker.size());
+		}
+
+		getContext().getSystem().actorOf(Reaper.props(), Reaper.DEFAULT_NAME);
+		getContext().getSystem().actorOf(PeerTreeSearchWorker.props(allWorker, minimalDifferenceSets, columnOrder.length, timerObject.clone(), columnProfile), PeerTreeSearchWorker.DEFAULT_NAME + localWorker.size() + getActorSystemID());
+		for (ActorRef bouncer : remoteDataBouncer) bouncer.tell(new StartTreeSearchMessage(), this.self());
+		getContext().stop(this.self());
+	}
+
+	private int calculateBatchCount() {
 		int batchCount = task.getDataDuplicationFactor();
 
 		if (batchCount < 1) {
@@ -223,24 +333,23 @@ public class PeerDataBouncer extends AbstractActor {
 		if (batchCount == 1) {
 			this.log.info("The Data Duplication Factor is set to 1. The program therefore cannot distribute the algorithm. This is not that bad, but it slows down the execution time significantly.");
 		}
+		return batchCount;
+	}
 
-		routingTable = new BatchRoutingTable(batchCount, this.self());
-
-		Random random = new Random();
-		int columnCount = task.getAttributes();
-
-		timerObject.setDictionaryStartTime();
-		DictionaryEncoder[] encoder = new DictionaryEncoder[columnCount];
-		for (int i = 0; i < columnCount; i++) encoder[i] = new DictionaryEncoder(table.length, task.isNullEqualsNull());
-		for (String[] row : table) {
-			for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-				encoder[columnIndex].addValue(row[columnIndex]);
-			}
-		}
+	/**
+	 * Leaves out the columns the profile does not search and remembers the order in the profile for the tree search.
+	 *
+	 * @return the column indices in the order the batches should store them
+	 */
+	private int[] calculateColumnOrder(int[] cardinalities, ColumnProfile profile) {
+		AlgorithmTimerObject timerObject = task.getTimerObject();
+		int[] searchColumns = profile.getSearchColumns();
+		this.log.info("Column profile: {} key columns, {} constant columns, {} of {} columns are searched",
+				profile.getKeyColumns().length, profile.getConstantColumns().length, searchColumns.length, profile.getColumnCount());
 
-		ColumnCardinality[] columnAssignment = new ColumnCardinality[columnCount];
+		ColumnCardinality[] columnAssignment = new ColumnCardinality[searchColumns.length];
 		for (int i = 0; i < columnAssignment.length; i++)
-			columnAssignment[i] = new ColumnCardinality(i, encoder[i].getDictionary().size());
+			columnAssignment[i] = new ColumnCardinality(searchColumns[i], cardinalities[searchColumns[i]]);
 		if (timerObject.settingsSortColumnsInPhaseOne()) {
 			if (timerObject.settingsSortNegatively()) {
 				Arrays.sort(columnAssignment, Comparator.comparingInt(ColumnCardinality::getCardinality));
@@ -249,29 +358,261 @@ public class PeerDataBouncer extends AbstractActor {
 			}
 		}
 
-		List<EncodedRow>[] listBatches = new List[batchCount];
+		int[] columnOrder = new int[columnAssignment.length];
+		for (int i = 0; i < columnOrder.length; i++) columnOrder[i] = columnAssignment[i].getColumnIndex();
+		columnProfile = profile.withSearchColumns(columnOrder);
+		return columnOrder;
+	}
+
+	/**
+	 * Distribute the rows of the table randomly to batchCount column-major batches.
+	 */
+	private static EncodedBatch[] createBatches(EncodedTable table, int[] columnOrder, int batchCount) {
+		Random random = new Random();
+		int rowCount = table.getRowCount();
+		int columnCount = columnOrder.length;
+
+		int[] batchOfRow = new int[rowCount];
+		int[] batchSizes = new int[batchCount];
+		for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+			batchOfRow[rowIndex] = random.nextInt(batchCount);
+			batchSizes[batchOfRow[rowIndex]] += 1;
+		}
+
+		IColumn[][] batchColumns = new IColumn[batchCount][columnCount];
+		int[] insertIndex = new int[batchCount];
+		for (int i = 0; i < columnCount; i++) {
+			IColumn column = table.getColumn(columnOrder[i]);
+			for (int batchIndex = 0; batchIndex < batchCount; batchIndex++) {
+				batchColumns[batchIndex][i] = column.createEmpty(batchSizes[batchIndex]);
+			}
+
+			Arrays.fill(insertIndex, 0);
+			for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+				int batchIndex = batchOfRow[rowIndex];
+				batchColumns[batchIndex][i].setValue(insertIndex[batchIndex], column.getValue(rowIndex));
+				insertIndex[batchIndex] += 1;
+			}
+		}
+
+		EncodedBatch[] batches = new EncodedBatch[batchCount];
 		for (int i = 0; i < batchCount; i++) {
-			listBatches[i] = new ArrayList<>();
+			batches[i] = new EncodedBatch(batchColumns[i], batchSizes[i]);
+		}
+		return batches;
+	}
+
+	/**
+	 * Let every actor system read and encode one slice of the input. The slices are record aligned byte ranges.
+	 */
+	private void startDistributedRead() {
+		CsvInput input = task.getDistributedInput();
+		sliceOwners = new ArrayList<>();
+		sliceOwners.add(this.self());
+		sliceOwners.addAll(remoteDataBouncer);
+
+		long[] boundaries;
+		try {
+			boundaries = new MappedCsvReader(input.getPath(), input.getDelimiter(), input.isSkipHeader(), input.getQuoteCharacter(), input.getEscapeCharacter()).findSliceBoundaries(sliceOwners.size());
+		} catch (IOException e) {
+			this.log.error(e, "Could not split input {}", input.getPath());
+			readInputOnHost();
+			return;
+		}
+		this.log.info("Read input in {} slices", sliceOwners.size());
+
+		dictionaryMerger = new DictionaryMerger(sliceOwners.size(), input.getEncodingStrategy());
+		sliceRowCounts = new int[sliceOwners.size()];
+		sliceColumnCounts = new int[sliceOwners.size()];
+		sliceBatchSizes = new int[sliceOwners.size()][];
+		for (int i = 0; i < sliceOwners.size(); i++) {
+			long start = i + 1 < boundaries.length ? boundaries[i] : boundaries[boundaries.length - 1];
+			long end = i + 2 < boundaries.length ? boundaries[i + 1] : boundaries[boundaries.length - 1];
+			sliceOwners.get(i).tell(new ReadTableSliceMessage(i, input, start, end, task.isNullEqualsNull()), this.self());
+		}
+	}
+
+	private void handle(ReadTableSliceMessage message) {
+		CsvInput input = message.getInput();
+		TableEncoder tableEncoder = new TableEncoder(message.isNullEqualsNull(), input.getEncodingStrategy());
+		try {
+			new MappedCsvReader(input.getPath(), input.getDelimiter(), input.isSkipHeader(), input.getQuoteCharacter(), input.getEscapeCharacter())
+					.read(message.getStart(), message.getEnd(), tableEncoder::addRows);
+		} catch (IOException e) {
+			this.log.error(e, "Could not read slice {} of input {}", message.getSliceIndex(), input.getPath());
+			this.sender().tell(new SliceFailedMessage(message.getSliceIndex(), e.getMessage()), this.self());
+			return;
+		}
+		sliceTable = tableEncoder.encode();
+		this.log.info("Read slice {} with {} rows", message.getSliceIndex(), sliceTable.getRowCount());
+
+		List<String>[] dictionaries = new List[sliceTable.getColumnCount()];
+		int[] nullValueCounts = new int[sliceTable.getColumnCount()];
+		for (int i = 0; i < dictionaries.length; i++) {
+			dictionaries[i] = sliceTable.getDictionary(i);
+			nullValueCounts[i] = sliceTable.getNullValueCount(i);
+		}
+		this.sender().tell(new SliceDictionariesMessage(message.getSliceIndex(), sliceTable.getRowCount(), dictionaries, nullValueCounts), this.self());
+	}
+
+	private void handle(SliceDictionariesMessage message) {
+		// the input is read on the host after a slice failed
+		if (dictionaryMerger == null) return;
+		dictionaryMerger.addSlice(message.getSliceIndex(), message.getDictionaries(), message.getNullValueCounts());
+		sliceRowCounts[message.getSliceIndex()] = message.getRowCount();
+		sliceColumnCounts[message.getSliceIndex()] = message.getDictionaries().length;
+		if (!dictionaryMerger.hasAllSlices()) return;
+
+		// every slice takes the column count of its first record, so a malformed first record shows up here
+		for (int i = 0; i < sliceColumnCounts.length; i++) {
+			if (sliceRowCounts[i] > 0 && sliceColumnCounts[i] != dictionaryMerger.getColumnCount()) {
+				handle(new SliceFailedMessage(i, sliceColumnCounts[i] + " instead of " + dictionaryMerger.getColumnCount() + " columns"));
+				return;
+			}
+		}
+
+		task.getTimerObject().setDictionaryStartTime();
+		int columnCount = dictionaryMerger.getColumnCount();
+		int[] valueCounts = new int[columnCount];
+		int[] cardinalities = new int[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			valueCounts[i] = dictionaryMerger.getValueCount(i);
+			cardinalities[i] = dictionaryMerger.getDictionary(i).size();
+		}
+
+		// every slice with rows builds at least one batch, the others are spread by row count
+		int slicesWithRows = 0;
+		int rowCount = 0;
+		for (int sliceRowCount : sliceRowCounts) {
+			if (sliceRowCount > 0) slicesWithRows += 1;
+			rowCount += sliceRowCount;
+		}
+		int[] columnOrder = calculateColumnOrder(cardinalities, ColumnProfiler.profile(valueCounts, rowCount));
+		int batchCount = Math.max(calculateBatchCount(), slicesWithRows);
+		int[] sliceBatchCounts = new int[sliceRowCounts.length];
+		int assignedBatches = 0;
+		for (int i = 0; i < sliceRowCounts.length; i++) {
+			if (sliceRowCounts[i] == 0) continue;
+			sliceBatchCounts[i] = 1;
+			assignedBatches += 1;
+		}
+		for (int i = 0; i < sliceRowCounts.length && assignedBatches < batchCount; i++) {
+			int additionalBatches = (int) ((long) (batchCount - slicesWithRows) * sliceRowCounts[i] / Math.max(1, rowCount));
+			additionalBatches = Math.min(additionalBatches, batchCount - assignedBatches);
+			sliceBatchCounts[i] += additionalBatches;
+			assignedBatches += additionalBatches;
 		}
-		for (int rowIndex = 0; rowIndex < table.length; rowIndex++) {
-			int[] intRow = new int[columnCount];
-			for (int i = 0; i < columnCount; i++) {
-				IColumn column = encoder[columnAssignment[i].getColumnIndex()].getColumn();
-				intRow[i] = column.getValue(rowIndex);
+		for (int i = 0; assignedBatches < batchCount; i = (i + 1) % sliceRowCounts.length) {
+			if (sliceRowCounts[i] == 0) continue;
+			sliceBatchCounts[i] += 1;
+			assignedBatches += 1;
+		}
+
+		this.log.info("Merged dictionaries of {} slices with {} rows into {} batches", sliceRowCounts.length, rowCount, batchCount);
+		int firstBatch = 0;
+		for (int i = 0; i < sliceOwners.size(); i++) {
+			sliceOwners.get(i).tell(new TranslateSliceMessage(i, dictionaryMerger.getTranslation(i), valueCounts, columnOrder, firstBatch, sliceBatchCounts[i]), this.self());
+			firstBatch += sliceBatchCounts[i];
+		}
+		dictionaryMerger = null;
+	}
+
+	private void handle(TranslateSliceMessage message) {
+		int[][] translation = message.getTranslation();
+		int[] columnOrder = message.getColumnOrder();
+		int[] batchSizes = new int[message.getBatchCount()];
+
+		if (message.getBatchCount() > 0) {
+			if (sliceTable.getColumnCount() < columnOrder.length) {
+				this.log.error("Slice {} has {} instead of {} columns", message.getSliceIndex(), sliceTable.getColumnCount(), columnOrder.length);
+				this.sender().tell(new SliceFailedMessage(message.getSliceIndex(), sliceTable.getColumnCount() + " instead of " + columnOrder.length + " columns"), this.self());
+				sliceTable = null;
+				return;
 			}
-			listBatches[random.nextInt(batchCount)].add(new EncodedRow(intRow));
+			EncodedTable table = sliceTable.translate(translation, message.getValueCounts());
+			sliceBatches = createBatches(table, columnOrder, message.getBatchCount());
+			sliceFirstBatch = message.getFirstBatch();
+			for (int i = 0; i < batchSizes.length; i++) batchSizes[i] = sliceBatches[i].getRowCount();
 		}
+		sliceTable = null;
+
+		this.sender().tell(new SliceBatchesMessage(message.getSliceIndex(), message.getFirstBatch(), batchSizes), this.self());
+	}
+
+	private void handle(SliceBatchesMessage message) {
+		if (sliceBatchSizes == null) return;
+		sliceBatchSizes[message.getSliceIndex()] = message.getBatchSizes();
+		for (int[] sizes : sliceBatchSizes) {
+			if (sizes == null) return;
+		}
+
+		int batchCount = 0;
+		for (int[] sizes : sliceBatchSizes) batchCount += sizes.length;
 		int[] batchSizes = new int[batchCount];
-		for (int i = 0; i < batchCount; i++) batchSizes[i] = listBatches[i].size();
-		batches = new EncodedBatches(batchCount, batchSizes);
-		for (int i = 0; i < batchCount; i++) {
-			batches.addToBatch(i, listBatches[i]);
+		ActorRef[] batchOwners = new ActorRef[batchCount];
+		int batchIndex = 0;
+		for (int i = 0; i < sliceBatchSizes.length; i++) {
+			for (int size : sliceBatchSizes[i]) {
+				batchSizes[batchIndex] = size;
+				batchOwners[batchIndex] = sliceOwners.get(i);
+				batchIndex += 1;
+			}
 		}
 
-		batches.updateBatchSizes();
+		setupBatches(batchCount, batchSizes, batchOwners);
 		for (ActorRef remoteDataBouncer : remoteDataBouncer) {
-			remoteDataBouncer.tell(new SetupDataBouncerMessage(batchCount, batches.getBatchSizes()), this.self());
+			remoteDataBouncer.tell(new SetupDataBouncerMessage(batchCount, batchSizes, batchOwners), this.self());
 		}
+		sliceOwners = null;
+		sliceBatchSizes = null;
+
+		distributeTasks(batchCount);
+	}
+
+	/**
+	 * A slice could not be read or does not fit the other slices, so the host reads the whole input itself like without
+	 * distributed reading. Messages of the other slices are ignored from now on.
+	 */
+	private void handle(SliceFailedMessage message) {
+		if (sliceOwners == null) return;
+		this.log.warning("Slice {} failed ({}), reading the input on the host", message.getSliceIndex(), message.getReason());
+		readInputOnHost();
+	}
+
+	private void readInputOnHost() {
+		sliceOwners = null;
+		dictionaryMerger = null;
+		sliceBatchSizes = null;
+		sliceTable = null;
+
+		CsvInput input = task.getDistributedInput();
+		TableEncoder tableEncoder = new TableEncoder(task.isNullEqualsNull(), input.getEncodingStrategy());
+		try {
+			new MappedCsvReader(input.getPath(), input.getDelimiter(), input.isSkipHeader(), input.getQuoteCharacter(), input.getEscapeCharacter())
+					.read(tableEncoder::addRows);
+		} catch (IOException e) {
+			// end the run instead of waiting for batches that never come
+			this.log.error(e, "Could not read input {}", input.getPath());
+			cluster.leave(cluster.selfAddress());
+			return;
+		}
+		task.setDistributedInput(null);
+		startWithTable(tableEncoder.encode());
+	}
+
+	private void setupBatches(int batchCount, int[] batchSizes, ActorRef[] batchOwners) {
+		batches = new EncodedBatches(batchCount, batchSizes);
+		routingTable = new BatchRoutingTable(batchOwners);
+		if (sliceBatches != null) {
+			for (int i = 0; i < sliceBatches.length; i++) {
+				batches.setBatch(sliceFirstBatch + i, sliceBatches[i]);
+			}
+			sliceBatches = null;
+		}
+	}
+
+	private void distributeTasks(int batchCount) {
+		AlgorithmTimerObject timerObject = task.getTimerObject();
 
 		List<SingleDifferenceSetTask>[] tasksPerWorker = new List[workerInCluster()];
 		for (int i = 0; i < workerInCluster(); i += 1) {
@@ -308,7 +649,7 @@ public class PeerDataBouncer extends AbstractActor {
 			} else {
 				worker = remoteWorker.get(i - localWorker.size());
 			}
-			worker.tell(new FindDifferenceSetFromBatchMessage(tasksA, tasksB, batchCount, task.isNullEqualsNull(), timerObject.clone(), batches.getBatchSizes()), this.self());
+			worker.tell(new FindDifferenceSetFromBatchMessage(tasksA, tasksB, batchCount, task.isNullEqualsNull(), timerObject.clone(), batches.getBatchSizes(), columnProfile, seedDifferenceSets), this.self());
 		}
 	}
 
@@ -395,10 +736,23 @@ public class PeerDataBouncer extends AbstractActor {
 	private void handle(SetupDataBouncerMessage message) {
 //		this.log.info("Setup Data Bouncer[{} batches]. Can now request and send batches.", message.getBatchCount());
 //		this.log.info("Connected to {} local worker, {} remote worker and {} remote data-bouncer", localWorker.size(), remoteWorker.size(), remoteDataBouncer.size());
-		batches = new EncodedBatches(message.getBatchCount(), message.getBatchSizes());
-		routingTable = new BatchRoutingTable(message.getBatchCount(), this.sender());
+		if (message.getBatchOwners() == null) {
+			// a slice read before the host fell back to reading the input is not needed anymore
+			sliceTable = null;
+			batches = new EncodedBatches(message.getBatchCount(), message.getBatchSizes());
+			routingTable = new BatchRoutingTable(message.getBatchCount(), this.sender());
+		} else {
+			setupBatches(message.getBatchCount(), message.getBatchSizes(), message.getBatchOwners());
+		}
 
-		for (ActorWaitsForBatchModel waitFor : workerWaitsForBatch) {
+		for (int i = 0; i < workerWaitsForBatch.size(); i++) {
+			ActorWaitsForBatchModel waitFor = workerWaitsForBatch.get(i);
+			if (batches.hasBatch(waitFor.getBatchIdentifier())) {
+				waitFor.getActor().tell(new SendEncodedDataBatchMessage(waitFor.getBatchIdentifier(), batches.getBatch(waitFor.getBatchIdentifier()), 1), this.self());
+				workerWaitsForBatch.remove(i);
+				i -= 1;
+				continue;
+			}
 			if (batches.isBatchLoading(waitFor.getBatchIdentifier())) continue;
 
 			batches.setBatchLoading(waitFor.getBatchIdentifier());
@@ -409,21 +763,11 @@ public class PeerDataBouncer extends AbstractActor {
 	private void handle(RequestDataBatchMessage message) {
 		if (this.sender().path().name().startsWith(PeerDataBouncer.DEFAULT_NAME)) {
 			// other data bouncer wants data
-			EncodedRow[] batch = batches.getBatch(message.getBatchIdentifier());
+			EncodedBatch batch = batches.getBatch(message.getBatchIdentifier());
 			int MAX_ROWS_PER_SPLIT = 100;
 			int i = MAX_ROWS_PER_SPLIT * message.getNextSplit();
 
-//			List<EncodedRow> split = new ArrayList<>();
-//			for (int k = i; k - i < MAX_ROWS_PER_SPLIT && k < batch.length; k++) {
-//				split.add(batch[k]);
-//			}
-
-			EncodedRow[] split = new EncodedRow[Math.min(MAX_ROWS_PER_SPLIT, batch.length - i)];
-			int o = 0;
-			for (int k = i; k - i < MAX_ROWS_PER_SPLIT && k < batch.length; k++) {
-				split[o] = batch[k];
-				o += 1;
-			}
+			EncodedBatch split = batch.slice(i, Math.min(i + MAX_ROWS_PER_SPLIT, batch.getRowCount()));
 
 			this.sender().tell(new SendEncodedDataBatchMessage(message.getBatchIdentifier(), split,
 					((i + 1) / MAX_ROWS_PER_SPLIT) + 1), this.self());
@@ -435,9 +779,9 @@ public class PeerDataBouncer extends AbstractActor {
 			}
 
 			if (batches.hasBatch(message.getBatchIdentifier())) {
-				EncodedRow[] batch = batches.getBatch(message.getBatchIdentifier());
-				EncodedRow[] clonedBatch = Arrays.copyOf(batch, batch.length);
-				this.sender().tell(new SendEncodedDataBatchMessage(message.getBatchIdentifier(), clonedBatch, 1), this.self());
+				// complete batches are never modified, so local worker can share them
+				EncodedBatch batch = batches.getBatch(message.getBatchIdentifier());
+				this.sender().tell(new SendEncodedDataBatchMessage(message.getBatchIdentifier(), batch, 1), this.self());
 			} else {
 				// load data from other dataBouncer first
 				workerWaitsForBatch.add(new ActorWaitsForBatchModel(this.sender(), message.getBatchIdentifier()));
@@ -473,8 +817,8 @@ public class PeerDataBouncer extends AbstractActor {
 			for (int i = 0; i < workerWaitsForBatch.size(); i++) {
 				ActorWaitsForBatchModel waitFor = workerWaitsForBatch.get(i);
 				if (waitFor.getBatchIdentifier() == message.getBatchIdentifier()) {
-					EncodedRow[] clonedBatch = Arrays.copyOf(batches.getBatch(message.getBatchIdentifier()), batches.getBatch(message.getBatchIdentifier()).length);
-					waitFor.getActor().tell(new SendEncodedDataBatchMessage(message.getBatchIdentifier(), clonedBatch, 1), this.self());
+					EncodedBatch batch = batches.getBatch(message.getBatchIdentifier());
+					waitFor.getActor().tell(new SendEncodedDataBatchMessage(message.getBatchIdentifier(), batch, 1), this.self());
 					workerWaitsForBatch.remove(i);
 					i -= 1;
 				}
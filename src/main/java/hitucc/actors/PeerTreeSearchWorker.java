@@ -11,6 +11,7 @@ import hitucc.actors.messages.*;
 import hitucc.behaviour.oracle.HittingSetOracle;
 import hitucc.model.AlgorithmTimerObject;
 import hitucc.model.ColumnCardinality;
+import hitucc.model.ColumnProfile;
 import hitucc.model.SerializableBitSet;
 import hitucc.model.TreeTask;
 import org.json.simple.JSONObject;
@@ -29,6 +30,8 @@ public class PeerTreeSearchWorker extends AbstractActor {
 	private final SerializableBitSet[] minimalDifferenceSets;
 	private final List<SerializableBitSet> discoveredUCCs = new ArrayList<>();
 	private final ArrayDeque<TreeTask> backlogWorkStack;
+	private final ColumnProfile columnProfile;
+	private final int[] batchColumnOrder;
 	private int finishedActorCount;
 	private boolean dirtyAskActorIndex;
 	private boolean waitForShutdown;
@@ -46,10 +49,12 @@ public class PeerTreeSearchWorker extends AbstractActor {
 		this.initiator = initiator;
 		this.maxLocalTreeDepth = maxLocalTreeDepth;
 		this.backlogWorkStack = new ArrayDeque<>(this.maxLocalTreeDepth);
+		this.columnProfile = null;
+		this.batchColumnOrder = null;
 		initiator.tell(new RegistrationMessage(), this.self());
 	}
 
-	public PeerTreeSearchWorker(ActorRef[] clusterWorker, SerializableBitSet[] minimalDifferenceSets, int columnsInTable, AlgorithmTimerObject timerObject) {
+	public PeerTreeSearchWorker(ActorRef[] clusterWorker, SerializableBitSet[] minimalDifferenceSets, int columnsInTable, AlgorithmTimerObject timerObject, ColumnProfile columnProfile) {
 //		this.minimalDifferenceSets = minimalDifferenceSets;
 		this.columnCount = columnsInTable;
 		this.workerInClusterCount = clusterWorker.length + 1;
@@ -60,6 +65,9 @@ public class PeerTreeSearchWorker extends AbstractActor {
 
 		this.maxLocalTreeDepth = timerObject.settingsMaxTreeDepth();
 		this.backlogWorkStack = new ArrayDeque<>(this.maxLocalTreeDepth);
+		this.columnProfile = columnProfile;
+		this.batchColumnOrder = new int[columnsInTable];
+		for (int i = 0; i < columnsInTable; i++) batchColumnOrder[i] = i;
 		if (!timerObject.settingsSortColumnsInPhaseOne()) {
 			ColumnCardinality[] columnAssignment = new ColumnCardinality[columnsInTable];
 			for (int i = 0; i < columnAssignment.length; i++) columnAssignment[i] = new ColumnCardinality(i, 0);
@@ -85,6 +93,7 @@ public class PeerTreeSearchWorker extends AbstractActor {
 				}
 				sortedDifferenceSets[k] = sortedSet;
 			}
+			for (int i = 0; i < columnsInTable; i++) batchColumnOrder[i] = columnAssignment[i].getColumnIndex();
 			this.minimalDifferenceSets = sortedDifferenceSets;
 		} else {
 			this.minimalDifferenceSets = minimalDifferenceSets;
@@ -103,8 +112,8 @@ public class PeerTreeSearchWorker extends AbstractActor {
 		return Props.create(PeerTreeSearchWorker.class, () -> new PeerTreeSearchWorker(initiator, minimalDifferenceSets, columnsInTable, workerInClusterCount, maxLocalTreeDepth));
 	}
 
-	public static Props props(ActorRef[] clusterWorker, SerializableBitSet[] minimalDifferenceSets, int columnsInTable, AlgorithmTimerObject timerObject) {
-		return Props.create(PeerTreeSearchWorker.class, () -> new PeerTreeSearchWorker(clusterWorker, minimalDifferenceSets, columnsInTable, timerObject.clone()));
+	public static Props props(ActorRef[] clusterWorker, SerializableBitSet[] minimalDifferenceSets, int columnsInTable, AlgorithmTimerObject timerObject, ColumnProfile columnProfile) {
+		return Props.create(PeerTreeSearchWorker.class, () -> new PeerTreeSearchWorker(clusterWorker, minimalDifferenceSets, columnsInTable, timerObject.clone(), columnProfile));
 	}
 
 	@Override
@@ -312,10 +321,28 @@ public class PeerTreeSearchWorker extends AbstractActor {
 		return jsonString.replaceAll(",", ",\n\t").replaceAll(":", ": ").replaceAll("\\{", "{\n\t").replaceAll("}", "\n}");
 	}
 
+	/**
+	 * @return the discovered UCCs over the original columns of the table
+	 */
+	private List<SerializableBitSet> expandDiscoveredUCCs() {
+		if (columnProfile == null) return discoveredUCCs;
+
+		List<SerializableBitSet> batchUCCs = new ArrayList<>(discoveredUCCs.size());
+		for (SerializableBitSet ucc : discoveredUCCs) {
+			SerializableBitSet batchUCC = new SerializableBitSet(columnCount);
+			for (int i = ucc.nextSetBit(0); i >= 0 && i < columnCount; i = ucc.nextSetBit(i + 1)) {
+				batchUCC.set(batchColumnOrder[i]);
+			}
+			batchUCCs.add(batchUCC);
+		}
+		return columnProfile.expand(batchUCCs);
+	}
+
 	private void handle(ReportAndShutdownMessage message) {
 
 		if (shouldOutputFile) {
 			timerObject.setFinishTime();
+			List<SerializableBitSet> uccs = expandDiscoveredUCCs();
 
 
 			JSONObject obj = new JSONObject();
@@ -326,7 +353,7 @@ public class PeerTreeSearchWorker extends AbstractActor {
 			obj.put("Build Difference Sets Runtime", timerObject.toSeconds(timerObject.getPhaseOneRuntime()));
 			obj.put("Tree Search Runtime", timerObject.toSeconds(timerObject.getPhaseTwoRuntime()));
 			obj.put("Algorithm Runtime", timerObject.toSeconds(timerObject.getCompleteRuntime()));
-			obj.put("Minimal UCC Count", discoveredUCCs.size());
+			obj.put("Minimal UCC Count", uccs.size());
 
 			if (timerObject.getPhaseOneCreateRuntime() != 0) {
 				obj.put("Create Difference Sets Runtime", timerObject.toSeconds(timerObject.getPhaseOneCreateRuntime()));
@@ -335,7 +362,7 @@ public class PeerTreeSearchWorker extends AbstractActor {
 				obj.put("Minimize Difference Sets Runtime", timerObject.toSeconds(timerObject.getPhaseOneMinimizeRuntime()));
 			}
 
-			this.log.info("Discovered {} UCCs", discoveredUCCs.size());
+			this.log.info("Discovered {} UCCs", uccs.size());
 			this.log.info(beautifyJson(obj.toJSONString()));
 
 //			JSONArray results = new JSONArray();
@@ -24,6 +24,8 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class PeerWorker extends AbstractActor {
 	public static final String DEFAULT_NAME = "peer-worker";
@@ -42,10 +44,12 @@ public class PeerWorker extends AbstractActor {
 	private int columnCount = 0;
 
 	private SerializableBitSet[] minimalDifferenceSets = new SerializableBitSet[0];
-	private DifferenceSetDetector differenceSetDetector;
+	private IMergeMinimalSetsStrategy mergeSetsStrategy;
 	private EncodedBatches batches;
 	private List<SingleDifferenceSetTask> tasks;
 	private boolean nullEqualsNull = false;
+	private ColumnProfile columnProfile;
+	private SerializableBitSet[] seedDifferenceSets;
 
 	private AlgorithmTimerObject timerObject;
 
@@ -53,14 +57,24 @@ public class PeerWorker extends AbstractActor {
 
 	private HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy;
 	private HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy;
+	private ICompareBatchesStrategy compareBatchesStrategy;
+	private int phaseOneParallelism;
+	private boolean computingDifferenceSets = false;
+	private boolean mergingDifferenceSets = false;
 
-	public PeerWorker(HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy, HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy) {
+	public PeerWorker(HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy, HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy, HitUCCApp.CompareBatchesStrategy compareBatchesStrategy, int cacheBudget, int phaseOneParallelism) {
+		this.phaseOneParallelism = Math.max(1, phaseOneParallelism);
 		this.createDiffSetsStrategy = createDiffSetsStrategy;
 		this.minimizeDiffSetsStrategy = minimizeDiffSetsStrategy;
+		this.compareBatchesStrategy = new CrossProductCompareBatchesStrategy(CrossProductCompareBatchesStrategy.DEFAULT_BLOCK_SIZE, cacheBudget);
+		if (compareBatchesStrategy == HitUCCApp.CompareBatchesStrategy.BIT_SLICED)
+			this.compareBatchesStrategy = new BitSlicedCompareBatchesStrategy(cacheBudget);
+		if (compareBatchesStrategy == HitUCCApp.CompareBatchesStrategy.PLI)
+			this.compareBatchesStrategy = new PliCompareBatchesStrategy();
 	}
 
-	public static Props props(HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy, HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy) {
-		return Props.create(PeerWorker.class, () -> new PeerWorker(createDiffSetsStrategy, minimizeDiffSetsStrategy));
+	public static Props props(HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy, HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy, HitUCCApp.CompareBatchesStrategy compareBatchesStrategy, int cacheBudget, int phaseOneParallelism) {
+		return Props.create(PeerWorker.class, () -> new PeerWorker(createDiffSetsStrategy, minimizeDiffSetsStrategy, compareBatchesStrategy, cacheBudget, phaseOneParallelism));
 	}
 
 	private String getActorSystemID() {
@@ -71,7 +85,18 @@ public class PeerWorker extends AbstractActor {
 		return this.self().path().name().substring(this.self().path().name().lastIndexOf(PeerWorker.DEFAULT_NAME) + PeerWorker.DEFAULT_NAME.length(), this.self().path().name().indexOf(":"));
 	}
 
-	private void createDifferenceSetDetector() {
+	/**
+	 * The factory only captures the current settings, so it can create detectors on other threads.
+	 */
+	private Supplier<DifferenceSetDetector> differenceSetDetectorFactory() {
+		HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy = this.createDiffSetsStrategy;
+		HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy = this.minimizeDiffSetsStrategy;
+		int columnCount = this.columnCount;
+		SerializableBitSet[] seedDifferenceSets = this.seedDifferenceSets;
+		return () -> createDifferenceSetDetector(createDiffSetsStrategy, minimizeDiffSetsStrategy, columnCount, seedDifferenceSets);
+	}
+
+	private static DifferenceSetDetector createDifferenceSetDetector(HitUCCApp.CreateDiffSetsStrategy createDiffSetsStrategy, HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy, int columnCount, SerializableBitSet[] seedDifferenceSets) {
 		IAddDifferenceSetStrategy addDifferenceSetStrategy = new HashAddDifferenceSetStrategy();
 		if (createDiffSetsStrategy == HitUCCApp.CreateDiffSetsStrategy.LIST)
 			addDifferenceSetStrategy = new AddSortUniqueDifferenceSetStrategy();
@@ -81,14 +106,33 @@ public class PeerWorker extends AbstractActor {
 			addDifferenceSetStrategy = new JavaTrieAddDifferenceSetStrategy();
 		if (createDiffSetsStrategy == HitUCCApp.CreateDiffSetsStrategy.TRIE)
 			addDifferenceSetStrategy = new TrieAddDifferenceSetStrategy(columnCount);
+		if (createDiffSetsStrategy == HitUCCApp.CreateDiffSetsStrategy.SLAB)
+			addDifferenceSetStrategy = new SlabAddDifferenceSetStrategy(columnCount);
+		if (createDiffSetsStrategy == HitUCCApp.CreateDiffSetsStrategy.MINIMAL)
+			addDifferenceSetStrategy = new MinimalAddDifferenceSetStrategy();
+		addDifferenceSetStrategy = new SpillingAddDifferenceSetStrategy(addDifferenceSetStrategy, columnCount, new MemoryGovernor());
 
 		ICalculateMinimalSetsStrategy calculateMinimalSetsStrategy = new BucketingCalculateMinimalSetsStrategy(columnCount);
 		if (minimizeDiffSetsStrategy == HitUCCApp.MinimizeDiffSetsStrategy.SORT)
 			calculateMinimalSetsStrategy = new SortingCalculateMinimalSetsStrategy();
 		if (minimizeDiffSetsStrategy == HitUCCApp.MinimizeDiffSetsStrategy.NAIVE)
 			calculateMinimalSetsStrategy = new NaiveCalculateMinimalSetsStrategy();
+		if (minimizeDiffSetsStrategy == HitUCCApp.MinimizeDiffSetsStrategy.SET_TRIE)
+			calculateMinimalSetsStrategy = new SetTrieCalculateMinimalSetsStrategy();
+		if (minimizeDiffSetsStrategy == HitUCCApp.MinimizeDiffSetsStrategy.INVERTED_INDEX)
+			calculateMinimalSetsStrategy = new InvertedIndexCalculateMinimalSetsStrategy();
+
+		// the default hash strategy is replaced by primitive words for tables with at most 64 columns
+		int wordColumnCount = createDiffSetsStrategy == HitUCCApp.CreateDiffSetsStrategy.HASH ? columnCount : 0;
+		DifferenceSetDetector differenceSetDetector = new DifferenceSetDetector(addDifferenceSetStrategy, calculateMinimalSetsStrategy, createMergeMinimalSetsStrategy(minimizeDiffSetsStrategy), wordColumnCount);
+		if (seedDifferenceSets != null) differenceSetDetector.seedDifferenceSets(seedDifferenceSets);
+		return differenceSetDetector;
+	}
 
-		differenceSetDetector = new DifferenceSetDetector(addDifferenceSetStrategy, calculateMinimalSetsStrategy, new TwoSidedMergeMinimalSetsStrategy());
+	private static IMergeMinimalSetsStrategy createMergeMinimalSetsStrategy(HitUCCApp.MinimizeDiffSetsStrategy minimizeDiffSetsStrategy) {
+		if (minimizeDiffSetsStrategy == HitUCCApp.MinimizeDiffSetsStrategy.SET_TRIE)
+			return new SetTrieMergeMinimalSetsStrategy();
+		return new TwoSidedMergeMinimalSetsStrategy();
 	}
 
 	@Override
@@ -127,6 +171,8 @@ public class PeerWorker extends AbstractActor {
 				.match(DeclineMergeMessage.class, this::handle)
 				.match(WorkerStateChangedMessage.class, this::handle)
 				.match(MergeDifferenceSetsMessage.class, this::handle)
+				.match(DifferenceSetsCalculatedMessage.class, this::handle)
+				.match(DifferenceSetsMergedMessage.class, this::handle)
 				.match(StartTreeSearchMessage.class, this::handle)
 				.match(Terminated.class, terminated -> {
 				})
@@ -214,6 +260,9 @@ public class PeerWorker extends AbstractActor {
 		}
 		tasks = convertListToTasks(message.getDifferenceSetTasksA(), message.getDifferenceSetTasksB());
 		nullEqualsNull = message.isNullEqualsNull();
+		columnProfile = message.getColumnProfile();
+		seedDifferenceSets = message.getSeedDifferenceSets();
+		if (columnProfile != null) columnCount = columnProfile.getSearchColumns().length;
 
 		tryToFindDifferenceSets();
 	}
@@ -226,6 +275,7 @@ public class PeerWorker extends AbstractActor {
 	}
 
 	private void tryToFindDifferenceSets() {
+		if (computingDifferenceSets) return;
 		if (tasks.size() == 0) {
 			broadcastAndSetState(WorkerState.DONE_MERGING);
 			return;
@@ -269,36 +319,37 @@ public class PeerWorker extends AbstractActor {
 		}
 
 		SingleDifferenceSetTask currentTask = tasks.get(0);
-		columnCount = batches.getBatch(currentTask.getSetA())[0].values.length;
-		if (differenceSetDetector == null) createDifferenceSetDetector();
+		columnCount = batches.getBatch(currentTask.getSetA()).getColumnCount();
 
-		if (currentTask.getSetA() == currentTask.getSetB()) {
-			EncodedRow[] batch = batches.getBatch(currentTask.getSetA());
-//			differenceSetDetector.setNeededCapacity(batch.size() * batch.size());
+		compareBatchesOffActorThread(currentTask);
+	}
 
-//			this.log.info("Batch {}: {} rows", currentTask.getSetA(), batch.length);
-			for (int indexA = 0; indexA < batch.length; indexA++) {
-				for (int indexB = indexA + 1; indexB < batch.length; indexB++) {
-					differenceSetDetector.addDifferenceSet(batch[indexA].values, batch[indexB].values, nullEqualsNull);
-				}
-			}
-		} else {
-			EncodedRow[] batchA = batches.getBatch(currentTask.getSetA());
-			EncodedRow[] batchB = batches.getBatch(currentTask.getSetB());
-
-//			differenceSetDetector.setNeededCapacity(batchA.size() * batchB.size());
-//			this.log.info("BatchA {}: {} rows, BatchB {}: {} rows", currentTask.getSetA(), batchA.length, currentTask.getSetB(), batchB.length);
-			for (int indexA = 0; indexA < batchA.length; indexA++) {
-				for (int indexB = 0; indexB < batchB.length; indexB++) {
-					differenceSetDetector.addDifferenceSet(batchA[indexA].values, batchB[indexB].values, nullEqualsNull);
-				}
-			}
+	/**
+	 * Compare the sub-tiles of the task on the shared pool, a single one if the phase one parallelism is 1. The worker
+	 * keeps answering control messages meanwhile and is told the merged minimal difference sets when all sub-tiles are
+	 * done.
+	 */
+	private void compareBatchesOffActorThread(SingleDifferenceSetTask currentTask) {
+		computingDifferenceSets = true;
+		ParallelBatchComparison comparison = new ParallelBatchComparison(compareBatchesStrategy, differenceSetDetectorFactory(), createMergeMinimalSetsStrategy(minimizeDiffSetsStrategy), phaseOneParallelism);
+		EncodedBatch batchB = currentTask.getSetA() == currentTask.getSetB() ? null : batches.getBatch(currentTask.getSetB());
+
+		ActorRef self = this.self();
+		comparison.compare(batches.getBatch(currentTask.getSetA()), batchB, minimalDifferenceSets)
+				.whenComplete((differenceSets, failure) -> self.tell(new DifferenceSetsCalculatedMessage(currentTask, differenceSets, failure), ActorRef.noSender()));
+	}
+
+	private void handle(DifferenceSetsCalculatedMessage message) {
+		computingDifferenceSets = false;
+		if (message.getFailure() != null) {
+			throw new IllegalStateException("Could not compare batch " + message.getTask().getSetA() + " with batch " + message.getTask().getSetB(), message.getFailure());
 		}
 
-		differenceSetDetector.removeDuplicates();
-//		timerObject.setMinimizeStartTime();
+		minimalDifferenceSets = message.getDifferenceSets();
+		finishTask(message.getTask());
+	}
 
-		minimalDifferenceSets = differenceSetDetector.getMinimalDifferenceSets();
+	private void finishTask(SingleDifferenceSetTask currentTask) {
 		this.log.info("Calculated {} minimal difference sets | Batch[{}|{}]", minimalDifferenceSets.length, currentTask.getSetA(), currentTask.getSetB());
 
 		tasks.remove(0);
@@ -311,7 +362,7 @@ public class PeerWorker extends AbstractActor {
 				tasksA.add(task.getSetA());
 				tasksB.add(task.getSetB());
 			}
-			this.self().tell(new FindDifferenceSetFromBatchMessage(tasksA, tasksB, batches.count(), nullEqualsNull, timerObject.clone(), batches.getBatchSizes()), this.self());
+			this.self().tell(new FindDifferenceSetFromBatchMessage(tasksA, tasksB, batches.count(), nullEqualsNull, timerObject.clone(), batches.getBatchSizes(), columnProfile, seedDifferenceSets), this.self());
 		}
 	}
 
@@ -376,7 +427,7 @@ public class PeerWorker extends AbstractActor {
 					dataBouncer.tell(new StartTreeSearchMessage(), this.self());
 					for (ActorRef bouncer : remoteDataBouncer) bouncer.tell(new StartTreeSearchMessage(), this.self());
 
-					getContext().getSystem().actorOf(PeerTreeSearchWorker.props(allOtherActors, minimalDifferenceSets, columnCount, timerObject.clone()), PeerTreeSearchWorker.DEFAULT_NAME + getWorkerIndexInSystem() + getActorSystemID());
+					getContext().getSystem().actorOf(PeerTreeSearchWorker.props(allOtherActors, minimalDifferenceSets, columnCount, timerObject.clone(), columnProfile), PeerTreeSearchWorker.DEFAULT_NAME + getWorkerIndexInSystem() + getActorSystemID());
 //					this.log.info("Stop peerWorker and create peerTreeSearchWorker");
 					getContext().stop(this.self());
 				}
@@ -433,6 +484,10 @@ public class PeerWorker extends AbstractActor {
 //		}
 
 		// this.log.info("Received Accept Merge Message from {}", this.sender().path().name());
+		if (mergingDifferenceSets) {
+			this.sender().tell(new DeclineMergeMessage(), this.self());
+			return;
+		}
 		this.sender().tell(new MergeDifferenceSetsMessage(minimalDifferenceSets), this.self());
 		broadcastAndSetState(WorkerState.DONE_MERGING);
 	}
@@ -447,10 +502,30 @@ public class PeerWorker extends AbstractActor {
 	private void handle(MergeDifferenceSetsMessage message) {
 //		this.log.info("Merge {} and {} minimal sets together (with actor {})", minimalDifferenceSets.length, message.differenceSets.length, this.sender().path().name());
 
-		minimalDifferenceSets = differenceSetDetector.mergeMinimalDifferenceSets(minimalDifferenceSets, message.differenceSets);
+		// merge on the shared pool, so the worker keeps declining merge requests instead of stalling them. The pool thread
+		// only returns the merged sets, the worker takes them over when it handles the DifferenceSetsMergedMessage.
+		mergingDifferenceSets = true;
+		if (mergeSetsStrategy == null) mergeSetsStrategy = createMergeMinimalSetsStrategy(minimizeDiffSetsStrategy);
+		SerializableBitSet[] ownMinimalSets = minimalDifferenceSets;
+		SerializableBitSet[] otherMinimalSets = message.differenceSets;
+		IMergeMinimalSetsStrategy mergeStrategy = mergeSetsStrategy;
+		ActorRef self = this.self();
+		CompletableFuture.supplyAsync(() -> mergeStrategy.mergeMinimalDifferenceSets(ownMinimalSets, otherMinimalSets), ParallelBatchComparison.getSharedPool())
+				.whenComplete((mergedSets, failure) -> self.tell(new DifferenceSetsMergedMessage(mergedSets, failure), ActorRef.noSender()));
+	}
+
+	private void handle(DifferenceSetsMergedMessage message) {
+		mergingDifferenceSets = false;
+		if (message.getFailure() != null) {
+			throw new IllegalStateException("Could not merge minimal difference sets", message.getFailure());
+		}
+
+		minimalDifferenceSets = message.getDifferenceSets();
 //		this.log.info("Merged into {} difference sets", minimalDifferenceSets.length);
 
 		broadcastAndSetState(WorkerState.READY_TO_MERGE);
+		// state changes of the colleagues during the merge were only recorded, so check for the next merge or the end
+		this.self().tell(new WorkerStateChangedMessage(WorkerState.READY_TO_MERGE, currentNetworkAction), this.self());
 	}
 
 	private void broadcastState(WorkerState state) {
@@ -486,6 +561,23 @@ public class PeerWorker extends AbstractActor {
 		private static final long serialVersionUID = 2110462002134951337L;
 	}
 
+	@Data
+	@AllArgsConstructor
+	private static class DifferenceSetsCalculatedMessage implements Serializable {
+		private static final long serialVersionUID = 4417860291385501337L;
+		private SingleDifferenceSetTask task;
+		private SerializableBitSet[] differenceSets;
+		private Throwable failure;
+	}
+
+	@Data
+	@AllArgsConstructor
+	private static class DifferenceSetsMergedMessage implements Serializable {
+		private static final long serialVersionUID = 5302118745260041337L;
+		private SerializableBitSet[] differenceSets;
+		private Throwable failure;
+	}
+
 	@Data
 	@AllArgsConstructor
 	private static class MergeDifferenceSetsMessage implements Serializable {
@@ -1,6 +1,8 @@
 package hitucc.actors.messages;
 
 import hitucc.model.AlgorithmTimerObject;
+import hitucc.model.ColumnProfile;
+import hitucc.model.SerializableBitSet;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,5 +21,7 @@ public class FindDifferenceSetFromBatchMessage implements Serializable {
 	private boolean nullEqualsNull;
 	private AlgorithmTimerObject timerObject;
 	private int[] batchSizes;
+	private ColumnProfile columnProfile;
+	private SerializableBitSet[] seedDifferenceSets;
 }
 
@@ -0,0 +1,20 @@
+package hitucc.actors.messages;
+
+import hitucc.model.CsvInput;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+public class ReadTableSliceMessage implements Serializable {
+	private static final long serialVersionUID = 6271839910235547315L;
+	private int sliceIndex;
+	private CsvInput input;
+	private long start;
+	private long end;
+	private boolean nullEqualsNull;
+}
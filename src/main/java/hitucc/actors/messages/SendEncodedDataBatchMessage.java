@@ -1,12 +1,11 @@
 package hitucc.actors.messages;
 
-import hitucc.model.EncodedRow;
+import hitucc.model.EncodedBatch;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
-import java.util.List;
 
 @Data
 @AllArgsConstructor
@@ -14,6 +13,6 @@ import java.util.List;
 public class SendEncodedDataBatchMessage implements Serializable {
 	private static final long serialVersionUID = 8888332257249502029L;
 	private int batchIdentifier;
-	private EncodedRow[] batch;
+	private EncodedBatch batch;
 	private int currentSplit;
 }
@@ -1,5 +1,6 @@
 package hitucc.actors.messages;
 
+import akka.actor.ActorRef;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,5 +14,6 @@ public class SetupDataBouncerMessage implements Serializable {
 	private static final long serialVersionUID = 5818929133748493046L;
 	private int batchCount;
 	private int[] batchSizes;
+	private ActorRef[] batchOwners;
 }
 
@@ -0,0 +1,17 @@
+package hitucc.actors.messages;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+public class SliceBatchesMessage implements Serializable {
+	private static final long serialVersionUID = 7746105252780213549L;
+	private int sliceIndex;
+	private int firstBatch;
+	private int[] batchSizes;
+}
@@ -0,0 +1,19 @@
+package hitucc.actors.messages;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+public class SliceDictionariesMessage implements Serializable {
+	private static final long serialVersionUID = 1638570029164785533L;
+	private int sliceIndex;
+	private int rowCount;
+	private List<String>[] dictionaries;
+	private int[] nullValueCounts;
+}
@@ -0,0 +1,16 @@
+package hitucc.actors.messages;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+public class SliceFailedMessage implements Serializable {
+	private static final long serialVersionUID = 3185520947161230718L;
+	private int sliceIndex;
+	private String reason;
+}
@@ -1,6 +1,9 @@
 package hitucc.actors.messages;
 
+import hitucc.HitUCCApp;
 import hitucc.model.AlgorithmTimerObject;
+import hitucc.model.CsvInput;
+import hitucc.model.EncodedTable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,11 +15,15 @@ import java.io.Serializable;
 @NoArgsConstructor(force = true)
 public class TaskMessage implements Serializable {
 	private static final long serialVersionUID = 923014356212332172L;
-	private String[][] inputFile;
-	private int attributes;
+	private EncodedTable table;
 	private boolean greedyTaskDistribution;
 	private int dataDuplicationFactor;
 	private boolean nullEqualsNull;
+	private boolean collapseDuplicateRows;
+	private boolean focusedSampling;
+	private double samplingThreshold;
+	private HitUCCApp.Algorithm algorithm;
 	private int minSystems;
 	private AlgorithmTimerObject timerObject;
+	private CsvInput distributedInput;
 }
\ No newline at end of file
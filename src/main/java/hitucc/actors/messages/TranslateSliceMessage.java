@@ -0,0 +1,20 @@
+package hitucc.actors.messages;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+public class TranslateSliceMessage implements Serializable {
+	private static final long serialVersionUID = 4402193118374606961L;
+	private int sliceIndex;
+	private int[][] translation;
+	private int[] valueCounts;
+	private int[] columnOrder;
+	private int firstBatch;
+	private int batchCount;
+}
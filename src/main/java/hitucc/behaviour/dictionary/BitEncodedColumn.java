@@ -1,41 +1,87 @@
 package hitucc.behaviour.dictionary;
 
+/**
+ * Column that packs every value into the number of bits needed for the dictionary size. Values may span two words.
+ */
 public class BitEncodedColumn implements IColumn {
+	private static final int BITS_PER_WORD = Long.SIZE;
 
 	private final int size;
 	private final int bitsPerValue;
+	private final long mask;
 
-	private final int[] data;
+	private final long[] data;
 
 	public BitEncodedColumn(int size, int dictionarySize) {
-		this.bitsPerValue = dictionarySize;
+		this(size, bitsPerValue(dictionarySize), new long[wordCount(size, bitsPerValue(dictionarySize))]);
+	}
+
+	private BitEncodedColumn(int size, int bitsPerValue, long[] data) {
 		this.size = size;
-		this.data = new int[((size * bitsPerValue) / 32) + 1];
+		this.bitsPerValue = bitsPerValue;
+		this.mask = (1L << bitsPerValue) - 1;
+		this.data = data;
+	}
+
+	static BitEncodedColumn fromWords(int size, int bitsPerValue, long[] words) {
+		return new BitEncodedColumn(size, bitsPerValue, words);
+	}
+
+	static int wordCount(int size, int bitsPerValue) {
+		return (int) (((long) size * bitsPerValue + BITS_PER_WORD - 1) / BITS_PER_WORD);
+	}
+
+	long[] getData() {
+		return data;
+	}
+
+	/**
+	 * @return the number of bits needed to store the values 0 to valueCount - 1, at least one
+	 */
+	public static int bitsPerValue(int valueCount) {
+		if (valueCount <= 2) return 1;
+		return Integer.SIZE - Integer.numberOfLeadingZeros(valueCount - 1);
 	}
 
 	@Override
 	public int getValue(int index) {
-		int i = (index * bitsPerValue) / 32;
-		int offset = (index * bitsPerValue) % 32;
-
-		int value = 0;
-		value = (data[i] >> offset) & ((1 << bitsPerValue) - 1);
-		value |= (data[i + 1] << (32 - offset)) & ((1 << bitsPerValue) - 1);
-		return value;
+		long bitIndex = (long) index * bitsPerValue;
+		int i = (int) (bitIndex / BITS_PER_WORD);
+		int offset = (int) (bitIndex % BITS_PER_WORD);
 
+		long value = data[i] >>> offset;
+		if (offset + bitsPerValue > BITS_PER_WORD) {
+			value |= data[i + 1] << (BITS_PER_WORD - offset);
+		}
+		return (int) (value & mask);
 	}
 
 	@Override
 	public void setValue(int index, int value) {
-		int i = (index * bitsPerValue) / (32);
-		int offset = (i * bitsPerValue) % (32);
+		long bitIndex = (long) index * bitsPerValue;
+		int i = (int) (bitIndex / BITS_PER_WORD);
+		int offset = (int) (bitIndex % BITS_PER_WORD);
+		long maskedValue = value & mask;
 
-		data[i] |= (value << offset);
-		data[i + 1] |= (value >> (32 - offset));
+		data[i] = (data[i] & ~(mask << offset)) | (maskedValue << offset);
+		if (offset + bitsPerValue > BITS_PER_WORD) {
+			int shift = BITS_PER_WORD - offset;
+			data[i + 1] = (data[i + 1] & ~(mask >>> shift)) | (maskedValue >>> shift);
+		}
 	}
 
 	@Override
 	public int size() {
 		return size;
 	}
+
+	@Override
+	public int getBitsPerValue() {
+		return bitsPerValue;
+	}
+
+	@Override
+	public IColumn createEmpty(int size) {
+		return new BitEncodedColumn(size, bitsPerValue, new long[wordCount(size, bitsPerValue)]);
+	}
 }
@@ -0,0 +1,42 @@
+package hitucc.behaviour.dictionary;
+
+public class ByteColumn implements IColumn {
+	private final byte[] data;
+
+	public ByteColumn(int size) {
+		data = new byte[size];
+	}
+
+	ByteColumn(byte[] data) {
+		this.data = data;
+	}
+
+	byte[] getData() {
+		return data;
+	}
+
+	@Override
+	public int getValue(int index) {
+		return data[index] & 0xFF;
+	}
+
+	@Override
+	public void setValue(int index, int value) {
+		data[index] = (byte) value;
+	}
+
+	@Override
+	public int size() {
+		return data.length;
+	}
+
+	@Override
+	public int getBitsPerValue() {
+		return Byte.SIZE;
+	}
+
+	@Override
+	public IColumn createEmpty(int size) {
+		return new ByteColumn(size);
+	}
+}
@@ -7,6 +7,14 @@ public class Column implements IColumn {
 		data = new int[size];
 	}
 
+	Column(int[] data) {
+		this.data = data;
+	}
+
+	int[] getData() {
+		return data;
+	}
+
 	@Override
 	public int getValue(int index) {
 		return data[index];
@@ -21,4 +29,14 @@ public class Column implements IColumn {
 	public int size() {
 		return data.length;
 	}
+
+	@Override
+	public int getBitsPerValue() {
+		return Integer.SIZE;
+	}
+
+	@Override
+	public IColumn createEmpty(int size) {
+		return new Column(size);
+	}
 }
@@ -5,7 +5,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-public class DictionaryEncoder {
+public class DictionaryEncoder implements IDictionaryEncoder {
 	protected final List<String> dictionary;
 
 	private final boolean nullEqualsNull;
@@ -22,6 +22,7 @@ public class DictionaryEncoder {
 		this.nullEqualsNull = nullEqualsNull;
 	}
 
+	@Override
 	public void addValue(String value) {
 		rawData[index] = value;
 		index += 1;
@@ -47,7 +48,11 @@ public class DictionaryEncoder {
 	protected void encode() {
 		createDictionary();
 
-		column = new Column(rawData.length);
+		int nullValues = 0;
+		if (!nullEqualsNull) {
+			for (String value : rawData) if (value.isEmpty()) nullValues += 1;
+		}
+		column = IColumn.create(rawData.length, dictionary.size() + nullValues + 1);
 
 		int nullValueCount = 0;
 		for(int i = 0;  i < rawData.length; i++) {
@@ -61,6 +66,7 @@ public class DictionaryEncoder {
 		}
 	}
 
+	@Override
 	public List<String> getDictionary() {
 		if(dirty) {
 			encode();
@@ -69,6 +75,7 @@ public class DictionaryEncoder {
 		return dictionary;
 	}
 
+	@Override
 	public IColumn getColumn() {
 		if(dirty) {
 			encode();
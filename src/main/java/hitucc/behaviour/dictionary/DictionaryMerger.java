@@ -0,0 +1,111 @@
+package hitucc.behaviour.dictionary;
+
+import hitucc.HitUCCApp;
+
+import java.util.List;
+
+/**
+ * Merges the dictionaries of table slices that were encoded independently into one global dictionary per column.
+ * Every slice gets a translation from its local codes to the global codes. Local null codes, which follow the local
+ * dictionary codes, are translated to unique codes behind the global dictionary codes.
+ */
+public class DictionaryMerger {
+	private final HitUCCApp.DictionaryEncodingStrategy encodingStrategy;
+	private final List<String>[][] sliceDictionaries;
+	private final int[][] sliceNullValueCounts;
+
+	private IDictionaryEncoder[] encoder;
+	private int[][] dictionaryOffsets;
+	private int[] totalNullValueCounts;
+
+	public DictionaryMerger(int sliceCount, HitUCCApp.DictionaryEncodingStrategy encodingStrategy) {
+		this.encodingStrategy = encodingStrategy;
+		this.sliceDictionaries = new List[sliceCount][];
+		this.sliceNullValueCounts = new int[sliceCount][];
+	}
+
+	public void addSlice(int sliceIndex, List<String>[] dictionaries, int[] nullValueCounts) {
+		sliceDictionaries[sliceIndex] = dictionaries;
+		sliceNullValueCounts[sliceIndex] = nullValueCounts;
+	}
+
+	public boolean hasAllSlices() {
+		for (List<String>[] dictionaries : sliceDictionaries) {
+			if (dictionaries == null) return false;
+		}
+		return true;
+	}
+
+	public int getColumnCount() {
+		int columnCount = 0;
+		for (List<String>[] dictionaries : sliceDictionaries) {
+			if (dictionaries != null) columnCount = Math.max(columnCount, dictionaries.length);
+		}
+		return columnCount;
+	}
+
+	private void merge() {
+		int columnCount = getColumnCount();
+		encoder = new IDictionaryEncoder[columnCount];
+		dictionaryOffsets = new int[sliceDictionaries.length][columnCount];
+		totalNullValueCounts = new int[columnCount];
+
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+			// null values never reach the global dictionary, they are only counted
+			encoder[columnIndex] = TableEncoder.createDictionaryEncoder(encodingStrategy, true);
+			int offset = 0;
+			for (int sliceIndex = 0; sliceIndex < sliceDictionaries.length; sliceIndex++) {
+				dictionaryOffsets[sliceIndex][columnIndex] = offset;
+				if (sliceDictionaries[sliceIndex].length == 0) continue;
+
+				for (String value : sliceDictionaries[sliceIndex][columnIndex]) {
+					encoder[columnIndex].addValue(value);
+				}
+				offset += sliceDictionaries[sliceIndex][columnIndex].size();
+				totalNullValueCounts[columnIndex] += sliceNullValueCounts[sliceIndex][columnIndex];
+			}
+		}
+	}
+
+	public List<String> getDictionary(int columnIndex) {
+		if (encoder == null) merge();
+		return encoder[columnIndex].getDictionary();
+	}
+
+	/**
+	 * @return number of global codes of the column, the dictionary codes plus one code for every null value
+	 */
+	public int getValueCount(int columnIndex) {
+		return getDictionary(columnIndex).size() + totalNullValueCounts[columnIndex];
+	}
+
+	/**
+	 * @return for every column the global code of every local code of the slice
+	 */
+	public int[][] getTranslation(int sliceIndex) {
+		if (encoder == null) merge();
+
+		List<String>[] dictionaries = sliceDictionaries[sliceIndex];
+		int[][] translation = new int[dictionaries.length][];
+		for (int columnIndex = 0; columnIndex < dictionaries.length; columnIndex++) {
+			IColumn globalCodes = encoder[columnIndex].getColumn();
+			int globalDictionarySize = encoder[columnIndex].getDictionary().size();
+			int dictionarySize = dictionaries[columnIndex].size();
+			int nullValueCount = sliceNullValueCounts[sliceIndex][columnIndex];
+
+			int nullOffset = globalDictionarySize;
+			for (int i = 0; i < sliceIndex; i++) {
+				if (sliceNullValueCounts[i].length > 0) nullOffset += sliceNullValueCounts[i][columnIndex];
+			}
+
+			translation[columnIndex] = new int[dictionarySize + nullValueCount];
+			for (int code = 0; code < dictionarySize; code++) {
+				translation[columnIndex][code] = globalCodes.getValue(dictionaryOffsets[sliceIndex][columnIndex] + code);
+			}
+			for (int code = 0; code < nullValueCount; code++) {
+				translation[columnIndex][dictionarySize + code] = nullOffset + code;
+			}
+		}
+		return translation;
+	}
+}
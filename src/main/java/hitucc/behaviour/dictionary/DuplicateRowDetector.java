@@ -0,0 +1,94 @@
+package hitucc.behaviour.dictionary;
+
+import hitucc.model.EncodedTable;
+
+import java.util.Arrays;
+
+/**
+ * Finds rows of an encoded table that have the same code in every column. Rows are hashed column by column and
+ * inserted into an open addressing table; rows with equal hashes are compared exactly.
+ * If null does not equal null, every null value has its own code, so rows with null values never have a duplicate.
+ */
+public class DuplicateRowDetector {
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private final EncodedTable table;
+	private final long[] hashes;
+
+	private int[] distinctRows;
+	private int[] duplicatePair;
+
+	public DuplicateRowDetector(EncodedTable table) {
+		this.table = table;
+		this.hashes = new long[table.getRowCount()];
+		hashRows();
+		findDuplicates();
+	}
+
+	private void hashRows() {
+		for (int columnIndex = 0; columnIndex < table.getColumnCount(); columnIndex++) {
+			IColumn column = table.getColumn(columnIndex);
+			for (int row = 0; row < hashes.length; row++) {
+				long hash = (hashes[row] ^ column.getValue(row)) * HASH_MULTIPLIER;
+				hashes[row] = hash ^ (hash >>> 29);
+			}
+		}
+	}
+
+	private boolean equalRows(int rowA, int rowB) {
+		if (hashes[rowA] != hashes[rowB]) return false;
+		for (int columnIndex = 0; columnIndex < table.getColumnCount(); columnIndex++) {
+			IColumn column = table.getColumn(columnIndex);
+			if (column.getValue(rowA) != column.getValue(rowB)) return false;
+		}
+		return true;
+	}
+
+	private void findDuplicates() {
+		int rowCount = hashes.length;
+		int capacity = Integer.highestOneBit(Math.max(1, rowCount * 2 - 1)) << 1;
+		int mask = capacity - 1;
+		int[] slots = new int[capacity];
+		Arrays.fill(slots, -1);
+
+		int[] distinct = new int[rowCount];
+		int distinctCount = 0;
+		for (int row = 0; row < rowCount; row++) {
+			int slot = (int) (hashes[row] ^ (hashes[row] >>> 32)) & mask;
+			boolean duplicate = false;
+			while (slots[slot] != -1) {
+				if (equalRows(slots[slot], row)) {
+					duplicate = true;
+					if (duplicatePair == null) duplicatePair = new int[]{slots[slot], row};
+					break;
+				}
+				slot = (slot + 1) & mask;
+			}
+
+			if (!duplicate) {
+				slots[slot] = row;
+				distinct[distinctCount] = row;
+				distinctCount += 1;
+			}
+		}
+		distinctRows = Arrays.copyOf(distinct, distinctCount);
+	}
+
+	public boolean hasDuplicates() {
+		return duplicatePair != null;
+	}
+
+	/**
+	 * @return the indices of two equal rows or null if all rows are distinct
+	 */
+	public int[] getDuplicatePair() {
+		return duplicatePair;
+	}
+
+	/**
+	 * @return the index of the first occurrence of every distinct row in table order
+	 */
+	public int[] getDistinctRows() {
+		return distinctRows;
+	}
+}
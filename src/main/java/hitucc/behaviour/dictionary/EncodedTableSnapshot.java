@@ -0,0 +1,197 @@
+package hitucc.behaviour.dictionary;
+
+import hitucc.model.EncodedTable;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary file with a dictionary encoded table, so the same input does not have to be parsed and encoded again.
+ * The file starts with a header that identifies the source content and the encoding settings, followed by one
+ * dictionary and one data section per column and a directory with the position of every section. The sections are
+ * memory-mapped when the table is loaded. A snapshot is only used if source checksum and settings still match.
+ */
+public class EncodedTableSnapshot {
+	public static final String FILE_EXTENSION = ".hitucc";
+
+	private static final int MAGIC = 0x48555443;
+	private static final int VERSION = 1;
+	private static final int CHECKSUM_CHUNK_SIZE = 64 * 1024 * 1024;
+	private static final int STRING_BUFFER_SIZE = 1024;
+
+	private final Path path;
+	private final long sourceChecksum;
+	private final String settings;
+
+	public EncodedTableSnapshot(Path path, long sourceChecksum, String settings) {
+		this.path = path;
+		this.sourceChecksum = sourceChecksum;
+		this.settings = settings;
+	}
+
+	/**
+	 * @return CRC32 checksum of the file content
+	 */
+	public static long checksum(Path source) throws IOException {
+		CRC32 crc = new CRC32();
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+			long size = channel.size();
+			for (long position = 0; position < size; position += CHECKSUM_CHUNK_SIZE) {
+				crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHECKSUM_CHUNK_SIZE, size - position)));
+			}
+		}
+		return crc.getValue();
+	}
+
+	public boolean exists() {
+		return Files.isRegularFile(path);
+	}
+
+	/**
+	 * @return the table or null if there is no snapshot for this source and these settings
+	 */
+	public EncodedTable read() throws IOException {
+		if (!exists()) return null;
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			DataInputStream header = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			if (header.readInt() != MAGIC) throw new IOException("Not a table snapshot: " + path);
+			if (header.readInt() != VERSION) return null;
+			if (header.readLong() != sourceChecksum) return null;
+			if (!header.readUTF().equals(settings)) return null;
+			int rowCount = header.readInt();
+			int columnCount = header.readInt();
+
+			ByteBuffer directoryPosition = ByteBuffer.allocate(Long.BYTES);
+			channel.read(directoryPosition, channel.size() - Long.BYTES);
+			directoryPosition.flip();
+			long directoryOffset = directoryPosition.getLong();
+			MappedByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset, channel.size() - Long.BYTES - directoryOffset);
+
+			IColumn[] columns = new IColumn[columnCount];
+			List<String>[] dictionaries = new List[columnCount];
+			for (int i = 0; i < columnCount; i++) {
+				int bitsPerValue = directory.getInt();
+				int dictionarySize = directory.getInt();
+				long dictionaryOffset = directory.getLong();
+				long dictionaryLength = directory.getLong();
+				long dataOffset = directory.getLong();
+				long dataLength = directory.getLong();
+
+				dictionaries[i] = readDictionary(channel.map(FileChannel.MapMode.READ_ONLY, dictionaryOffset, dictionaryLength), dictionarySize);
+				columns[i] = readColumn(channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, dataLength), rowCount, bitsPerValue);
+			}
+			return new EncodedTable(columns, dictionaries, rowCount);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Corrupt table snapshot: " + path, e);
+		}
+	}
+
+	private static List<String> readDictionary(ByteBuffer buffer, int dictionarySize) {
+		List<String> dictionary = new ArrayList<>(dictionarySize);
+		byte[] bytes = new byte[STRING_BUFFER_SIZE];
+		for (int i = 0; i < dictionarySize; i++) {
+			int length = buffer.getInt();
+			if (length > bytes.length) bytes = new byte[Math.max(length, bytes.length * 2)];
+			buffer.get(bytes, 0, length);
+			dictionary.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+		}
+		return dictionary;
+	}
+
+	private static IColumn readColumn(ByteBuffer buffer, int rowCount, int bitsPerValue) {
+		switch (bitsPerValue) {
+			case Byte.SIZE:
+				byte[] bytes = new byte[rowCount];
+				buffer.get(bytes);
+				return new ByteColumn(bytes);
+			case Short.SIZE:
+				short[] shorts = new short[rowCount];
+				buffer.asShortBuffer().get(shorts);
+				return new ShortColumn(shorts);
+			case Integer.SIZE:
+				int[] ints = new int[rowCount];
+				buffer.asIntBuffer().get(ints);
+				return new Column(ints);
+			default:
+				long[] words = new long[BitEncodedColumn.wordCount(rowCount, bitsPerValue)];
+				buffer.asLongBuffer().get(words);
+				return BitEncodedColumn.fromWords(rowCount, bitsPerValue, words);
+		}
+	}
+
+	/**
+	 * Write the table to a temporary file first and move it in place, so a cancelled run never leaves a broken snapshot.
+	 */
+	public void write(EncodedTable table) throws IOException {
+		Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileOutputStream file = new FileOutputStream(temporaryPath.toFile())) {
+			FileChannel channel = file.getChannel();
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(sourceChecksum);
+			out.writeUTF(settings);
+			out.writeInt(table.getRowCount());
+			out.writeInt(table.getColumnCount());
+
+			long[][] sections = new long[table.getColumnCount()][4];
+			for (int i = 0; i < table.getColumnCount(); i++) {
+				out.flush();
+				sections[i][0] = channel.position();
+				writeDictionary(out, table.getDictionary(i));
+				out.flush();
+				sections[i][1] = channel.position() - sections[i][0];
+
+				sections[i][2] = channel.position();
+				writeColumn(out, table.getColumn(i));
+				out.flush();
+				sections[i][3] = channel.position() - sections[i][2];
+			}
+
+			long directoryOffset = channel.position();
+			for (int i = 0; i < table.getColumnCount(); i++) {
+				out.writeInt(table.getColumn(i).getBitsPerValue());
+				out.writeInt(table.getDictionary(i).size());
+				for (long value : sections[i]) out.writeLong(value);
+			}
+			out.writeLong(directoryOffset);
+			out.flush();
+		}
+
+		try {
+			Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static void writeDictionary(DataOutputStream out, List<String> dictionary) throws IOException {
+		for (String value : dictionary) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private static void writeColumn(DataOutputStream out, IColumn column) throws IOException {
+		if (column instanceof ByteColumn) {
+			out.write(((ByteColumn) column).getData());
+		} else if (column instanceof ShortColumn) {
+			for (short value : ((ShortColumn) column).getData()) out.writeShort(value);
+		} else if (column instanceof BitEncodedColumn) {
+			for (long word : ((BitEncodedColumn) column).getData()) out.writeLong(word);
+		} else {
+			for (int i = 0; i < column.size(); i++) out.writeInt(column.getValue(i));
+		}
+	}
+}
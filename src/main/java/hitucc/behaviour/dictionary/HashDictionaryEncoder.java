@@ -0,0 +1,86 @@
+package hitucc.behaviour.dictionary;
+
+import java.util.*;
+
+/**
+ * Dictionary encoder that assigns codes in a single pass in the order the values first occur. The codes are only
+ * meant for equality checks and carry no order. The raw column is never kept.
+ * If null does not equal null, every empty value gets its own code behind the dictionary codes.
+ */
+public class HashDictionaryEncoder implements IDictionaryEncoder {
+	private static final int INITIAL_CAPACITY = 1024;
+
+	protected final List<String> dictionary = new ArrayList<>();
+
+	private final boolean nullEqualsNull;
+
+	private Map<String, Integer> codes = new HashMap<>();
+	private int[] values = new int[INITIAL_CAPACITY];
+	private int size;
+	private int nullValueCount;
+
+	protected IColumn column;
+
+	public HashDictionaryEncoder(boolean nullEqualsNull) {
+		this.nullEqualsNull = nullEqualsNull;
+	}
+
+	@Override
+	public void addValue(String value) {
+		if (codes == null) throw new IllegalStateException("Column is already encoded");
+		if (size == values.length) values = Arrays.copyOf(values, values.length * 2);
+
+		if (!nullEqualsNull && value.isEmpty()) {
+			nullValueCount += 1;
+			values[size] = -nullValueCount;
+		} else {
+			Integer code = codes.get(value);
+			if (code == null) {
+				code = dictionary.size();
+				codes.put(value, code);
+				dictionary.add(value);
+			}
+			values[size] = code;
+		}
+		size += 1;
+	}
+
+	/**
+	 * @return the final code of every preliminary code or null if the preliminary codes are kept
+	 */
+	protected int[] createRemapping() {
+		return null;
+	}
+
+	protected void encode() {
+		codes = null;
+		int[] remapping = createRemapping();
+
+		column = IColumn.create(size, dictionary.size() + nullValueCount);
+		for (int i = 0; i < size; i++) {
+			int value = values[i];
+			if (value < 0) {
+				column.setValue(i, dictionary.size() - value - 1);
+			} else {
+				column.setValue(i, remapping == null ? value : remapping[value]);
+			}
+		}
+		values = null;
+	}
+
+	@Override
+	public List<String> getDictionary() {
+		if (column == null) encode();
+		return dictionary;
+	}
+
+	@Override
+	public IColumn getColumn() {
+		if (column == null) encode();
+		return column;
+	}
+
+	public int size() {
+		return size;
+	}
+}
@@ -1,7 +1,26 @@
 package hitucc.behaviour.dictionary;
 
-public interface IColumn {
+import java.io.Serializable;
+
+public interface IColumn extends Serializable {
 	int getValue(int index);
 	void setValue(int index, int value);
 	int size();
+	int getBitsPerValue();
+
+	/**
+	 * @return an empty column with the same value width
+	 */
+	IColumn createEmpty(int size);
+
+	/**
+	 * Create the narrowest column that can hold the codes 0 to valueCount - 1.
+	 */
+	static IColumn create(int size, int valueCount) {
+		int bitsPerValue = BitEncodedColumn.bitsPerValue(valueCount);
+		if (bitsPerValue <= Byte.SIZE) return new ByteColumn(size);
+		if (bitsPerValue <= Short.SIZE) return new ShortColumn(size);
+		if (bitsPerValue < Integer.SIZE) return new BitEncodedColumn(size, valueCount);
+		return new Column(size);
+	}
 }
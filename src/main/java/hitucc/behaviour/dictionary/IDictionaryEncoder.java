@@ -0,0 +1,11 @@
+package hitucc.behaviour.dictionary;
+
+import java.util.List;
+
+public interface IDictionaryEncoder {
+	void addValue(String value);
+
+	List<String> getDictionary();
+
+	IColumn getColumn();
+}
@@ -0,0 +1,42 @@
+package hitucc.behaviour.dictionary;
+
+public class ShortColumn implements IColumn {
+	private final short[] data;
+
+	public ShortColumn(int size) {
+		data = new short[size];
+	}
+
+	ShortColumn(short[] data) {
+		this.data = data;
+	}
+
+	short[] getData() {
+		return data;
+	}
+
+	@Override
+	public int getValue(int index) {
+		return data[index] & 0xFFFF;
+	}
+
+	@Override
+	public void setValue(int index, int value) {
+		data[index] = (short) value;
+	}
+
+	@Override
+	public int size() {
+		return data.length;
+	}
+
+	@Override
+	public int getBitsPerValue() {
+		return Short.SIZE;
+	}
+
+	@Override
+	public IColumn createEmpty(int size) {
+		return new ShortColumn(size);
+	}
+}
@@ -0,0 +1,34 @@
+package hitucc.behaviour.dictionary;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * Dictionary encoder that assigns codes while the values arrive and therefore never keeps the raw column.
+ * Values get a preliminary code on first sight; the dictionary is sorted and the codes are remapped once when the
+ * column is requested, so the result is ordered like the one of the {@link DictionaryEncoder}.
+ */
+public class SortingDictionaryEncoder extends HashDictionaryEncoder {
+
+	public SortingDictionaryEncoder(boolean nullEqualsNull) {
+		super(nullEqualsNull);
+	}
+
+	@Override
+	protected int[] createRemapping() {
+		Integer[] sortedCodes = new Integer[dictionary.size()];
+		for (int i = 0; i < sortedCodes.length; i++) sortedCodes[i] = i;
+		Arrays.sort(sortedCodes, Comparator.comparing(dictionary::get));
+
+		int[] remapping = new int[sortedCodes.length];
+		String[] sortedDictionary = new String[sortedCodes.length];
+		for (int i = 0; i < sortedCodes.length; i++) {
+			remapping[sortedCodes[i]] = i;
+			sortedDictionary[i] = dictionary.get(sortedCodes[i]);
+		}
+		dictionary.clear();
+		Collections.addAll(dictionary, sortedDictionary);
+		return remapping;
+	}
+}
@@ -0,0 +1,98 @@
+package hitucc.behaviour.dictionary;
+
+import hitucc.HitUCCApp;
+import hitucc.model.EncodedTable;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Encodes a table block by block while it is read, so only the codes and the dictionaries are kept in memory.
+ * The columns of a block are encoded in parallel on a fork join pool.
+ */
+public class TableEncoder {
+	private final boolean nullEqualsNull;
+	private final HitUCCApp.DictionaryEncodingStrategy encodingStrategy;
+	private final ForkJoinPool pool;
+
+	private IDictionaryEncoder[] encoder;
+	private int rowCount;
+
+	public TableEncoder(boolean nullEqualsNull) {
+		this(nullEqualsNull, HitUCCApp.DictionaryEncodingStrategy.HASH);
+	}
+
+	public TableEncoder(boolean nullEqualsNull, HitUCCApp.DictionaryEncodingStrategy encodingStrategy) {
+		this(nullEqualsNull, encodingStrategy, ForkJoinPool.commonPool());
+	}
+
+	public TableEncoder(boolean nullEqualsNull, HitUCCApp.DictionaryEncodingStrategy encodingStrategy, ForkJoinPool pool) {
+		this.nullEqualsNull = nullEqualsNull;
+		this.encodingStrategy = encodingStrategy;
+		this.pool = pool;
+	}
+
+	static IDictionaryEncoder createDictionaryEncoder(HitUCCApp.DictionaryEncodingStrategy encodingStrategy, boolean nullEqualsNull) {
+		switch (encodingStrategy) {
+			case SORT:
+				return new SortingDictionaryEncoder(nullEqualsNull);
+			case HASH:
+			default:
+				return new HashDictionaryEncoder(nullEqualsNull);
+		}
+	}
+
+	public void addRows(List<String[]> rows) {
+		if (rows.isEmpty()) return;
+
+		if (encoder == null) {
+			encoder = new IDictionaryEncoder[rows.get(0).length];
+			for (int i = 0; i < encoder.length; i++) encoder[i] = createDictionaryEncoder(encodingStrategy, nullEqualsNull);
+		}
+
+		forEachColumn(columnIndex -> {
+			IDictionaryEncoder columnEncoder = encoder[columnIndex];
+			for (String[] row : rows) {
+				columnEncoder.addValue(row[columnIndex]);
+			}
+		});
+		rowCount += rows.size();
+	}
+
+	public EncodedTable encode() {
+		int columnCount = encoder == null ? 0 : encoder.length;
+		IColumn[] columns = new IColumn[columnCount];
+		List<String>[] dictionaries = new List[columnCount];
+		forEachColumn(columnIndex -> {
+			columns[columnIndex] = encoder[columnIndex].getColumn();
+			dictionaries[columnIndex] = encoder[columnIndex].getDictionary();
+		});
+		encoder = null;
+
+		return new EncodedTable(columns, dictionaries, rowCount);
+	}
+
+	private void forEachColumn(ColumnTask task) {
+		if (encoder == null) return;
+		if (encoder.length == 1) {
+			task.run(0);
+			return;
+		}
+
+		try {
+			pool.submit(() -> IntStream.range(0, encoder.length).parallel().forEach(task::run)).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while encoding columns", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private interface ColumnTask {
+		void run(int columnIndex);
+	}
+}
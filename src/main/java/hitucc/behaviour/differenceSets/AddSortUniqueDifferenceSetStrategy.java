@@ -7,6 +7,9 @@ import java.util.Comparator;
 import java.util.List;
 
 public class AddSortUniqueDifferenceSetStrategy implements IAddDifferenceSetStrategy {
+	// the pair count of a sub-tile is only an upper bound, beyond this the list grows on demand
+	private static final int MAX_PRESIZED_SETS = 1 << 18;
+
 	private List<SerializableBitSet> differenceSets;
 
 	private boolean dirty = false;
@@ -59,9 +62,12 @@ public class AddSortUniqueDifferenceSetStrategy implements IAddDifferenceSetStra
 				int cardinality = o1.cardinality() - o2.cardinality();
 				if(cardinality != 0) return cardinality;
 
-				for (int i = 0; i < o1.logicalLength(); i++) {
-					if(o1.get(i) && !o2.get(i)) return -1;
-					if(!o1.get(i) && o2.get(i)) return 1;
+				// the set with the lowest bit that the other one lacks comes first
+				int wordCount = Math.max(o1.physicalLength(), o2.physicalLength());
+				for (int i = 0; i < wordCount; i++) {
+					long difference = o1.getWord(i) ^ o2.getWord(i);
+					if (difference == 0) continue;
+					return (o1.getWord(i) & Long.lowestOneBit(difference)) != 0 ? -1 : 1;
 				}
 
 				return 0;
@@ -77,6 +83,6 @@ public class AddSortUniqueDifferenceSetStrategy implements IAddDifferenceSetStra
 
 	@Override
 	public void setNeededCapacity(int capacity) {
-		differenceSets = new ArrayList<>(capacity);
+		differenceSets = new ArrayList<>(Math.min(capacity, MAX_PRESIZED_SETS));
 	}
 }
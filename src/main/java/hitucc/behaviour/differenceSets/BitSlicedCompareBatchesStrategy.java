@@ -0,0 +1,115 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.EncodedBatch;
+import hitucc.model.SerializableBitSet;
+
+/**
+ * Computes the difference sets of 64 row pairs at a time. For a fixed row of the first batch and a block of 64 rows of
+ * the second batch, every column yields one word whose bit i tells whether row i of the block differs. The words of
+ * 64 columns form a 64x64 bit matrix, which is transposed into the difference set words of the 64 pairs. The rows of
+ * the second batch are processed in tiles that fit into the cache budget.
+ */
+public class BitSlicedCompareBatchesStrategy implements ICompareBatchesStrategy {
+	private static final int BLOCK_SIZE = 64;
+
+	private final int cacheBudget;
+
+	public BitSlicedCompareBatchesStrategy() {
+		this(DEFAULT_CACHE_BUDGET);
+	}
+
+	/**
+	 * @param cacheBudget bytes the decoded columns of a tile of rows may occupy
+	 */
+	public BitSlicedCompareBatchesStrategy(int cacheBudget) {
+		this.cacheBudget = cacheBudget;
+	}
+
+	@Override
+	public void compareBatch(EncodedBatch batch, DifferenceSetDetector differenceSetDetector) {
+		int[][] columns = batch.decodeColumns();
+		compare(columns, columns, batch.getRowCount(), batch.getRowCount(), true, differenceSetDetector);
+	}
+
+	@Override
+	public void compareBatches(EncodedBatch batchA, EncodedBatch batchB, DifferenceSetDetector differenceSetDetector) {
+		compare(batchA.decodeColumns(), batchB.decodeColumns(), batchA.getRowCount(), batchB.getRowCount(), false, differenceSetDetector);
+	}
+
+	private void compare(int[][] columnsA, int[][] columnsB, int rowCountA, int rowCountB, boolean sameBatch, DifferenceSetDetector differenceSetDetector) {
+		long[] matrix = new long[BLOCK_SIZE];
+		int tileRows = ICompareBatchesStrategy.tileRows(cacheBudget, columnsA.length, BLOCK_SIZE);
+
+		for (int tileStart = 0; tileStart < rowCountB; tileStart += tileRows) {
+			int tileEnd = Math.min(rowCountB, tileStart + tileRows);
+			// within one batch only the rows before the tile's last row have a partner in the tile
+			int rowAEnd = sameBatch ? tileEnd - 1 : rowCountA;
+			for (int rowA = 0; rowA < rowAEnd; rowA++) {
+				int firstRowB = sameBatch ? Math.max(tileStart, rowA + 1) : tileStart;
+				for (int blockStart = firstRowB; blockStart < tileEnd; blockStart += BLOCK_SIZE) {
+					compareBlock(columnsA, columnsB, rowA, blockStart, Math.min(BLOCK_SIZE, tileEnd - blockStart), matrix, differenceSetDetector);
+				}
+			}
+		}
+	}
+
+	private static void compareBlock(int[][] columnsA, int[][] columnsB, int rowA, int blockStart, int blockRows, long[] matrix, DifferenceSetDetector differenceSetDetector) {
+		int columnCount = columnsA.length;
+		if (differenceSetDetector.collectsWords()) {
+			fillMatrix(columnsA, columnsB, rowA, blockStart, blockRows, 0, columnCount, matrix);
+			for (int i = 0; i < blockRows; i++) differenceSetDetector.addDifferenceSet(matrix[i]);
+			return;
+		}
+
+		int wordCount = SerializableBitSet.wordCount(columnCount);
+		long[][] pairWords = new long[blockRows][wordCount];
+		for (int word = 0; word < wordCount; word++) {
+			int firstColumn = word * BLOCK_SIZE;
+			int lastColumn = Math.min(columnCount, firstColumn + BLOCK_SIZE);
+			fillMatrix(columnsA, columnsB, rowA, blockStart, blockRows, firstColumn, lastColumn, matrix);
+			for (int i = 0; i < blockRows; i++) pairWords[i][word] = matrix[i];
+		}
+
+		for (int i = 0; i < blockRows; i++) {
+			differenceSetDetector.addDifferenceSet(SerializableBitSet.fromWords(pairWords[i]));
+		}
+	}
+
+	/**
+	 * Set word i of the matrix to the difference set bits of row A and row blockStart + i in the given columns.
+	 */
+	private static void fillMatrix(int[][] columnsA, int[][] columnsB, int rowA, int blockStart, int blockRows, int firstColumn, int lastColumn, long[] matrix) {
+		for (int columnIndex = firstColumn; columnIndex < lastColumn; columnIndex++) {
+			matrix[columnIndex - firstColumn] = differsMask(columnsA[columnIndex][rowA], columnsB[columnIndex], blockStart, blockRows);
+		}
+		for (int i = lastColumn - firstColumn; i < BLOCK_SIZE; i++) matrix[i] = 0L;
+		transpose(matrix);
+	}
+
+	/**
+	 * @return a word with bit i set if row blockStart + i of the column differs from the value
+	 */
+	static long differsMask(int value, int[] column, int blockStart, int blockRows) {
+		long mask = 0L;
+		for (int i = 0; i < blockRows; i++) {
+			int difference = value ^ column[blockStart + i];
+			mask |= (long) ((difference | -difference) >>> 31) << i;
+		}
+		return mask;
+	}
+
+	/**
+	 * Transpose the 64x64 bit matrix in place, so bit c of word r becomes bit r of word c. The off-diagonal blocks are
+	 * swapped recursively, from 32x32 blocks down to single bits.
+	 */
+	static void transpose(long[] matrix) {
+		long mask = 0x00000000FFFFFFFFL;
+		for (int j = 32; j != 0; j >>>= 1, mask ^= (mask << j)) {
+			for (int k = 0; k < BLOCK_SIZE; k = ((k | j) + 1) & ~j) {
+				long swap = ((matrix[k] >>> j) ^ matrix[k | j]) & mask;
+				matrix[k | j] ^= swap;
+				matrix[k] ^= swap << j;
+			}
+		}
+	}
+}
@@ -59,4 +59,26 @@ public class BucketingCalculateMinimalSetsStrategy implements ICalculateMinimalS
 		}
 		return calculateMinimalDifferenceSets(bucketList);
 	}
+
+	/**
+	 * Unique sets of the same cardinality are no subsets of each other, so a bucket is only tested against the minimal
+	 * sets of the smaller buckets.
+	 */
+	@Override
+	public long[] calculateMinimalDifferenceSets(long[] uniqueSets) {
+		long[] sortedSets = DifferenceSetRuns.sortByCardinality(uniqueSets);
+		long[] minimalSets = new long[sortedSets.length];
+		int minimalCount = 0;
+		int bucketStart = 0;
+		while (bucketStart < sortedSets.length) {
+			int cardinality = Long.bitCount(sortedSets[bucketStart]);
+			int smallerMinimalCount = minimalCount;
+			int index = bucketStart;
+			for (; index < sortedSets.length && Long.bitCount(sortedSets[index]) == cardinality; index++) {
+				if (isMinimal(minimalSets, smallerMinimalCount, sortedSets[index])) minimalSets[minimalCount++] = sortedSets[index];
+			}
+			bucketStart = index;
+		}
+		return Arrays.copyOf(minimalSets, minimalCount);
+	}
 }
@@ -0,0 +1,98 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.EncodedBatch;
+import hitucc.model.SerializableBitSet;
+
+import java.util.Arrays;
+
+/**
+ * Compares every row pair on the decoded columns of the batches. For a fixed row of the first batch and a block of
+ * rows of the second batch, the inequality bits of one column are computed for the whole block in a tight loop before
+ * the next column is processed. The difference set words of the block are assembled in one array and handed out as
+ * bit sets afterwards. The rows of the second batch are processed in tiles that fit into the cache budget, so all rows
+ * of the first batch are compared with one tile while it is cached.
+ */
+public class CrossProductCompareBatchesStrategy implements ICompareBatchesStrategy {
+	public static final int DEFAULT_BLOCK_SIZE = 256;
+
+	private final int blockSize;
+	private final int cacheBudget;
+
+	public CrossProductCompareBatchesStrategy() {
+		this(DEFAULT_BLOCK_SIZE);
+	}
+
+	public CrossProductCompareBatchesStrategy(int blockSize) {
+		this(blockSize, DEFAULT_CACHE_BUDGET);
+	}
+
+	/**
+	 * @param cacheBudget bytes the decoded columns of a tile of rows may occupy
+	 */
+	public CrossProductCompareBatchesStrategy(int blockSize, int cacheBudget) {
+		this.blockSize = Math.max(1, blockSize);
+		this.cacheBudget = cacheBudget;
+	}
+
+	@Override
+	public void compareBatch(EncodedBatch batch, DifferenceSetDetector differenceSetDetector) {
+		int[][] columns = batch.decodeColumns();
+		compare(columns, columns, batch.getRowCount(), batch.getRowCount(), true, differenceSetDetector);
+	}
+
+	@Override
+	public void compareBatches(EncodedBatch batchA, EncodedBatch batchB, DifferenceSetDetector differenceSetDetector) {
+		compare(batchA.decodeColumns(), batchB.decodeColumns(), batchA.getRowCount(), batchB.getRowCount(), false, differenceSetDetector);
+	}
+
+	private void compare(int[][] columnsA, int[][] columnsB, int rowCountA, int rowCountB, boolean sameBatch, DifferenceSetDetector differenceSetDetector) {
+		int columnCount = columnsA.length;
+		int wordCount = SerializableBitSet.wordCount(columnCount);
+		long[] blockWords = new long[blockSize * wordCount];
+		int tileRows = ICompareBatchesStrategy.tileRows(cacheBudget, columnCount, blockSize);
+
+		for (int tileStart = 0; tileStart < rowCountB; tileStart += tileRows) {
+			int tileEnd = Math.min(rowCountB, tileStart + tileRows);
+			// within one batch only the rows before the tile's last row have a partner in the tile
+			int rowAEnd = sameBatch ? tileEnd - 1 : rowCountA;
+			for (int rowA = 0; rowA < rowAEnd; rowA++) {
+				int firstRowB = sameBatch ? Math.max(tileStart, rowA + 1) : tileStart;
+				for (int blockStart = firstRowB; blockStart < tileEnd; blockStart += blockSize) {
+					int blockRows = Math.min(blockSize, tileEnd - blockStart);
+					compareBlock(columnsA, columnsB, rowA, blockStart, blockRows, wordCount, blockWords);
+					addBlock(blockWords, blockRows, wordCount, differenceSetDetector);
+				}
+			}
+		}
+	}
+
+	private static void addBlock(long[] blockWords, int blockRows, int wordCount, DifferenceSetDetector differenceSetDetector) {
+		if (differenceSetDetector.collectsWords()) {
+			for (int i = 0; i < blockRows; i++) differenceSetDetector.addDifferenceSet(blockWords[i]);
+			return;
+		}
+		for (int i = 0; i < blockRows; i++) {
+			long[] words = new long[wordCount];
+			System.arraycopy(blockWords, i * wordCount, words, 0, wordCount);
+			differenceSetDetector.addDifferenceSet(SerializableBitSet.fromWords(words));
+		}
+	}
+
+	/**
+	 * Set the bit of every column in which a row of the block differs from row A.
+	 */
+	static void compareBlock(int[][] columnsA, int[][] columnsB, int rowA, int blockStart, int blockRows, int wordCount, long[] blockWords) {
+		Arrays.fill(blockWords, 0, blockRows * wordCount, 0L);
+		for (int columnIndex = 0; columnIndex < columnsA.length; columnIndex++) {
+			int valueA = columnsA[columnIndex][rowA];
+			int[] columnB = columnsB[columnIndex];
+			int word = columnIndex >>> 6;
+			int bit = columnIndex & 63;
+			for (int i = 0, position = word; i < blockRows; i++, position += wordCount) {
+				int difference = valueA ^ columnB[blockStart + i];
+				// 1 if the values differ, 0 otherwise
+				blockWords[position] |= (long) ((difference | -difference) >>> 31) << bit;
+			}
+		}
+	}
+}
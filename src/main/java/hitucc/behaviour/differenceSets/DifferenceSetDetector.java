@@ -1,5 +1,6 @@
 package hitucc.behaviour.differenceSets;
 
+import hitucc.model.LongHashSet;
 import hitucc.model.SerializableBitSet;
 
 import java.util.List;
@@ -11,19 +12,40 @@ public class DifferenceSetDetector {
 	public static final int EQUAL_SETS = 3;
 
 	private static final int MAX_CACHED_DIFFERENCE_SETS = 700000;
+	private static final ICompareRowsStrategy COMPARE_ROWS_STRATEGY = new ScalarCompareRowsStrategy();
 
 	private final IAddDifferenceSetStrategy addStrategy;
 	private final ICalculateMinimalSetsStrategy calculateMinimalStrategy;
 	private final IMergeMinimalSetsStrategy mergeSetsStrategy;
+	// only set if every difference set fits into one word, the sets are then collected as raw words
+	private final LongHashSet wordDifferenceSets;
 
 	private boolean dirty = false;
 
 	private SerializableBitSet[] minimalDifferenceSets = new SerializableBitSet[0];
+	private SerializableBitSet[] seedDifferenceSets = new SerializableBitSet[0];
+	private long[] seedWords = new long[0];
 
 	public DifferenceSetDetector(IAddDifferenceSetStrategy addStrategy, ICalculateMinimalSetsStrategy calculateMinimalStrategy, IMergeMinimalSetsStrategy mergeSetsStrategy) {
+		this(addStrategy, calculateMinimalStrategy, mergeSetsStrategy, 0);
+	}
+
+	/**
+	 * For tables with at most 64 columns the difference sets bypass the add strategy: they are deduplicated as raw
+	 * words in a primitive hash set and minimized as words, so collecting them does not allocate per row pair.
+	 */
+	public DifferenceSetDetector(IAddDifferenceSetStrategy addStrategy, ICalculateMinimalSetsStrategy calculateMinimalStrategy, IMergeMinimalSetsStrategy mergeSetsStrategy, int columnCount) {
 		this.addStrategy = addStrategy;
 		this.calculateMinimalStrategy = calculateMinimalStrategy;
 		this.mergeSetsStrategy = mergeSetsStrategy;
+		this.wordDifferenceSets = columnCount > 0 && columnCount <= Long.SIZE ? new LongHashSet() : null;
+	}
+
+	/**
+	 * @return true if the difference sets are collected as single words, see {@link #addDifferenceSet(long)}
+	 */
+	public boolean collectsWords() {
+		return wordDifferenceSets != null;
 	}
 
 	public static String bitSetToString(SerializableBitSet bitSet) {
@@ -48,28 +70,23 @@ public class DifferenceSetDetector {
 			return NONE_MINIMAL;
 		}
 
-		// 0 - none minimal
-		// 1 - setA minimal candidate
-		// 2 - setB minimal candidate
-		int minimalCandidate = EQUAL_SETS;
-
-		int maxLength = Math.max(setA.logicalLength(), setB.logicalLength());
-		for (int i = 0; i < maxLength; i++) {
-			boolean valueA = setA.get(i);
-			boolean valueB = setB.get(i);
-
-			if (valueA == valueB) continue;
-
-			if (valueA) {
-				if (minimalCandidate == FIRST_MINIMAL) return NONE_MINIMAL;
-				minimalCandidate = SECOND_MINIMAL;
-			} else {
-				if (minimalCandidate == SECOND_MINIMAL) return NONE_MINIMAL;
-				minimalCandidate = FIRST_MINIMAL;
-			}
+		// bits only set in A make B a minimal candidate and the other way around
+		if ((setA.signature() & ~setB.signature()) != 0 && (setB.signature() & ~setA.signature()) != 0) return NONE_MINIMAL;
+
+		long onlyInA = 0;
+		long onlyInB = 0;
+		int wordCount = Math.max(setA.physicalLength(), setB.physicalLength());
+		for (int i = 0; i < wordCount; i++) {
+			long wordA = setA.getWord(i);
+			long wordB = setB.getWord(i);
+			onlyInA |= wordA & ~wordB;
+			onlyInB |= wordB & ~wordA;
+			if (onlyInA != 0 && onlyInB != 0) return NONE_MINIMAL;
 		}
 
-		return minimalCandidate;
+		if (onlyInA != 0) return SECOND_MINIMAL;
+		if (onlyInB != 0) return FIRST_MINIMAL;
+		return EQUAL_SETS;
 	}
 
 	/**
@@ -79,11 +96,14 @@ public class DifferenceSetDetector {
 	 * returns also true if both sets are equal
 	 */
 	protected static boolean isSubset(SerializableBitSet subset, SerializableBitSet superset) {
-		for (int i = 0; i < subset.logicalLength(); i++) {
-			if (subset.get(i) && !superset.get(i)) return false;
-		}
+		return subset.isSubsetOf(superset);
+	}
 
-		return true;
+	/**
+	 * @return true if every bit of the subset is also set in the set
+	 */
+	public static boolean containsAll(SerializableBitSet set, SerializableBitSet subset) {
+		return subset.isSubsetOf(set);
 	}
 
 	protected static void insertMinimalDifferenceSets(List<SerializableBitSet> minimalBitSets, SerializableBitSet potentialMinimal) {
@@ -102,6 +122,17 @@ public class DifferenceSetDetector {
 		return true;
 	}
 
+	/**
+	 * @param minimalCount the number of sets in minimalSets that are tested
+	 */
+	protected static boolean isMinimal(long[] minimalSets, int minimalCount, long potentialMinimal) {
+		for (int i = 0; i < minimalCount; i++) {
+			if ((minimalSets[i] & ~potentialMinimal) == 0) return false;
+		}
+
+		return true;
+	}
+
 	public SerializableBitSet addDifferenceSet(String[] rowA, String[] rowB) {
 		return addDifferenceSet(rowA, rowB, false);
 	}
@@ -121,27 +152,78 @@ public class DifferenceSetDetector {
 
 //		checkCachedDifferenceSetsBounds();
 
-		return addStrategy.addDifferenceSet(bitSet);
+		return add(bitSet);
 	}
 
 	public SerializableBitSet addDifferenceSet(final int[] rowA, final int[] rowB, final boolean nullEqualsNull) {
 		return addDifferenceSet(rowA, rowB);
 	}
 
+	/**
+	 * @return the difference set, null if it is collected as a word and no bit set is created
+	 */
 	public SerializableBitSet addDifferenceSet(final int[] rowA, final int[] rowB) {
+		if (wordDifferenceSets != null) {
+			long differenceSet = 0L;
+			for (int i = 0; i < rowA.length; i++) {
+				int difference = rowA[i] ^ rowB[i];
+				differenceSet |= (long) ((difference | -difference) >>> 31) << i;
+			}
+			addDifferenceSet(differenceSet);
+			return null;
+		}
+
 		dirty = true;
 
-		SerializableBitSet bitSet = new SerializableBitSet(rowA.length);
+		SerializableBitSet bitSet = SerializableBitSet.fromWords(COMPARE_ROWS_STRATEGY.differenceWords(rowA, rowB));
 
-		for (int i = 0; i < rowA.length; i++) {
-			if (rowA[i] != rowB[i]) {
-				bitSet.set(i);
-			}
+//		checkCachedDifferenceSetsBounds();
+
+		return add(bitSet);
+	}
+
+	public SerializableBitSet addDifferenceSet(SerializableBitSet differenceSet) {
+		dirty = true;
+		return add(differenceSet);
+	}
+
+	/**
+	 * Add a difference set of a table with at most 64 columns, bit i is set if the rows differ in column i.
+	 */
+	public void addDifferenceSet(long differenceSet) {
+		dirty = true;
+		if (wordDifferenceSets == null) {
+			add(SerializableBitSet.fromWords(new long[]{differenceSet}));
+			return;
 		}
 
-//		checkCachedDifferenceSetsBounds();
+		for (long seed : seedWords) {
+			if ((differenceSet & seed) == seed) return;
+		}
+		wordDifferenceSets.add(differenceSet);
+	}
 
-		return addStrategy.addDifferenceSet(bitSet);
+	/**
+	 * Start with known minimal difference sets, e.g. from sampling. Added difference sets that are supersets of one of
+	 * them are dropped right away.
+	 */
+	public void seedDifferenceSets(SerializableBitSet[] seedDifferenceSets) {
+		this.seedDifferenceSets = seedDifferenceSets;
+		this.minimalDifferenceSets = seedDifferenceSets.clone();
+		this.seedWords = new long[seedDifferenceSets.length];
+		for (int i = 0; i < seedDifferenceSets.length; i++) seedWords[i] = seedDifferenceSets[i].getWord(0);
+	}
+
+	private SerializableBitSet add(SerializableBitSet differenceSet) {
+		if (wordDifferenceSets != null) {
+			addDifferenceSet(differenceSet.getWord(0));
+			return differenceSet;
+		}
+
+		for (SerializableBitSet seed : seedDifferenceSets) {
+			if (containsAll(differenceSet, seed)) return differenceSet;
+		}
+		return addStrategy.addDifferenceSet(differenceSet);
 	}
 
 	private void checkCachedDifferenceSetsBounds() {
@@ -151,6 +233,7 @@ public class DifferenceSetDetector {
 	}
 
 	public int getCachedDifferenceSetCount() {
+		if (wordDifferenceSets != null) return wordDifferenceSets.size();
 		return addStrategy.getCachedDifferenceSetCount();
 	}
 
@@ -168,6 +251,17 @@ public class DifferenceSetDetector {
 	public SerializableBitSet[] getMinimalDifferenceSets() {
 		if (dirty) {
 			dirty = false;
+			if (wordDifferenceSets != null) {
+				minimalDifferenceSets = calculateMinimalWordSets();
+				wordDifferenceSets.clear();
+				return minimalDifferenceSets;
+			}
+			DifferenceSetRuns spilledRuns = addStrategy.getSpilledRuns();
+			if (spilledRuns != null) {
+				minimalDifferenceSets = calculateMinimalStrategy.calculateMinimalDifferenceSets(spilledRuns, minimalDifferenceSets);
+				addStrategy.clearState();
+				return minimalDifferenceSets;
+			}
 			if (minimalDifferenceSets.length == 0) {
 				minimalDifferenceSets = calculateMinimalStrategy.calculateMinimalDifferenceSets(addStrategy.getIterable());
 				addStrategy.clearState();
@@ -181,6 +275,18 @@ public class DifferenceSetDetector {
 		return minimalDifferenceSets;
 	}
 
+	private SerializableBitSet[] calculateMinimalWordSets() {
+		// the old minimal sets join the collected sets, so the strategy gets every set once
+		for (SerializableBitSet set : minimalDifferenceSets) wordDifferenceSets.add(set.getWord(0));
+
+		long[] minimalSets = calculateMinimalStrategy.calculateMinimalDifferenceSets(wordDifferenceSets.toArray());
+		SerializableBitSet[] result = new SerializableBitSet[minimalSets.length];
+		for (int i = 0; i < minimalSets.length; i++) {
+			result[i] = SerializableBitSet.fromWords(new long[]{minimalSets[i]});
+		}
+		return result;
+	}
+
 	public SerializableBitSet[] mergeMinimalDifferenceSets(SerializableBitSet[] a, SerializableBitSet[] b) {
 		return minimalDifferenceSets = mergeSetsStrategy.mergeMinimalDifferenceSets(a, b);
 	}
@@ -191,6 +297,7 @@ public class DifferenceSetDetector {
 
 	public void clearState() {
 		addStrategy.clearState();
+		if (wordDifferenceSets != null) wordDifferenceSets.clear();
 		setDirty();
 	}
 
@@ -0,0 +1,192 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Runs of difference sets that are each ordered by cardinality. Spilled runs are stored in temporary files with a fixed
+ * number of words per set, further runs can be kept in memory. Iterating merges all runs, so the sets are streamed in
+ * ascending cardinality without loading the spilled runs.
+ */
+public class DifferenceSetRuns implements Iterable<SerializableBitSet> {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final int wordsPerSet;
+	private final List<Path> spilledRuns = new ArrayList<>();
+	private final List<List<SerializableBitSet>> memoryRuns = new ArrayList<>();
+	private long spilledSetCount;
+
+	public DifferenceSetRuns(int columns) {
+		this.wordsPerSet = SerializableBitSet.wordCount(Math.max(1, columns));
+	}
+
+	public static List<SerializableBitSet> sortByCardinality(Iterable<SerializableBitSet> sets) {
+		List<SerializableBitSet> sortedSets = new ArrayList<>();
+		for (SerializableBitSet set : sets) sortedSets.add(set);
+		sortedSets.sort(Comparator.comparingInt(SerializableBitSet::cardinality));
+		return sortedSets;
+	}
+
+	/**
+	 * Counting sort of sets that are stored as one word each.
+	 */
+	public static long[] sortByCardinality(long[] sets) {
+		int[] bucketStarts = new int[Long.SIZE + 2];
+		for (long set : sets) bucketStarts[Long.bitCount(set) + 1] += 1;
+		for (int i = 1; i < bucketStarts.length; i++) bucketStarts[i] += bucketStarts[i - 1];
+
+		long[] sortedSets = new long[sets.length];
+		for (long set : sets) sortedSets[bucketStarts[Long.bitCount(set)]++] = set;
+		return sortedSets;
+	}
+
+	/**
+	 * Sort the sets by cardinality and write them to a temporary file.
+	 */
+	public void spill(Iterable<SerializableBitSet> sets) throws IOException {
+		List<SerializableBitSet> sortedSets = sortByCardinality(sets);
+		Path run = Files.createTempFile("hitucc-difference-sets", ".run");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+			for (SerializableBitSet set : sortedSets) {
+				for (int i = 0; i < wordsPerSet; i++) out.writeLong(set.getWord(i));
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(run);
+			throw e;
+		}
+		spilledRuns.add(run);
+		spilledSetCount += sortedSets.size();
+	}
+
+	/**
+	 * @param sortedSets sets in ascending cardinality that stay in memory
+	 */
+	public void addMemoryRun(List<SerializableBitSet> sortedSets) {
+		memoryRuns.add(sortedSets);
+	}
+
+	public boolean isEmpty() {
+		return spilledRuns.isEmpty() && memoryRuns.isEmpty();
+	}
+
+	public long getSpilledSetCount() {
+		return spilledSetCount;
+	}
+
+	public int getSpilledRunCount() {
+		return spilledRuns.size();
+	}
+
+	/**
+	 * Delete the spilled runs and forget the runs in memory.
+	 */
+	public void clear() {
+		for (Path run : spilledRuns) {
+			try {
+				Files.deleteIfExists(run);
+			} catch (IOException ignored) {
+			}
+		}
+		spilledRuns.clear();
+		memoryRuns.clear();
+		spilledSetCount = 0;
+	}
+
+	@Override
+	public Iterator<SerializableBitSet> iterator() {
+		PriorityQueue<RunCursor> cursors = new PriorityQueue<>(Comparator.comparingInt(cursor -> cursor.headCardinality));
+		try {
+			for (Path run : spilledRuns) {
+				addCursor(cursors, new RunCursor(new FileRunIterator(run)));
+			}
+		} catch (IOException e) {
+			for (RunCursor cursor : cursors) cursor.close();
+			throw new UncheckedIOException(e);
+		}
+		for (List<SerializableBitSet> run : memoryRuns) addCursor(cursors, new RunCursor(run.iterator()));
+
+		return new Iterator<SerializableBitSet>() {
+			@Override
+			public boolean hasNext() {
+				return !cursors.isEmpty();
+			}
+
+			@Override
+			public SerializableBitSet next() {
+				RunCursor cursor = cursors.poll();
+				if (cursor == null) throw new NoSuchElementException();
+				SerializableBitSet set = cursor.head;
+				addCursor(cursors, cursor);
+				return set;
+			}
+		};
+	}
+
+	private static void addCursor(PriorityQueue<RunCursor> cursors, RunCursor cursor) {
+		if (cursor.advance()) {
+			cursors.add(cursor);
+		} else {
+			cursor.close();
+		}
+	}
+
+	private static class RunCursor {
+		private final Iterator<SerializableBitSet> run;
+		private SerializableBitSet head;
+		private int headCardinality;
+
+		private RunCursor(Iterator<SerializableBitSet> run) {
+			this.run = run;
+		}
+
+		private boolean advance() {
+			if (!run.hasNext()) return false;
+			head = run.next();
+			headCardinality = head.cardinality();
+			return true;
+		}
+
+		private void close() {
+			if (run instanceof FileRunIterator) ((FileRunIterator) run).close();
+		}
+	}
+
+	private class FileRunIterator implements Iterator<SerializableBitSet> {
+		private final DataInputStream in;
+		private long remainingSets;
+
+		private FileRunIterator(Path run) throws IOException {
+			this.remainingSets = Files.size(run) / (Long.BYTES * wordsPerSet);
+			this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+		}
+
+		@Override
+		public boolean hasNext() {
+			return remainingSets > 0;
+		}
+
+		@Override
+		public SerializableBitSet next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			long[] words = new long[wordsPerSet];
+			try {
+				for (int i = 0; i < wordsPerSet; i++) words[i] = in.readLong();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			remainingSets -= 1;
+			return SerializableBitSet.fromWords(words);
+		}
+
+		private void close() {
+			try {
+				in.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+}
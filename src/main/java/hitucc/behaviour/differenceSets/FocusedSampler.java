@@ -0,0 +1,103 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.behaviour.dictionary.IColumn;
+import hitucc.model.EncodedTable;
+import hitucc.model.SerializableBitSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Samples difference sets before the full comparison, similar to the focused sampling of HyUCC. For every column the
+ * rows are sorted by value and compared with their neighbours in the same cluster: first the direct neighbours, then
+ * the rows two positions further and so on. A column is sampled until the share of comparisons that yield a new
+ * minimal difference set falls below the threshold. Rows that agree in a column tend to differ in few others, so this
+ * finds small difference sets fast.
+ */
+public class FocusedSampler {
+	private static final long ROW_MASK = 0xFFFFFFFFL;
+
+	private final EncodedTable table;
+	private final int[] columnOrder;
+	private final double efficiencyThreshold;
+	private final List<SerializableBitSet> minimalSets = new ArrayList<>();
+	private long comparisons;
+
+	/**
+	 * @param columnOrder the columns of the table in the order of the difference set bits
+	 */
+	public FocusedSampler(EncodedTable table, int[] columnOrder, double efficiencyThreshold) {
+		this.table = table;
+		this.columnOrder = columnOrder;
+		this.efficiencyThreshold = efficiencyThreshold;
+	}
+
+	/**
+	 * @return the minimal difference sets of all sampled row pairs
+	 */
+	public SerializableBitSet[] sample() {
+		for (int columnIndex : columnOrder) {
+			sampleColumn(columnIndex);
+		}
+		return minimalSets.toArray(new SerializableBitSet[0]);
+	}
+
+	public long getComparisons() {
+		return comparisons;
+	}
+
+	private void sampleColumn(int columnIndex) {
+		int rowCount = table.getRowCount();
+		IColumn column = table.getColumn(columnIndex);
+		long[] entries = new long[rowCount];
+		for (int row = 0; row < rowCount; row++) entries[row] = ((long) column.getValue(row) << 32) | row;
+		Arrays.sort(entries);
+
+		int[] sortedRows = new int[rowCount];
+		int[] clusterEnds = new int[rowCount];
+		for (int i = 0; i < rowCount; i++) sortedRows[i] = (int) (entries[i] & ROW_MASK);
+		for (int i = rowCount - 1; i >= 0; i--) {
+			boolean lastOfCluster = i == rowCount - 1 || entries[i + 1] >>> 32 != entries[i] >>> 32;
+			clusterEnds[i] = lastOfCluster ? i + 1 : clusterEnds[i + 1];
+		}
+
+		for (int distance = 1; distance < rowCount; distance++) {
+			long windowComparisons = 0;
+			long newMinimalSets = 0;
+			for (int i = 0; i + distance < rowCount; i++) {
+				if (i + distance >= clusterEnds[i]) continue;
+				windowComparisons += 1;
+				if (addMinimalSet(differenceSet(sortedRows[i], sortedRows[i + distance]))) newMinimalSets += 1;
+			}
+			comparisons += windowComparisons;
+			if (windowComparisons == 0 || (double) newMinimalSets / windowComparisons < efficiencyThreshold) break;
+		}
+	}
+
+	private SerializableBitSet differenceSet(int rowA, int rowB) {
+		SerializableBitSet differenceSet = new SerializableBitSet(columnOrder.length);
+		for (int i = 0; i < columnOrder.length; i++) {
+			IColumn column = table.getColumn(columnOrder[i]);
+			if (column.getValue(rowA) != column.getValue(rowB)) differenceSet.set(i);
+		}
+		return differenceSet;
+	}
+
+	/**
+	 * @return true if the set is not a superset of a known minimal set
+	 */
+	private boolean addMinimalSet(SerializableBitSet differenceSet) {
+		for (SerializableBitSet minimalSet : minimalSets) {
+			if (DifferenceSetDetector.containsAll(differenceSet, minimalSet)) return false;
+		}
+
+		Iterator<SerializableBitSet> iterator = minimalSets.iterator();
+		while (iterator.hasNext()) {
+			if (DifferenceSetDetector.containsAll(iterator.next(), differenceSet)) iterator.remove();
+		}
+		minimalSets.add(differenceSet);
+		return true;
+	}
+}
@@ -0,0 +1,126 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.behaviour.dictionary.IColumn;
+import hitucc.behaviour.oracle.HittingSetOracle;
+import hitucc.model.EncodedTable;
+import hitucc.model.PositionListIndex;
+import hitucc.model.SerializableBitSet;
+
+import java.util.*;
+
+/**
+ * Completes sampled difference sets without comparing all row pairs. The minimal hitting sets of the known difference
+ * sets are candidate UCCs, which are validated against the whole table by intersecting the position list indexes of
+ * their columns. A candidate that is no UCC yields two rows that agree in all of its columns; their difference set is
+ * added and the candidates are generated again. Once every candidate is a UCC, the minimal hitting sets of the known
+ * difference sets are exactly the minimal UCCs of the table.
+ */
+public class HybridDifferenceSetSearch {
+	private final EncodedTable table;
+	private final int[] columnOrder;
+	private final PositionListIndex[] positionListIndexes;
+
+	private int iterations;
+	private int validations;
+
+	/**
+	 * @param columnOrder the columns of the table in the order of the difference set bits
+	 */
+	public HybridDifferenceSetSearch(EncodedTable table, int[] columnOrder) {
+		this.table = table;
+		this.columnOrder = columnOrder;
+		this.positionListIndexes = new PositionListIndex[columnOrder.length];
+	}
+
+	/**
+	 * @return minimal difference sets whose minimal hitting sets are the minimal UCCs of the table
+	 */
+	public SerializableBitSet[] search(SerializableBitSet[] sampledDifferenceSets) {
+		Set<SerializableBitSet> differenceSets = new LinkedHashSet<>(Arrays.asList(sampledDifferenceSets));
+		if (differenceSets.isEmpty() && table.getRowCount() > 1) differenceSets.add(differenceSet(0, 1));
+
+		Set<SerializableBitSet> validCandidates = new HashSet<>();
+		boolean allValid = false;
+		while (!allValid) {
+			iterations += 1;
+			allValid = true;
+			SerializableBitSet[] knownSets = minimize(differenceSets);
+			for (SerializableBitSet candidate : HittingSetOracle.minimalHittingSets(knownSets, columnOrder.length)) {
+				if (validCandidates.contains(candidate)) continue;
+
+				validations += 1;
+				int[] violation = findViolation(candidate);
+				if (violation == null) {
+					validCandidates.add(candidate);
+				} else {
+					differenceSets.add(differenceSet(violation[0], violation[1]));
+					allValid = false;
+				}
+			}
+		}
+		return minimize(differenceSets);
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	public int getValidations() {
+		return validations;
+	}
+
+	private SerializableBitSet differenceSet(int rowA, int rowB) {
+		SerializableBitSet differenceSet = new SerializableBitSet(columnOrder.length);
+		for (int i = 0; i < columnOrder.length; i++) {
+			IColumn column = table.getColumn(columnOrder[i]);
+			if (column.getValue(rowA) != column.getValue(rowB)) differenceSet.set(i);
+		}
+		return differenceSet;
+	}
+
+	private PositionListIndex getPositionListIndex(int bit) {
+		if (positionListIndexes[bit] == null) positionListIndexes[bit] = PositionListIndex.create(table, columnOrder[bit]);
+		return positionListIndexes[bit];
+	}
+
+	/**
+	 * @return two rows that agree in all columns of the candidate or null if the candidate is a UCC
+	 */
+	private int[] findViolation(SerializableBitSet candidate) {
+		if (candidate.isEmpty()) return table.getRowCount() > 1 ? new int[]{0, 1} : null;
+
+		// start with the index that has the fewest rows in clusters
+		List<PositionListIndex> indexes = new ArrayList<>();
+		for (int bit = candidate.nextSetBit(0); bit >= 0 && bit < columnOrder.length; bit = candidate.nextSetBit(bit + 1)) {
+			indexes.add(getPositionListIndex(bit));
+		}
+		indexes.sort(Comparator.comparingLong(PositionListIndex::size));
+
+		PositionListIndex intersection = indexes.get(0);
+		for (int i = 1; i < indexes.size() && intersection.getClusterCount() > 0; i++) {
+			intersection = intersection.intersect(indexes.get(i));
+		}
+
+		if (intersection.getClusterCount() == 0) return null;
+		int[] cluster = intersection.getCluster(0);
+		return new int[]{cluster[0], cluster[1]};
+	}
+
+	private static SerializableBitSet[] minimize(Collection<SerializableBitSet> differenceSets) {
+		List<SerializableBitSet> sorted = new ArrayList<>(differenceSets);
+		sorted.sort(Comparator.comparingInt(SerializableBitSet::cardinality));
+
+		List<SerializableBitSet> minimalSets = new ArrayList<>();
+		for (SerializableBitSet differenceSet : sorted) {
+			boolean minimal = true;
+			for (SerializableBitSet minimalSet : minimalSets) {
+				if (DifferenceSetDetector.containsAll(differenceSet, minimalSet)) {
+					minimal = false;
+					break;
+				}
+			}
+			if (minimal) minimalSets.add(differenceSet);
+		}
+		return minimalSets.toArray(new SerializableBitSet[0]);
+	}
+}
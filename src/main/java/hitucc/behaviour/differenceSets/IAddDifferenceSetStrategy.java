@@ -14,4 +14,11 @@ public interface IAddDifferenceSetStrategy {
 	void clearState();
 
 	void setNeededCapacity(int capacity);
+
+	/**
+	 * @return all added sets as runs ordered by cardinality if some of them were spilled to disk, null otherwise
+	 */
+	default DifferenceSetRuns getSpilledRuns() {
+		return null;
+	}
 }
@@ -1,9 +1,39 @@
 package hitucc.behaviour.differenceSets;
 
 import hitucc.model.SerializableBitSet;
+import hitucc.model.SetTrie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public interface ICalculateMinimalSetsStrategy {
 	SerializableBitSet[] calculateMinimalDifferenceSets(Iterable<SerializableBitSet> uniqueSets);
 
 	SerializableBitSet[] calculateMinimalDifferenceSets(DifferenceSetDetector differenceSetDetector, Iterable<SerializableBitSet> uniqueSets, SerializableBitSet[] oldMinimalSets);
+
+	/**
+	 * Minimize spilled difference sets together with the old minimal sets by streaming a merge over the runs. The sets
+	 * arrive in ascending cardinality, so a set is minimal if no minimal set found before is a subset of it, and only
+	 * the minimal sets are kept in memory. Like the other strategies the result is ordered by cardinality, which the
+	 * merge strategies rely on.
+	 */
+	default SerializableBitSet[] calculateMinimalDifferenceSets(DifferenceSetRuns runs, SerializableBitSet[] oldMinimalSets) {
+		runs.addMemoryRun(DifferenceSetRuns.sortByCardinality(Arrays.asList(oldMinimalSets)));
+
+		SetTrie minimalSetIndex = new SetTrie();
+		List<SerializableBitSet> minimalSets = new ArrayList<>();
+		for (SerializableBitSet set : runs) {
+			if (minimalSetIndex.containsSubsetOf(set)) continue;
+			minimalSetIndex.add(set);
+			minimalSets.add(set);
+		}
+		return minimalSets.toArray(new SerializableBitSet[0]);
+	}
+
+	/**
+	 * Minimize unique difference sets of at most 64 columns that are stored as one word each, like the collected sets of
+	 * narrow tables. The result is ordered by cardinality as well.
+	 */
+	long[] calculateMinimalDifferenceSets(long[] uniqueSets);
 }
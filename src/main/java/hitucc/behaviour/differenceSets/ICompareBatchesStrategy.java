@@ -0,0 +1,27 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.EncodedBatch;
+
+public interface ICompareBatchesStrategy {
+	// an eighth of a 2 MB L2 cache, as the tile shares it with the rows of the first batch and the collected sets
+	int DEFAULT_CACHE_BUDGET = 256 * 1024;
+
+	/**
+	 * @return the number of rows of the second batch per tile, so that their decoded columns fit into the cache budget,
+	 * rounded down to a multiple of the block size
+	 */
+	static int tileRows(int cacheBudget, int columnCount, int blockSize) {
+		long rows = cacheBudget / ((long) Math.max(1, columnCount) * Integer.BYTES);
+		return (int) Math.max(blockSize, Math.min(Integer.MAX_VALUE / 2, rows / blockSize * blockSize));
+	}
+
+	/**
+	 * Add the difference sets of all row pairs within the batch.
+	 */
+	void compareBatch(EncodedBatch batch, DifferenceSetDetector differenceSetDetector);
+
+	/**
+	 * Add the difference sets of all row pairs with one row of each batch.
+	 */
+	void compareBatches(EncodedBatch batchA, EncodedBatch batchB, DifferenceSetDetector differenceSetDetector);
+}
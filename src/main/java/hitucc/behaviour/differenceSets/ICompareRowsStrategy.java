@@ -0,0 +1,8 @@
+package hitucc.behaviour.differenceSets;
+
+public interface ICompareRowsStrategy {
+	/**
+	 * @return the words of the difference set, bit i is set if the rows differ in column i
+	 */
+	long[] differenceWords(int[] rowA, int[] rowB);
+}
@@ -0,0 +1,171 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.LongHashSet;
+import hitucc.model.SerializableBitSet;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Numbers the candidate sets in ascending cardinality and keeps one bitmap per column with the numbers of the candidates
+ * that contain the column. A candidate that is still alive when it is reached is minimal, and the AND of the bitmaps
+ * of its columns gives all its supersets, which are removed from the alive candidates at once. This pays off if a few
+ * small minimal sets dominate many candidates. The candidates have to be unique.
+ */
+public class InvertedIndexCalculateMinimalSetsStrategy implements ICalculateMinimalSetsStrategy {
+	// ids are appended to the column bitmaps in chunks
+	private static final int ID_BUFFER_SIZE = 4096;
+
+	/**
+	 * Counting sort by cardinality, the candidates' positions are their ids.
+	 */
+	private static SerializableBitSet[] sortByCardinality(List<SerializableBitSet> sets) {
+		int maxCardinality = 0;
+		for (SerializableBitSet set : sets) maxCardinality = Math.max(maxCardinality, set.cardinality());
+
+		int[] bucketStarts = new int[maxCardinality + 2];
+		for (SerializableBitSet set : sets) bucketStarts[set.cardinality() + 1] += 1;
+		for (int i = 1; i < bucketStarts.length; i++) bucketStarts[i] += bucketStarts[i - 1];
+
+		SerializableBitSet[] sortedSets = new SerializableBitSet[sets.size()];
+		for (SerializableBitSet set : sets) sortedSets[bucketStarts[set.cardinality()]++] = set;
+		return sortedSets;
+	}
+
+	private static RoaringBitmap[] createColumnBitmaps(SerializableBitSet[] candidates) {
+		int columnCount = 0;
+		for (SerializableBitSet candidate : candidates) columnCount = Math.max(columnCount, candidate.logicalLength());
+
+		RoaringBitmap[] columnBitmaps = new RoaringBitmap[columnCount];
+		int[][] idBuffers = new int[columnCount][ID_BUFFER_SIZE];
+		int[] bufferedIds = new int[columnCount];
+		for (int column = 0; column < columnCount; column++) columnBitmaps[column] = new RoaringBitmap();
+
+		for (int id = 0; id < candidates.length; id++) {
+			SerializableBitSet candidate = candidates[id];
+			for (int column = candidate.nextSetBit(0); column >= 0; column = candidate.nextSetBit(column + 1)) {
+				idBuffers[column][bufferedIds[column]++] = id;
+				if (bufferedIds[column] == ID_BUFFER_SIZE) {
+					columnBitmaps[column].addN(idBuffers[column], 0, ID_BUFFER_SIZE);
+					bufferedIds[column] = 0;
+				}
+			}
+		}
+		for (int column = 0; column < columnCount; column++) {
+			columnBitmaps[column].addN(idBuffers[column], 0, bufferedIds[column]);
+		}
+		return columnBitmaps;
+	}
+
+	private static SerializableBitSet[] calculateMinimalSets(List<SerializableBitSet> sets) {
+		SerializableBitSet[] candidates = sortByCardinality(sets);
+		RoaringBitmap[] columnBitmaps = createColumnBitmaps(candidates);
+
+		RoaringBitmap aliveCandidates = new RoaringBitmap();
+		aliveCandidates.add(0L, candidates.length);
+		List<SerializableBitSet> minimalSets = new ArrayList<>();
+		int largerCandidatesStart = 0;
+		for (long nextId = aliveCandidates.nextValue(0); nextId >= 0; nextId = aliveCandidates.nextValue((int) nextId + 1)) {
+			int id = (int) nextId;
+			SerializableBitSet minimalSet = candidates[id];
+			minimalSets.add(minimalSet);
+
+			// unique sets of the same cardinality are no supersets of each other
+			while (largerCandidatesStart < candidates.length && candidates[largerCandidatesStart].cardinality() <= minimalSet.cardinality()) {
+				largerCandidatesStart += 1;
+			}
+			if (aliveCandidates.nextValue(largerCandidatesStart) < 0) continue;
+
+			// intersecting the alive candidates first keeps the intermediate bitmaps small, the empty set is a subset of all
+			int firstColumn = minimalSet.nextSetBit(0);
+			RoaringBitmap supersets = firstColumn < 0 ? aliveCandidates.clone() : RoaringBitmap.and(aliveCandidates, columnBitmaps[firstColumn]);
+			for (int column = minimalSet.nextSetBit(firstColumn + 1); column >= 0 && !supersets.isEmpty(); column = minimalSet.nextSetBit(column + 1)) {
+				supersets.and(columnBitmaps[column]);
+			}
+			supersets.remove(0L, largerCandidatesStart);
+			aliveCandidates.andNot(supersets);
+		}
+		return minimalSets.toArray(new SerializableBitSet[0]);
+	}
+
+	private static RoaringBitmap[] createColumnBitmaps(long[] candidates) {
+		RoaringBitmap[] columnBitmaps = new RoaringBitmap[Long.SIZE];
+		int[][] idBuffers = new int[Long.SIZE][ID_BUFFER_SIZE];
+		int[] bufferedIds = new int[Long.SIZE];
+		for (int column = 0; column < Long.SIZE; column++) columnBitmaps[column] = new RoaringBitmap();
+
+		for (int id = 0; id < candidates.length; id++) {
+			for (long remaining = candidates[id]; remaining != 0; remaining &= remaining - 1) {
+				int column = Long.numberOfTrailingZeros(remaining);
+				idBuffers[column][bufferedIds[column]++] = id;
+				if (bufferedIds[column] == ID_BUFFER_SIZE) {
+					columnBitmaps[column].addN(idBuffers[column], 0, ID_BUFFER_SIZE);
+					bufferedIds[column] = 0;
+				}
+			}
+		}
+		for (int column = 0; column < Long.SIZE; column++) {
+			columnBitmaps[column].addN(idBuffers[column], 0, bufferedIds[column]);
+		}
+		return columnBitmaps;
+	}
+
+	/**
+	 * Add strategies without duplicate removal, e.g. NAIVE, hand in repeated sets, so they are made unique first.
+	 */
+	@Override
+	public SerializableBitSet[] calculateMinimalDifferenceSets(Iterable<SerializableBitSet> uniqueSets) {
+		Set<SerializableBitSet> sets = new LinkedHashSet<>();
+		for (SerializableBitSet set : uniqueSets) sets.add(set);
+		return calculateMinimalSets(new ArrayList<>(sets));
+	}
+
+	/**
+	 * The old minimal sets are indexed together with the new sets, sets found again are only indexed once.
+	 */
+	@Override
+	public SerializableBitSet[] calculateMinimalDifferenceSets(DifferenceSetDetector differenceSetDetector, Iterable<SerializableBitSet> uniqueSets, SerializableBitSet[] oldMinimalSets) {
+		Set<SerializableBitSet> sets = new LinkedHashSet<>(Arrays.asList(oldMinimalSets));
+		for (SerializableBitSet set : uniqueSets) sets.add(set);
+		return calculateMinimalSets(new ArrayList<>(sets));
+	}
+
+	/**
+	 * Single-word sets are numbered and indexed the same way, with one bitmap per bit of the word. The old minimal sets
+	 * the detector appends may repeat collected sets, so the words are made unique first.
+	 */
+	@Override
+	public long[] calculateMinimalDifferenceSets(long[] uniqueSets) {
+		LongHashSet sets = new LongHashSet(uniqueSets.length);
+		for (long set : uniqueSets) sets.add(set);
+		long[] candidates = DifferenceSetRuns.sortByCardinality(sets.toArray());
+		RoaringBitmap[] columnBitmaps = createColumnBitmaps(candidates);
+
+		RoaringBitmap aliveCandidates = new RoaringBitmap();
+		aliveCandidates.add(0L, candidates.length);
+		long[] minimalSets = new long[candidates.length];
+		int minimalCount = 0;
+		int largerCandidatesStart = 0;
+		for (long nextId = aliveCandidates.nextValue(0); nextId >= 0; nextId = aliveCandidates.nextValue((int) nextId + 1)) {
+			long minimalSet = candidates[(int) nextId];
+			minimalSets[minimalCount++] = minimalSet;
+
+			while (largerCandidatesStart < candidates.length && Long.bitCount(candidates[largerCandidatesStart]) <= Long.bitCount(minimalSet)) {
+				largerCandidatesStart += 1;
+			}
+			if (aliveCandidates.nextValue(largerCandidatesStart) < 0) continue;
+
+			RoaringBitmap supersets = minimalSet == 0 ? aliveCandidates.clone() : RoaringBitmap.and(aliveCandidates, columnBitmaps[Long.numberOfTrailingZeros(minimalSet)]);
+			for (long remaining = minimalSet & (minimalSet - 1); remaining != 0 && !supersets.isEmpty(); remaining &= remaining - 1) {
+				supersets.and(columnBitmaps[Long.numberOfTrailingZeros(remaining)]);
+			}
+			supersets.remove(0L, largerCandidatesStart);
+			aliveCandidates.andNot(supersets);
+		}
+		return Arrays.copyOf(minimalSets, minimalCount);
+	}
+}
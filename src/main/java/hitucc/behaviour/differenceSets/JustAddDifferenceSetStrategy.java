@@ -5,6 +5,9 @@ import hitucc.model.SerializableBitSet;
 import java.util.ArrayList;
 
 public class JustAddDifferenceSetStrategy implements IAddDifferenceSetStrategy {
+	// a batch pair can have rows * rows pairs, so larger lists grow while they are filled instead of being allocated up front
+	private static final int MAX_PRESIZED_SETS = 1 << 18;
+
 	ArrayList<SerializableBitSet> differenceSets;
 
 	public JustAddDifferenceSetStrategy() {
@@ -39,6 +42,6 @@ public class JustAddDifferenceSetStrategy implements IAddDifferenceSetStrategy {
 
 	@Override
 	public void setNeededCapacity(int capacity) {
-		differenceSets = new ArrayList<>(capacity);
+		differenceSets = new ArrayList<>(Math.min(capacity, MAX_PRESIZED_SETS));
 	}
 }
@@ -0,0 +1,33 @@
+package hitucc.behaviour.differenceSets;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+
+/**
+ * Watches the heap usage of the JVM, so buffers can be spilled before the worker runs out of memory. The used heap
+ * also counts garbage that was not collected yet, so pressure may be reported a bit early.
+ */
+public class MemoryGovernor {
+	public static final double DEFAULT_MAX_HEAP_FRACTION = 0.8;
+
+	private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+	private final double maxHeapFraction;
+
+	public MemoryGovernor() {
+		this(DEFAULT_MAX_HEAP_FRACTION);
+	}
+
+	public MemoryGovernor(double maxHeapFraction) {
+		this.maxHeapFraction = maxHeapFraction;
+	}
+
+	/**
+	 * @return true if more than the allowed fraction of the maximal heap is used
+	 */
+	public boolean isUnderPressure() {
+		MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+		long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+		return heap.getUsed() > max * maxHeapFraction;
+	}
+}
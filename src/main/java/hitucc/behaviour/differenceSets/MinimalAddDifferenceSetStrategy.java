@@ -0,0 +1,47 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+import hitucc.model.SetTrie;
+
+/**
+ * Keeps only the minimal difference sets while they are created instead of buffering every unique set until they are
+ * minimized. A new set is dropped if one of the kept sets is a subset of it, otherwise it replaces all kept supersets.
+ * Memory stays proportional to the number of minimal sets.
+ */
+public class MinimalAddDifferenceSetStrategy implements IAddDifferenceSetStrategy {
+	private final SetTrie minimalSets = new SetTrie();
+
+	@Override
+	public SerializableBitSet addDifferenceSet(SerializableBitSet differenceSet) {
+		if (minimalSets.containsSubsetOf(differenceSet)) return differenceSet;
+
+		minimalSets.removeSupersetsOf(differenceSet);
+		minimalSets.add(differenceSet);
+		return differenceSet;
+	}
+
+	@Override
+	public int getCachedDifferenceSetCount() {
+		return minimalSets.size();
+	}
+
+	@Override
+	public Iterable<SerializableBitSet> getIterable() {
+		return minimalSets;
+	}
+
+	@Override
+	public void removeDuplicates() {
+
+	}
+
+	@Override
+	public void clearState() {
+		minimalSets.clear();
+	}
+
+	@Override
+	public void setNeededCapacity(int capacity) {
+
+	}
+}
@@ -51,4 +51,24 @@ public class NaiveCalculateMinimalSetsStrategy implements ICalculateMinimalSetsS
 	public SerializableBitSet[] calculateMinimalDifferenceSets(DifferenceSetDetector differenceSetDetector, Iterable<SerializableBitSet> uniqueSets, SerializableBitSet[] oldMinimalSets) {
 		return differenceSetDetector.mergeMinimalDifferenceSets(oldMinimalSets, calculateMinimalDifferenceSets(uniqueSets));
 	}
+
+	@Override
+	public long[] calculateMinimalDifferenceSets(long[] uniqueSets) {
+		long[] sets = DifferenceSetRuns.sortByCardinality(uniqueSets);
+		boolean[] notMinimal = new boolean[sets.length];
+
+		for (int indexA = 0; indexA < sets.length; indexA++) {
+			for (int indexB = indexA + 1; indexB < sets.length; indexB++) {
+				if ((sets[indexA] & ~sets[indexB]) == 0) notMinimal[indexB] = true;
+				if ((sets[indexB] & ~sets[indexA]) == 0) notMinimal[indexA] = true;
+			}
+		}
+
+		long[] minimalSets = new long[sets.length];
+		int minimalCount = 0;
+		for (int i = 0; i < sets.length; i++) {
+			if (!notMinimal[i]) minimalSets[minimalCount++] = sets[i];
+		}
+		return Arrays.copyOf(minimalSets, minimalCount);
+	}
 }
@@ -0,0 +1,152 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.EncodedBatch;
+import hitucc.model.SerializableBitSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Splits the comparison of a batch pair into row range sub-tiles that are processed on a fork-join pool shared by all
+ * workers of the JVM. Every sub-tile collects and minimizes its difference sets with its own detector. The minimal sets
+ * of the sub-tiles are merged pairwise while the tiles finish and finally merged with the minimal sets known before.
+ */
+public class ParallelBatchComparison {
+	private static final ForkJoinPool SHARED_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	private final ICompareBatchesStrategy compareBatchesStrategy;
+	private final Supplier<DifferenceSetDetector> detectorFactory;
+	private final IMergeMinimalSetsStrategy mergeStrategy;
+	private final int parallelism;
+
+	/**
+	 * @param parallelism the minimal number of sub-tiles a batch pair is split into
+	 */
+	public ParallelBatchComparison(ICompareBatchesStrategy compareBatchesStrategy, Supplier<DifferenceSetDetector> detectorFactory, int parallelism) {
+		this(compareBatchesStrategy, detectorFactory, new TwoSidedMergeMinimalSetsStrategy(), parallelism);
+	}
+
+	/**
+	 * @param mergeStrategy merges the minimal sets of the sub-tiles, it gets them ordered by cardinality
+	 */
+	public ParallelBatchComparison(ICompareBatchesStrategy compareBatchesStrategy, Supplier<DifferenceSetDetector> detectorFactory, IMergeMinimalSetsStrategy mergeStrategy, int parallelism) {
+		this.compareBatchesStrategy = compareBatchesStrategy;
+		this.mergeStrategy = mergeStrategy;
+		this.detectorFactory = detectorFactory;
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Pool for work that should not block an actor's thread, e.g. merging minimal difference sets.
+	 */
+	public static ForkJoinPool getSharedPool() {
+		return SHARED_POOL;
+	}
+
+	/**
+	 * @param batchB          null to compare the rows of batch A with each other
+	 * @param knownMinimalSets minimal difference sets found before, they are part of the result
+	 * @return the minimal difference sets of the batch pair and the known ones, ordered by cardinality
+	 */
+	public CompletableFuture<SerializableBitSet[]> compare(EncodedBatch batchA, EncodedBatch batchB, SerializableBitSet[] knownMinimalSets) {
+		List<SubTile> subTiles = batchB == null ? splitBatch(batchA) : splitBatchPair(batchA, batchB);
+		return CompletableFuture.supplyAsync(() -> {
+			SerializableBitSet[] minimalSets = new MergeTask(subTiles, 0, subTiles.size()).invoke();
+			return mergeStrategy.mergeMinimalDifferenceSets(minimalSets, sortByCardinality(knownMinimalSets.clone()));
+		}, SHARED_POOL);
+	}
+
+	private static SerializableBitSet[] sortByCardinality(SerializableBitSet[] sets) {
+		Arrays.sort(sets, Comparator.comparingInt(SerializableBitSet::cardinality));
+		return sets;
+	}
+
+	private static List<EncodedBatch> splitRows(EncodedBatch batch, int rangeCount) {
+		List<EncodedBatch> ranges = new ArrayList<>();
+		int rangeRows = Math.max(1, (batch.getRowCount() + rangeCount - 1) / rangeCount);
+		for (int from = 0; from < batch.getRowCount(); from += rangeRows) {
+			ranges.add(batch.slice(from, Math.min(batch.getRowCount(), from + rangeRows)));
+		}
+		return ranges;
+	}
+
+	private List<SubTile> splitBatchPair(EncodedBatch batchA, EncodedBatch batchB) {
+		List<SubTile> subTiles = new ArrayList<>();
+		for (EncodedBatch rangeA : splitRows(batchA, parallelism)) subTiles.add(new SubTile(rangeA, batchB));
+		return subTiles;
+	}
+
+	/**
+	 * Within one batch r row ranges give r triangular tiles and r * (r - 1) / 2 rectangular tiles between two ranges.
+	 */
+	private List<SubTile> splitBatch(EncodedBatch batch) {
+		int rangeCount = 1;
+		while (rangeCount * (rangeCount + 1) / 2 < parallelism) rangeCount += 1;
+
+		List<EncodedBatch> ranges = splitRows(batch, rangeCount);
+		List<SubTile> subTiles = new ArrayList<>();
+		for (int i = 0; i < ranges.size(); i++) {
+			subTiles.add(new SubTile(ranges.get(i), null));
+			for (int k = i + 1; k < ranges.size(); k++) subTiles.add(new SubTile(ranges.get(i), ranges.get(k)));
+		}
+		return subTiles;
+	}
+
+	private SerializableBitSet[] compareSubTile(SubTile subTile) {
+		DifferenceSetDetector detector = detectorFactory.get();
+		long rowCountA = subTile.rangeA.getRowCount();
+		if (subTile.rangeB == null) {
+			detector.setNeededCapacity((int) Math.min(Integer.MAX_VALUE, rowCountA * (rowCountA - 1) / 2));
+			compareBatchesStrategy.compareBatch(subTile.rangeA, detector);
+		} else {
+			detector.setNeededCapacity((int) Math.min(Integer.MAX_VALUE, rowCountA * subTile.rangeB.getRowCount()));
+			compareBatchesStrategy.compareBatches(subTile.rangeA, subTile.rangeB, detector);
+		}
+		detector.removeDuplicates();
+
+		// the merge expects the sets ordered by cardinality
+		return sortByCardinality(detector.getMinimalDifferenceSets().clone());
+	}
+
+	private static class SubTile {
+		private final EncodedBatch rangeA;
+		private final EncodedBatch rangeB;
+
+		private SubTile(EncodedBatch rangeA, EncodedBatch rangeB) {
+			this.rangeA = rangeA;
+			this.rangeB = rangeB;
+		}
+	}
+
+	private class MergeTask extends RecursiveTask<SerializableBitSet[]> {
+		private static final long serialVersionUID = 6140713530427791853L;
+
+		private final List<SubTile> subTiles;
+		private final int from;
+		private final int to;
+
+		private MergeTask(List<SubTile> subTiles, int from, int to) {
+			this.subTiles = subTiles;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected SerializableBitSet[] compute() {
+			if (to - from == 0) return new SerializableBitSet[0];
+			if (to - from == 1) return compareSubTile(subTiles.get(from));
+
+			int middle = (from + to) >>> 1;
+			MergeTask left = new MergeTask(subTiles, from, middle);
+			left.fork();
+			SerializableBitSet[] right = new MergeTask(subTiles, middle, to).compute();
+			return mergeStrategy.mergeMinimalDifferenceSets(left.join(), right);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.EncodedBatch;
+import hitucc.model.PositionListIndex;
+import hitucc.model.SerializableBitSet;
+
+/**
+ * Only compares row pairs that share a value in at least one column. The candidate pairs come from the position list
+ * indexes of the columns; a pair is compared for the first column it agrees on only. All other pairs differ in every
+ * column, so their difference set is the full set, which is added once if there is such a pair.
+ */
+public class PliCompareBatchesStrategy implements ICompareBatchesStrategy {
+	@Override
+	public void compareBatch(EncodedBatch batch, DifferenceSetDetector differenceSetDetector) {
+		compare(batch, null, differenceSetDetector);
+	}
+
+	@Override
+	public void compareBatches(EncodedBatch batchA, EncodedBatch batchB, DifferenceSetDetector differenceSetDetector) {
+		compare(batchA, batchB, differenceSetDetector);
+	}
+
+	private void compare(EncodedBatch batchA, EncodedBatch batchB, DifferenceSetDetector differenceSetDetector) {
+		int columnCount = batchA.getColumnCount();
+		int rowCountA = batchA.getRowCount();
+		int[][] rowsA = batchA.decodeRows();
+		int[][] rowsB = batchB == null ? rowsA : batchB.decodeRows();
+		long pairCount = batchB == null ? (long) rowCountA * (rowCountA - 1) / 2 : (long) rowCountA * batchB.getRowCount();
+
+		long comparedPairs = 0;
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+			PositionListIndex pli = PositionListIndex.create(batchA, batchB, columnIndex);
+			for (int clusterIndex = 0; clusterIndex < pli.getClusterCount(); clusterIndex++) {
+				int[] cluster = pli.getCluster(clusterIndex);
+				// rows of the second batch follow the rows of the first one within the cluster
+				int firstRowB = 0;
+				if (batchB != null) {
+					while (firstRowB < cluster.length && cluster[firstRowB] < rowCountA) firstRowB++;
+				}
+
+				for (int i = 0; i < (batchB == null ? cluster.length : firstRowB); i++) {
+					int[] rowA = rowsA[cluster[i]];
+					for (int k = batchB == null ? i + 1 : firstRowB; k < cluster.length; k++) {
+						int[] rowB = batchB == null ? rowsA[cluster[k]] : rowsB[cluster[k] - rowCountA];
+						if (agreeBefore(rowA, rowB, columnIndex)) continue;
+
+						differenceSetDetector.addDifferenceSet(rowA, rowB);
+						comparedPairs += 1;
+					}
+				}
+			}
+		}
+
+		if (comparedPairs < pairCount) {
+			SerializableBitSet fullSet = new SerializableBitSet(columnCount);
+			fullSet.set(0, columnCount);
+			differenceSetDetector.addDifferenceSet(fullSet);
+		}
+	}
+
+	/**
+	 * @return true if the rows share a value in a column before the given one, so the pair was already compared
+	 */
+	private static boolean agreeBefore(int[] rowA, int[] rowB, int columnIndex) {
+		for (int i = 0; i < columnIndex; i++) {
+			if (rowA[i] == rowB[i]) return true;
+		}
+		return false;
+	}
+}
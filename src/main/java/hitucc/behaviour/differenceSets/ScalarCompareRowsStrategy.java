@@ -0,0 +1,15 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+
+public class ScalarCompareRowsStrategy implements ICompareRowsStrategy {
+	@Override
+	public long[] differenceWords(int[] rowA, int[] rowB) {
+		long[] words = new long[SerializableBitSet.wordCount(rowA.length)];
+		for (int i = 0; i < rowA.length; i++) {
+			int difference = rowA[i] ^ rowB[i];
+			words[i >>> 6] |= (long) ((difference | -difference) >>> 31) << (i & 63);
+		}
+		return words;
+	}
+}
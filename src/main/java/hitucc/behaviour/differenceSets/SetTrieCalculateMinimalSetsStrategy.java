@@ -0,0 +1,129 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+import hitucc.model.SetTrie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Processes the sets in ascending cardinality and keeps the minimal sets found so far in a set-trie. A set is minimal
+ * if the trie contains no subset of it, which only visits the trie paths that run along the set's columns instead of
+ * testing every minimal set.
+ */
+public class SetTrieCalculateMinimalSetsStrategy implements ICalculateMinimalSetsStrategy {
+	static SerializableBitSet[] calculateMinimalSets(Iterable<SerializableBitSet> sets) {
+		SetTrie minimalSetIndex = new SetTrie();
+		List<SerializableBitSet> minimalSets = new ArrayList<>();
+		for (SerializableBitSet set : DifferenceSetRuns.sortByCardinality(sets)) {
+			if (minimalSetIndex.containsSubsetOf(set)) continue;
+			minimalSetIndex.add(set);
+			minimalSets.add(set);
+		}
+		return minimalSets.toArray(new SerializableBitSet[0]);
+	}
+
+	@Override
+	public SerializableBitSet[] calculateMinimalDifferenceSets(Iterable<SerializableBitSet> uniqueSets) {
+		return calculateMinimalSets(uniqueSets);
+	}
+
+	/**
+	 * The old minimal sets are indexed together with the new sets, a separate merge would only test them again.
+	 */
+	@Override
+	public SerializableBitSet[] calculateMinimalDifferenceSets(DifferenceSetDetector differenceSetDetector, Iterable<SerializableBitSet> uniqueSets, SerializableBitSet[] oldMinimalSets) {
+		List<SerializableBitSet> sets = new ArrayList<>(Arrays.asList(oldMinimalSets));
+		for (SerializableBitSet set : uniqueSets) sets.add(set);
+		return calculateMinimalSets(sets);
+	}
+
+	/**
+	 * Single-word sets are indexed in a set-trie over their column bits, a set found again has itself as subset.
+	 */
+	@Override
+	public long[] calculateMinimalDifferenceSets(long[] uniqueSets) {
+		WordSetTrie minimalSetIndex = new WordSetTrie(uniqueSets.length);
+		long[] minimalSets = new long[uniqueSets.length];
+		int minimalCount = 0;
+		for (long set : DifferenceSetRuns.sortByCardinality(uniqueSets)) {
+			if (minimalSetIndex.containsSubsetOf(set)) continue;
+			minimalSetIndex.add(set);
+			minimalSets[minimalCount++] = set;
+		}
+		return Arrays.copyOf(minimalSets, minimalCount);
+	}
+
+	/**
+	 * Set-trie of sets with at most 64 columns. The nodes are kept in arrays, every node has the column it adds to the
+	 * path and a list of children in ascending column order. Node 0 is the root.
+	 */
+	private static class WordSetTrie {
+		private int[] firstChild;
+		private int[] nextSibling;
+		private byte[] column;
+		private boolean[] end;
+		private int nodeCount = 1;
+
+		WordSetTrie(int expectedSets) {
+			int capacity = Math.max(16, expectedSets);
+			firstChild = new int[capacity];
+			nextSibling = new int[capacity];
+			column = new byte[capacity];
+			end = new boolean[capacity];
+			firstChild[0] = -1;
+		}
+
+		void add(long set) {
+			int node = 0;
+			for (long remaining = set; remaining != 0; remaining &= remaining - 1) {
+				node = getOrAddChild(node, Long.numberOfTrailingZeros(remaining));
+			}
+			end[node] = true;
+		}
+
+		boolean containsSubsetOf(long set) {
+			return end[0] || containsSubsetOf(0, set);
+		}
+
+		private boolean containsSubsetOf(int node, long set) {
+			if (set == 0) return false;
+			int lastColumn = Long.SIZE - 1 - Long.numberOfLeadingZeros(set);
+			for (int child = firstChild[node]; child >= 0 && column[child] <= lastColumn; child = nextSibling[child]) {
+				if ((set & (1L << column[child])) == 0) continue;
+				// deeper nodes only add larger columns
+				long largerColumns = column[child] == Long.SIZE - 1 ? 0 : set & (-1L << (column[child] + 1));
+				if (end[child] || containsSubsetOf(child, largerColumns)) return true;
+			}
+			return false;
+		}
+
+		private int getOrAddChild(int node, int childColumn) {
+			int previous = -1;
+			int child = firstChild[node];
+			while (child >= 0 && column[child] < childColumn) {
+				previous = child;
+				child = nextSibling[child];
+			}
+			if (child >= 0 && column[child] == childColumn) return child;
+
+			if (nodeCount == column.length) grow();
+			int newChild = nodeCount++;
+			column[newChild] = (byte) childColumn;
+			firstChild[newChild] = -1;
+			nextSibling[newChild] = child;
+			if (previous < 0) firstChild[node] = newChild;
+			else nextSibling[previous] = newChild;
+			return newChild;
+		}
+
+		private void grow() {
+			int capacity = column.length * 2;
+			firstChild = Arrays.copyOf(firstChild, capacity);
+			nextSibling = Arrays.copyOf(nextSibling, capacity);
+			column = Arrays.copyOf(column, capacity);
+			end = Arrays.copyOf(end, capacity);
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Merges two lists of minimal sets by indexing them in one set-trie, see {@link SetTrieCalculateMinimalSetsStrategy}.
+ */
+public class SetTrieMergeMinimalSetsStrategy implements IMergeMinimalSetsStrategy {
+	@Override
+	public SerializableBitSet[] mergeMinimalDifferenceSets(SerializableBitSet[] setsA, SerializableBitSet[] setsB) {
+		List<SerializableBitSet> sets = new ArrayList<>(setsA.length + setsB.length);
+		sets.addAll(Arrays.asList(setsA));
+		sets.addAll(Arrays.asList(setsB));
+		return SetTrieCalculateMinimalSetsStrategy.calculateMinimalSets(sets);
+	}
+}
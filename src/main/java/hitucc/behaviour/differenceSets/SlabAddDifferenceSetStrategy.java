@@ -0,0 +1,146 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Stores the unique difference sets as fixed width words in one large slab instead of one object per set. An open
+ * addressing index holds the set number of every occupied slot and its cached hash, so probing only compares the words
+ * of sets with the same hash and growing the index never touches the slab.
+ */
+public class SlabAddDifferenceSetStrategy implements IAddDifferenceSetStrategy {
+	private static final int DEFAULT_CAPACITY = 1024;
+	// presizing beyond this is left to growing, as most pairs of a batch share their difference set with another pair
+	private static final int MAX_PRESIZED_SETS = 1 << 18;
+	private static final int FREE = -1;
+
+	private final int wordsPerSet;
+
+	private long[] slab;
+	private int setCount;
+	private int[] slotSets;
+	private int[] slotHashes;
+	private int mask;
+
+	public SlabAddDifferenceSetStrategy(int columns) {
+		this.wordsPerSet = SerializableBitSet.wordCount(Math.max(1, columns));
+		allocate(DEFAULT_CAPACITY);
+	}
+
+	private void allocate(int capacity) {
+		slab = new long[capacity * wordsPerSet];
+		allocateIndex(indexSize(capacity));
+		setCount = 0;
+	}
+
+	private static int indexSize(int capacity) {
+		return Integer.highestOneBit(Math.max(capacity, 4) * 2 - 1) << 1;
+	}
+
+	private void allocateIndex(int size) {
+		slotSets = new int[size];
+		Arrays.fill(slotSets, FREE);
+		slotHashes = new int[size];
+		mask = size - 1;
+	}
+
+	private int hash(SerializableBitSet differenceSet) {
+		long hash = 0;
+		for (int i = 0; i < wordsPerSet; i++) {
+			hash = (hash + differenceSet.getWord(i)) * 0x9E3779B97F4A7C15L;
+		}
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	private boolean equalsSet(int setNumber, SerializableBitSet differenceSet) {
+		int offset = setNumber * wordsPerSet;
+		for (int i = 0; i < wordsPerSet; i++) {
+			if (slab[offset + i] != differenceSet.getWord(i)) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public SerializableBitSet addDifferenceSet(SerializableBitSet differenceSet) {
+		int hash = hash(differenceSet);
+		int slot = hash & mask;
+		while (slotSets[slot] != FREE) {
+			if (slotHashes[slot] == hash && equalsSet(slotSets[slot], differenceSet)) return differenceSet;
+			slot = (slot + 1) & mask;
+		}
+
+		if ((setCount + 1) * wordsPerSet > slab.length) slab = Arrays.copyOf(slab, slab.length * 2);
+		int offset = setCount * wordsPerSet;
+		for (int i = 0; i < wordsPerSet; i++) slab[offset + i] = differenceSet.getWord(i);
+
+		slotSets[slot] = setCount;
+		slotHashes[slot] = hash;
+		setCount += 1;
+		if (setCount * 2 > slotSets.length) growIndex();
+		return differenceSet;
+	}
+
+	private void growIndex() {
+		int[] oldSets = slotSets;
+		int[] oldHashes = slotHashes;
+		allocateIndex(oldSets.length * 2);
+		for (int i = 0; i < oldSets.length; i++) {
+			if (oldSets[i] == FREE) continue;
+			int slot = oldHashes[i] & mask;
+			while (slotSets[slot] != FREE) slot = (slot + 1) & mask;
+			slotSets[slot] = oldSets[i];
+			slotHashes[slot] = oldHashes[i];
+		}
+	}
+
+	@Override
+	public int getCachedDifferenceSetCount() {
+		return setCount;
+	}
+
+	/**
+	 * Iterates the slab in insertion order, every set is copied out of the slab.
+	 */
+	@Override
+	public Iterable<SerializableBitSet> getIterable() {
+		return () -> new Iterator<SerializableBitSet>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < setCount;
+			}
+
+			@Override
+			public SerializableBitSet next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				int offset = (next++) * wordsPerSet;
+				return SerializableBitSet.fromWords(Arrays.copyOfRange(slab, offset, offset + wordsPerSet));
+			}
+		};
+	}
+
+	@Override
+	public void removeDuplicates() {
+
+	}
+
+	@Override
+	public void clearState() {
+		setCount = 0;
+		Arrays.fill(slotSets, FREE);
+	}
+
+	/**
+	 * Presize slab and index for the expected number of difference sets, e.g. the pair count of the next batch pair.
+	 */
+	@Override
+	public void setNeededCapacity(int capacity) {
+		int presized = Math.min(capacity, MAX_PRESIZED_SETS);
+		if (setCount > 0 || presized * wordsPerSet <= slab.length) return;
+		allocate(presized);
+	}
+}
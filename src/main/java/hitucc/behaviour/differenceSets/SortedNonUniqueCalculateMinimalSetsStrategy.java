@@ -3,6 +3,7 @@ package hitucc.behaviour.differenceSets;
 import hitucc.model.SerializableBitSet;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class SortedNonUniqueCalculateMinimalSetsStrategy implements ICalculateMinimalSetsStrategy {
@@ -25,4 +26,14 @@ public class SortedNonUniqueCalculateMinimalSetsStrategy implements ICalculateMi
 	public SerializableBitSet[] calculateMinimalDifferenceSets(DifferenceSetDetector differenceSetDetector, Iterable<SerializableBitSet> uniqueSets, SerializableBitSet[] oldMinimalSets) {
 		return differenceSetDetector.mergeMinimalDifferenceSets(oldMinimalSets, calculateMinimalDifferenceSets(uniqueSets));
 	}
+
+	@Override
+	public long[] calculateMinimalDifferenceSets(long[] uniqueSets) {
+		long[] minimalSets = new long[uniqueSets.length];
+		int minimalCount = 0;
+		for (long set : DifferenceSetRuns.sortByCardinality(uniqueSets)) {
+			if (DifferenceSetDetector.isMinimal(minimalSets, minimalCount, set)) minimalSets[minimalCount++] = set;
+		}
+		return Arrays.copyOf(minimalSets, minimalCount);
+	}
 }
@@ -27,4 +27,14 @@ public class SortingCalculateMinimalSetsStrategy implements ICalculateMinimalSet
 	public SerializableBitSet[] calculateMinimalDifferenceSets(DifferenceSetDetector differenceSetDetector, Iterable<SerializableBitSet> uniqueSets, SerializableBitSet[] oldMinimalSets) {
 		return differenceSetDetector.mergeMinimalDifferenceSets(oldMinimalSets, calculateMinimalDifferenceSets(uniqueSets));
 	}
+
+	@Override
+	public long[] calculateMinimalDifferenceSets(long[] uniqueSets) {
+		long[] minimalSets = new long[uniqueSets.length];
+		int minimalCount = 0;
+		for (long set : DifferenceSetRuns.sortByCardinality(uniqueSets)) {
+			if (DifferenceSetDetector.isMinimal(minimalSets, minimalCount, set)) minimalSets[minimalCount++] = set;
+		}
+		return Arrays.copyOf(minimalSets, minimalCount);
+	}
 }
@@ -0,0 +1,90 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Buffers the difference sets in another add strategy and spills its content to a temporary run on disk whenever the
+ * memory governor reports heap pressure. Once something was spilled, the minimization streams a merge over all runs,
+ * see {@link ICalculateMinimalSetsStrategy#calculateMinimalDifferenceSets(DifferenceSetRuns, SerializableBitSet[])}.
+ */
+public class SpillingAddDifferenceSetStrategy implements IAddDifferenceSetStrategy {
+	private static final int CHECK_INTERVAL = 1 << 14;
+	// spilling fewer sets does not free enough memory to be worth a run
+	private static final int MIN_SPILLED_SETS = 10000;
+
+	private final IAddDifferenceSetStrategy buffer;
+	private final MemoryGovernor memoryGovernor;
+	private final DifferenceSetRuns runs;
+	private int addsUntilCheck = CHECK_INTERVAL;
+	private boolean bufferInRuns = false;
+
+	public SpillingAddDifferenceSetStrategy(IAddDifferenceSetStrategy buffer, int columns, MemoryGovernor memoryGovernor) {
+		this.buffer = buffer;
+		this.memoryGovernor = memoryGovernor;
+		this.runs = new DifferenceSetRuns(columns);
+	}
+
+	@Override
+	public SerializableBitSet addDifferenceSet(SerializableBitSet differenceSet) {
+		buffer.addDifferenceSet(differenceSet);
+		if (--addsUntilCheck == 0) {
+			addsUntilCheck = CHECK_INTERVAL;
+			if (buffer.getCachedDifferenceSetCount() >= MIN_SPILLED_SETS && memoryGovernor.isUnderPressure()) spill();
+		}
+		return differenceSet;
+	}
+
+	public void spill() {
+		buffer.removeDuplicates();
+		try {
+			runs.spill(buffer.getIterable());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not spill difference sets", e);
+		}
+		buffer.clearState();
+	}
+
+	@Override
+	public int getCachedDifferenceSetCount() {
+		return (int) Math.min(Integer.MAX_VALUE, buffer.getCachedDifferenceSetCount() + runs.getSpilledSetCount());
+	}
+
+	@Override
+	public Iterable<SerializableBitSet> getIterable() {
+		return buffer.getIterable();
+	}
+
+	/**
+	 * The buffered sets are added once as a sorted run in memory, so the runs cover all sets added so far.
+	 */
+	@Override
+	public DifferenceSetRuns getSpilledRuns() {
+		if (runs.isEmpty()) return null;
+		if (!bufferInRuns) {
+			buffer.removeDuplicates();
+			runs.addMemoryRun(DifferenceSetRuns.sortByCardinality(buffer.getIterable()));
+			bufferInRuns = true;
+		}
+		return runs;
+	}
+
+	@Override
+	public void removeDuplicates() {
+		buffer.removeDuplicates();
+	}
+
+	@Override
+	public void clearState() {
+		buffer.clearState();
+		runs.clear();
+		bufferInRuns = false;
+	}
+
+	@Override
+	public void setNeededCapacity(int capacity) {
+		buffer.setNeededCapacity(capacity);
+	}
+}
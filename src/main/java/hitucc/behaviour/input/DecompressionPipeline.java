@@ -0,0 +1,157 @@
+package hitucc.behaviour.input;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Input stream that decompresses a gzip or zstd file on its own thread. The decompressed bytes are handed to the
+ * reading thread through a bounded queue of blocks, so decompression overlaps with parsing without buffering the
+ * whole file. The format is detected by the magic bytes of the file.
+ */
+public class DecompressionPipeline extends InputStream {
+	public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+	public static final int DEFAULT_QUEUED_BLOCKS = 8;
+
+	private static final byte[] GZIP_MAGIC = new byte[]{(byte) 0x1f, (byte) 0x8b};
+	private static final byte[] ZSTD_MAGIC = new byte[]{(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd};
+	private static final byte[] END_OF_STREAM = new byte[0];
+
+	public enum Compression {
+		NONE,
+		GZIP,
+		ZSTD
+	}
+
+	private final BlockingQueue<byte[]> blocks;
+	private final Thread decompressionThread;
+	private volatile IOException failure;
+
+	private byte[] currentBlock = new byte[0];
+	private int position;
+	private boolean finished;
+
+	private DecompressionPipeline(InputStream decompressedInput, int blockSize, int queuedBlocks) {
+		blocks = new ArrayBlockingQueue<>(queuedBlocks);
+		decompressionThread = new Thread(() -> decompress(decompressedInput, blockSize), "decompression");
+		decompressionThread.setDaemon(true);
+		decompressionThread.start();
+	}
+
+	public static Compression detectCompression(String path) throws IOException {
+		byte[] head = new byte[ZSTD_MAGIC.length];
+		int length;
+		try (InputStream input = new FileInputStream(path)) {
+			length = input.read(head);
+		}
+
+		if (startsWith(head, length, GZIP_MAGIC)) return Compression.GZIP;
+		if (startsWith(head, length, ZSTD_MAGIC)) return Compression.ZSTD;
+		return Compression.NONE;
+	}
+
+	private static boolean startsWith(byte[] head, int length, byte[] magic) {
+		return length >= magic.length && Arrays.equals(Arrays.copyOf(head, magic.length), magic);
+	}
+
+	/**
+	 * Open the file as a stream of its decompressed content. Uncompressed files are read directly.
+	 */
+	public static InputStream open(String path) throws IOException {
+		return open(path, DEFAULT_BLOCK_SIZE, DEFAULT_QUEUED_BLOCKS);
+	}
+
+	public static InputStream open(String path, int blockSize, int queuedBlocks) throws IOException {
+		Compression compression = detectCompression(path);
+		InputStream file = new BufferedInputStream(new FileInputStream(path), blockSize);
+		switch (compression) {
+			case GZIP:
+				return new DecompressionPipeline(new GZIPInputStream(file, blockSize), blockSize, queuedBlocks);
+			case ZSTD:
+				return new DecompressionPipeline(new ZstdInputStream(file), blockSize, queuedBlocks);
+			case NONE:
+			default:
+				return file;
+		}
+	}
+
+	private void decompress(InputStream input, int blockSize) {
+		try (InputStream in = input) {
+			while (true) {
+				byte[] block = new byte[blockSize];
+				int length = 0;
+				int read;
+				while (length < blockSize && (read = in.read(block, length, blockSize - length)) != -1) {
+					length += read;
+				}
+				if (length > 0) blocks.put(length == blockSize ? block : Arrays.copyOf(block, length));
+				if (length < blockSize) break;
+			}
+		} catch (IOException e) {
+			failure = e;
+		} catch (InterruptedException e) {
+			return;
+		}
+
+		try {
+			blocks.put(END_OF_STREAM);
+		} catch (InterruptedException ignored) {
+		}
+	}
+
+	private boolean nextBlock() throws IOException {
+		if (finished) return false;
+		try {
+			currentBlock = blocks.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+		}
+		position = 0;
+
+		if (currentBlock == END_OF_STREAM) {
+			finished = true;
+			if (failure != null) throw new IOException("Could not decompress input", failure);
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (position == currentBlock.length && !nextBlock()) return -1;
+		return currentBlock[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		if (length == 0) return 0;
+		if (position == currentBlock.length && !nextBlock()) return -1;
+
+		int count = Math.min(length, currentBlock.length - position);
+		System.arraycopy(currentBlock, position, buffer, offset, count);
+		position += count;
+		return count;
+	}
+
+	/**
+	 * Waits for the next block if the current one is consumed. The csv reader treats a stream that is not ready as
+	 * closed, so this must only return 0 at the end of the stream.
+	 */
+	@Override
+	public int available() throws IOException {
+		if (position == currentBlock.length && !nextBlock()) return 0;
+		return currentBlock.length - position;
+	}
+
+	@Override
+	public void close() {
+		finished = true;
+		decompressionThread.interrupt();
+		blocks.clear();
+	}
+}
@@ -0,0 +1,241 @@
+package hitucc.behaviour.input;
+
+import com.opencsv.CSVReader;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Reads a csv file by memory-mapping it and parsing newline aligned chunks of it in parallel.
+ * The chunk boundaries are found in two passes: every fixed size range of the file is scanned in parallel for its
+ * quote parity and its first newline for both possible quoting states, then the real record boundaries are resolved
+ * sequentially from these summaries. A boundary therefore never splits a quoted value that contains a newline.
+ */
+public class MappedCsvReader {
+	public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+	private static final int MAX_CHUNKS_IN_FLIGHT_PER_THREAD = 2;
+	private static final byte NEW_LINE = '\n';
+
+	private final String path;
+	private final char delimiter;
+	private final boolean hasHeader;
+	private final char quoteCharacter;
+	private final char escapeCharacter;
+	private final int threads;
+	private final int chunkSize;
+	private final Charset charset = Charset.defaultCharset();
+
+	public MappedCsvReader(String path, char delimiter, boolean hasHeader, char quoteCharacter, char escapeCharacter) {
+		this(path, delimiter, hasHeader, quoteCharacter, escapeCharacter, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+	}
+
+	public MappedCsvReader(String path, char delimiter, boolean hasHeader, char quoteCharacter, char escapeCharacter, int threads, int chunkSize) {
+		this.path = path;
+		this.delimiter = delimiter;
+		this.hasHeader = hasHeader;
+		this.quoteCharacter = quoteCharacter;
+		this.escapeCharacter = escapeCharacter;
+		this.threads = Math.max(1, threads);
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * Mapping bytes to quote states only works for single byte quote and escape characters.
+	 */
+	public static boolean supports(char delimiter, char quoteCharacter, char escapeCharacter) {
+		return delimiter < 128 && quoteCharacter < 128 && escapeCharacter < 128;
+	}
+
+	/**
+	 * Read all records of the file in file order. Records with another column count than the first record are skipped.
+	 */
+	public List<String[]> readAll() throws IOException {
+		List<String[]> records = new ArrayList<>();
+		read(records::addAll);
+		return records;
+	}
+
+	/**
+	 * Stream the records of the file in file order to the consumer, one parsed chunk at a time. Only a bounded number
+	 * of parsed chunks is kept in memory. Records with another column count than the first record are skipped.
+	 */
+	public void read(Consumer<List<String[]>> rowBlockConsumer) throws IOException {
+		read(0, Long.MAX_VALUE, rowBlockConsumer);
+	}
+
+	/**
+	 * Stream the records between the given byte offsets like {@link #read(Consumer)}. The start offset has to be the
+	 * beginning of a record, e.g. one of the offsets returned by {@link #findSliceBoundaries(int)}. The header is only
+	 * skipped if the range starts at the beginning of the file.
+	 */
+	public void read(long start, long end, Consumer<List<String[]>> rowBlockConsumer) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			long[] boundaries = findRecordBoundaries(channel, executor, start, Math.min(end, channel.size()), chunkSize);
+			int chunkCount = boundaries.length - 1;
+
+			Deque<Future<List<String[]>>> parsedChunks = new ArrayDeque<>();
+			int nextChunk = 0;
+			int columnCount = -1;
+			while (nextChunk < chunkCount || !parsedChunks.isEmpty()) {
+				while (nextChunk < chunkCount && parsedChunks.size() < MAX_CHUNKS_IN_FLIGHT_PER_THREAD * threads) {
+					final int chunkIndex = nextChunk;
+					parsedChunks.add(executor.submit(() -> parseChunk(channel, boundaries[chunkIndex], boundaries[chunkIndex + 1], boundaries[chunkIndex] == 0 && hasHeader)));
+					nextChunk += 1;
+				}
+
+				List<String[]> records = await(parsedChunks.removeFirst());
+				if (columnCount == -1 && !records.isEmpty()) columnCount = records.get(0).length;
+
+				List<String[]> validRecords = new ArrayList<>(records.size());
+				for (String[] values : records) {
+					if (values.length != columnCount) {
+						System.out.println("Skip Line!");
+						continue;
+					}
+					validRecords.add(values);
+				}
+				if (!validRecords.isEmpty()) rowBlockConsumer.accept(validRecords);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Split the file into at most sliceCount record aligned byte ranges of about the same size, e.g. to let several
+	 * nodes read one range each.
+	 *
+	 * @return sorted byte offsets where the slices start, the first one is 0 and the last one is the file size
+	 */
+	public long[] findSliceBoundaries(int sliceCount) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			long size = channel.size();
+			long sliceSize = Math.max(1, (size + sliceCount - 1) / sliceCount);
+			return findRecordBoundaries(channel, executor, 0, size, sliceSize);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return sorted byte offsets where records start, the first one is start and the last one is end
+	 */
+	long[] findRecordBoundaries(FileChannel channel, ExecutorService executor, long start, long end, long rangeSize) throws IOException {
+		int rangeCount = (int) ((end - start + rangeSize - 1) / rangeSize);
+
+		List<Future<RangeSummary>> summaries = new ArrayList<>();
+		for (int i = 0; i < rangeCount; i++) {
+			long rangeStart = start + i * rangeSize;
+			long rangeEnd = Math.min(end, rangeStart + rangeSize);
+			summaries.add(executor.submit(() -> summarize(channel, rangeStart, rangeEnd)));
+		}
+
+		List<Long> boundaries = new ArrayList<>();
+		boundaries.add(start);
+		boolean insideQuotes = false;
+		for (int i = 0; i < rangeCount; i++) {
+			RangeSummary summary = await(summaries.get(i));
+			long newLine = insideQuotes ? summary.firstNewLineOddQuotes : summary.firstNewLineEvenQuotes;
+			if (i > 0 && newLine >= 0 && newLine + 1 < end) {
+				boundaries.add(newLine + 1);
+			}
+			insideQuotes ^= summary.oddQuotes;
+		}
+		if (end > start) boundaries.add(end);
+
+		long[] result = new long[boundaries.size()];
+		for (int i = 0; i < result.length; i++) result[i] = boundaries.get(i);
+		return result;
+	}
+
+	private RangeSummary summarize(FileChannel channel, long start, long end) throws IOException {
+		long mappedStart = Math.max(0, start - 1);
+		long mappedEnd = Math.min(channel.size(), end + 1);
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mappedStart, mappedEnd - mappedStart);
+
+		byte quote = (byte) quoteCharacter;
+		byte escape = (byte) escapeCharacter;
+		RangeSummary summary = new RangeSummary();
+
+		int position = (int) (start - mappedStart);
+		int limit = (int) (end - mappedStart);
+		if (position > 0 && buffer.get(position - 1) == escape && isEscapable(buffer.get(position), quote, escape)) {
+			position += 1;
+		}
+
+		boolean oddQuotes = false;
+		for (; position < limit; position++) {
+			byte value = buffer.get(position);
+			if (value == escape && position + 1 < buffer.limit() && isEscapable(buffer.get(position + 1), quote, escape)) {
+				position += 1;
+			} else if (value == quote) {
+				oddQuotes = !oddQuotes;
+			} else if (value == NEW_LINE) {
+				if (oddQuotes) {
+					if (summary.firstNewLineOddQuotes < 0) summary.firstNewLineOddQuotes = mappedStart + position;
+				} else {
+					if (summary.firstNewLineEvenQuotes < 0) summary.firstNewLineEvenQuotes = mappedStart + position;
+				}
+			}
+		}
+		summary.oddQuotes = oddQuotes;
+		return summary;
+	}
+
+	private static boolean isEscapable(byte value, byte quote, byte escape) {
+		return value == quote || value == escape;
+	}
+
+	private List<String[]> parseChunk(FileChannel channel, long start, long end, boolean skipHeader) throws IOException {
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+		CharBuffer characters = charset.decode(buffer);
+
+		Reader reader = characters.hasArray()
+				? new CharArrayReader(characters.array(), characters.arrayOffset() + characters.position(), characters.remaining())
+				: new StringReader(characters.toString());
+
+		List<String[]> records = new ArrayList<>();
+		try (CSVReader csvReader = new CSVReader(reader, delimiter, quoteCharacter, escapeCharacter, skipHeader ? 1 : 0)) {
+			String[] values;
+			while ((values = csvReader.readNext()) != null) {
+				records.add(values);
+			}
+		}
+		return records;
+	}
+
+	private static <T> T await(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while reading csv chunks", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private static class RangeSummary {
+		private long firstNewLineEvenQuotes = -1;
+		private long firstNewLineOddQuotes = -1;
+		private boolean oddQuotes;
+	}
+}
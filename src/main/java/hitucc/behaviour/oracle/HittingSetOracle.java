@@ -1,7 +1,9 @@
 package hitucc.behaviour.oracle;
 
 import hitucc.model.SerializableBitSet;
+import hitucc.model.TreeTask;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -96,8 +98,43 @@ public class HittingSetOracle {
 		return Status.NOT_EXTENDABLE;
 	}
 
+	/**
+	 * Enumerate all minimal hitting sets of the difference sets on the calling thread with the tree search that the
+	 * tree search workers run distributed.
+	 */
+	public static List<SerializableBitSet> minimalHittingSets(SerializableBitSet[] differenceSets, int numAttributes) {
+		List<SerializableBitSet> hittingSets = new ArrayList<>();
+		ArrayDeque<TreeTask> stack = new ArrayDeque<>();
+		stack.add(new TreeTask(new SerializableBitSet(numAttributes), new SerializableBitSet(numAttributes), 0, numAttributes));
+		while (!stack.isEmpty()) {
+			TreeTask task = stack.removeLast();
+			SerializableBitSet x = task.getX();
+			SerializableBitSet y = task.getY();
+			int length = task.getLength();
+			switch (extendable(x, y, length, differenceSets, numAttributes)) {
+				case MINIMAL:
+					hittingSets.add(x);
+					break;
+				case EXTENDABLE:
+					if (length < numAttributes) {
+						SerializableBitSet xNew = copy(x);
+						xNew.set(length);
+						stack.add(new TreeTask(xNew, y, length + 1, numAttributes));
+
+						SerializableBitSet yNew = copy(y);
+						yNew.set(length);
+						stack.add(new TreeTask(x, yNew, length + 1, numAttributes));
+					}
+					break;
+				case NOT_EXTENDABLE:
+					break;
+			}
+		}
+		return hittingSets;
+	}
+
 	private static boolean isSubsetOf(SerializableBitSet included, SerializableBitSet in) {
-		return included.cardinality() == intersect(included, in).cardinality();
+		return included.isSubsetOf(in);
 	}
 
 	private static SerializableBitSet or(SerializableBitSet lhs, SerializableBitSet rhs) {
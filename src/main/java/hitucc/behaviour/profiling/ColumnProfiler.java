@@ -0,0 +1,123 @@
+package hitucc.behaviour.profiling;
+
+import hitucc.behaviour.dictionary.IColumn;
+import hitucc.model.ColumnProfile;
+import hitucc.model.EncodedTable;
+
+import java.util.Arrays;
+
+/**
+ * Profiles the columns of an encoded table in one pass per column. Every column is renumbered by the first occurrence
+ * of its codes, which yields its distinct value count and a hash of the partition it induces on the rows. Columns with
+ * equal count and hash are compared exactly afterwards.
+ */
+public class ColumnProfiler {
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private ColumnProfiler() {
+	}
+
+	public static ColumnProfile profile(EncodedTable table) {
+		int columnCount = table.getColumnCount();
+		int rowCount = table.getRowCount();
+		int[] distinctCounts = new int[columnCount];
+		long[] partitionHashes = new long[columnCount];
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+			IColumn column = table.getColumn(columnIndex);
+			int[] firstOccurrence = new int[maxCode(column, rowCount) + 1];
+			Arrays.fill(firstOccurrence, -1);
+
+			int distinctCount = 0;
+			long hash = 0;
+			for (int row = 0; row < rowCount; row++) {
+				int code = column.getValue(row);
+				if (firstOccurrence[code] == -1) {
+					firstOccurrence[code] = distinctCount;
+					distinctCount += 1;
+				}
+				hash = (hash ^ firstOccurrence[code]) * HASH_MULTIPLIER;
+				hash ^= hash >>> 29;
+			}
+			distinctCounts[columnIndex] = distinctCount;
+			partitionHashes[columnIndex] = hash;
+		}
+
+		int[] representatives = new int[columnCount];
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+			representatives[columnIndex] = columnIndex;
+			if (distinctCounts[columnIndex] == rowCount) {
+				representatives[columnIndex] = ColumnProfile.KEY_COLUMN;
+			} else if (distinctCounts[columnIndex] <= 1) {
+				representatives[columnIndex] = ColumnProfile.CONSTANT_COLUMN;
+			} else {
+				for (int other = 0; other < columnIndex; other++) {
+					if (representatives[other] == other && distinctCounts[other] == distinctCounts[columnIndex] && partitionHashes[other] == partitionHashes[columnIndex]
+							&& samePartition(table.getColumn(other), table.getColumn(columnIndex), rowCount)) {
+						representatives[columnIndex] = other;
+						break;
+					}
+				}
+			}
+		}
+		return create(representatives);
+	}
+
+	/**
+	 * Profile the columns by their value counts only, e.g. if the rows are spread over several nodes. This finds
+	 * constant and key columns but no columns with equal partitions.
+	 */
+	public static ColumnProfile profile(int[] valueCounts, int rowCount) {
+		int[] representatives = new int[valueCounts.length];
+		for (int columnIndex = 0; columnIndex < valueCounts.length; columnIndex++) {
+			if (valueCounts[columnIndex] == rowCount) representatives[columnIndex] = ColumnProfile.KEY_COLUMN;
+			else if (valueCounts[columnIndex] <= 1) representatives[columnIndex] = ColumnProfile.CONSTANT_COLUMN;
+			else representatives[columnIndex] = columnIndex;
+		}
+		return create(representatives);
+	}
+
+	/**
+	 * The search needs at least one column, otherwise every column is searched.
+	 */
+	private static ColumnProfile create(int[] representatives) {
+		int searchColumnCount = 0;
+		for (int columnIndex = 0; columnIndex < representatives.length; columnIndex++) {
+			if (representatives[columnIndex] == columnIndex) searchColumnCount += 1;
+		}
+		if (searchColumnCount == 0) return ColumnProfile.identity(representatives.length);
+
+		int[] searchColumns = new int[searchColumnCount];
+		int index = 0;
+		for (int columnIndex = 0; columnIndex < representatives.length; columnIndex++) {
+			if (representatives[columnIndex] == columnIndex) searchColumns[index++] = columnIndex;
+		}
+		return new ColumnProfile(representatives, searchColumns);
+	}
+
+	private static int maxCode(IColumn column, int rowCount) {
+		int maxCode = -1;
+		for (int row = 0; row < rowCount; row++) maxCode = Math.max(maxCode, column.getValue(row));
+		return maxCode;
+	}
+
+	/**
+	 * @return true if the codes of both columns map one-to-one onto each other
+	 */
+	private static boolean samePartition(IColumn columnA, IColumn columnB, int rowCount) {
+		int[] mappingA = new int[maxCode(columnA, rowCount) + 1];
+		int[] mappingB = new int[maxCode(columnB, rowCount) + 1];
+		Arrays.fill(mappingA, -1);
+		Arrays.fill(mappingB, -1);
+		for (int row = 0; row < rowCount; row++) {
+			int codeA = columnA.getValue(row);
+			int codeB = columnB.getValue(row);
+			if (mappingA[codeA] == -1 && mappingB[codeB] == -1) {
+				mappingA[codeA] = codeB;
+				mappingB[codeB] = codeA;
+			} else if (mappingA[codeA] != codeB || mappingB[codeB] != codeA) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
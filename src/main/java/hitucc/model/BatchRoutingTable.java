@@ -20,6 +20,16 @@ public class BatchRoutingTable {
 		r = new Random();
 	}
 
+	public BatchRoutingTable(ActorRef[] batchOwners) {
+		routingTable = new List[batchOwners.length];
+		for(int i = 0; i < batchOwners.length; i += 1) {
+			routingTable[i] = new ArrayList<>();
+			routingTable[i].add(batchOwners[i]);
+		}
+
+		r = new Random();
+	}
+
 	public List<ActorRef> getRoutesForBatch(int batchIdentifier) {
 		return routingTable[batchIdentifier];
 	}
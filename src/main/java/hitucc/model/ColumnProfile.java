@@ -0,0 +1,126 @@
+package hitucc.model;
+
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of profiling the columns before phase one. Constant columns are part of no minimal UCC and key columns are
+ * minimal UCCs on their own, so both are left out of the search. Of all columns that induce the same partition of the
+ * rows only one representative is searched. The UCCs found over the searched columns are expanded back to the
+ * original columns at the end.
+ */
+@NoArgsConstructor(force = true)
+public class ColumnProfile implements Serializable {
+	public static final int CONSTANT_COLUMN = -1;
+	public static final int KEY_COLUMN = -2;
+	private static final long serialVersionUID = 6120356841127993045L;
+
+	private final int[] representatives;
+	private final int[] searchColumns;
+
+	/**
+	 * @param representatives for every original column {@link #CONSTANT_COLUMN}, {@link #KEY_COLUMN} or the column that represents it in the search
+	 * @param searchColumns   the original column of every column of the search
+	 */
+	public ColumnProfile(int[] representatives, int[] searchColumns) {
+		this.representatives = representatives;
+		this.searchColumns = searchColumns;
+	}
+
+	/**
+	 * @return a profile that searches every column
+	 */
+	public static ColumnProfile identity(int columnCount) {
+		int[] columns = new int[columnCount];
+		for (int i = 0; i < columnCount; i++) columns[i] = i;
+		return new ColumnProfile(columns, columns.clone());
+	}
+
+	/**
+	 * @return the same profile with the search columns in the given order
+	 */
+	public ColumnProfile withSearchColumns(int[] searchColumns) {
+		return new ColumnProfile(representatives, searchColumns);
+	}
+
+	public int getColumnCount() {
+		return representatives.length;
+	}
+
+	public int getRepresentative(int column) {
+		return representatives[column];
+	}
+
+	public boolean isSearched(int column) {
+		return representatives[column] == column;
+	}
+
+	public int[] getSearchColumns() {
+		return searchColumns;
+	}
+
+	public int[] getKeyColumns() {
+		return columnsRepresentedBy(KEY_COLUMN);
+	}
+
+	public int[] getConstantColumns() {
+		return columnsRepresentedBy(CONSTANT_COLUMN);
+	}
+
+	/**
+	 * @return all original columns with the given representative
+	 */
+	public int[] columnsRepresentedBy(int representative) {
+		int count = 0;
+		for (int r : representatives) {
+			if (r == representative) count += 1;
+		}
+
+		int[] columns = new int[count];
+		int index = 0;
+		for (int column = 0; column < representatives.length; column++) {
+			if (representatives[column] == representative) columns[index++] = column;
+		}
+		return columns;
+	}
+
+	/**
+	 * Expand UCCs over the search columns to all UCCs over the original columns: every single key column and every
+	 * combination of columns that are represented by the columns of a found UCC.
+	 */
+	public List<SerializableBitSet> expand(List<SerializableBitSet> searchUCCs) {
+		List<SerializableBitSet> uccs = new ArrayList<>();
+		for (int keyColumn : getKeyColumns()) {
+			SerializableBitSet ucc = new SerializableBitSet(representatives.length);
+			ucc.set(keyColumn);
+			uccs.add(ucc);
+		}
+
+		int[][] represented = new int[searchColumns.length][];
+		for (int i = 0; i < searchColumns.length; i++) represented[i] = columnsRepresentedBy(searchColumns[i]);
+
+		for (SerializableBitSet searchUCC : searchUCCs) {
+			List<int[]> choices = new ArrayList<>();
+			for (int i = searchUCC.nextSetBit(0); i >= 0 && i < searchColumns.length; i = searchUCC.nextSetBit(i + 1)) {
+				choices.add(represented[i]);
+			}
+			expand(choices, 0, new SerializableBitSet(representatives.length), uccs);
+		}
+		return uccs;
+	}
+
+	private void expand(List<int[]> choices, int index, SerializableBitSet current, List<SerializableBitSet> uccs) {
+		if (index == choices.size()) {
+			uccs.add(current.clone());
+			return;
+		}
+		for (int column : choices.get(index)) {
+			current.set(column);
+			expand(choices, index + 1, current, uccs);
+			current.clear(column);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package hitucc.model;
+
+import hitucc.HitUCCApp;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+public class CsvInput implements Serializable {
+	private static final long serialVersionUID = 3102528447108731635L;
+	private String path;
+	private char delimiter;
+	private boolean skipHeader;
+	private char quoteCharacter;
+	private char escapeCharacter;
+	private HitUCCApp.DictionaryEncodingStrategy encodingStrategy;
+}
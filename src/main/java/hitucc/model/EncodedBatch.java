@@ -0,0 +1,101 @@
+package hitucc.model;
+
+import hitucc.behaviour.dictionary.IColumn;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Column-major batch of encoded rows. Every column keeps the value width of the column it was taken from.
+ */
+@NoArgsConstructor(force = true)
+public class EncodedBatch implements Serializable {
+	private static final long serialVersionUID = 5263072749130184712L;
+
+	private final IColumn[] columns;
+	private final int rowCount;
+
+	public EncodedBatch(IColumn[] columns, int rowCount) {
+		this.columns = columns;
+		this.rowCount = rowCount;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public int getColumnCount() {
+		return columns.length;
+	}
+
+	public IColumn getColumn(int columnIndex) {
+		return columns[columnIndex];
+	}
+
+	public int getValue(int rowIndex, int columnIndex) {
+		return columns[columnIndex].getValue(rowIndex);
+	}
+
+	/**
+	 * Decode all rows of the batch, e.g. for comparing them with each other.
+	 */
+	public int[][] decodeRows() {
+		int[][] rows = new int[rowCount][columns.length];
+		for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+			IColumn column = columns[columnIndex];
+			for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+				rows[rowIndex][columnIndex] = column.getValue(rowIndex);
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Decode all columns of the batch into one int array per column.
+	 */
+	public int[][] decodeColumns() {
+		int[][] decodedColumns = new int[columns.length][rowCount];
+		for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+			IColumn column = columns[columnIndex];
+			int[] decodedColumn = decodedColumns[columnIndex];
+			for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+				decodedColumn[rowIndex] = column.getValue(rowIndex);
+			}
+		}
+		return decodedColumns;
+	}
+
+	/**
+	 * @return an empty batch for rowCount rows with the same column widths
+	 */
+	public EncodedBatch createEmpty(int rowCount) {
+		IColumn[] emptyColumns = new IColumn[columns.length];
+		for (int i = 0; i < columns.length; i++) emptyColumns[i] = columns[i].createEmpty(rowCount);
+		return new EncodedBatch(emptyColumns, rowCount);
+	}
+
+	public EncodedBatch slice(int fromRow, int toRow) {
+		EncodedBatch slice = createEmpty(toRow - fromRow);
+		for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+			IColumn source = columns[columnIndex];
+			IColumn target = slice.columns[columnIndex];
+			for (int rowIndex = fromRow; rowIndex < toRow; rowIndex++) {
+				target.setValue(rowIndex - fromRow, source.getValue(rowIndex));
+			}
+		}
+		return slice;
+	}
+
+	/**
+	 * Copy all rows of the other batch into this batch, starting at the given row.
+	 */
+	public void copyRows(EncodedBatch other, int toRow) {
+		for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+			IColumn source = other.columns[columnIndex];
+			IColumn target = columns[columnIndex];
+			for (int rowIndex = 0; rowIndex < other.rowCount; rowIndex++) {
+				target.setValue(toRow + rowIndex, source.getValue(rowIndex));
+			}
+		}
+	}
+}
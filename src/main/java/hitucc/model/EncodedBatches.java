@@ -1,55 +1,39 @@
 package hitucc.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class EncodedBatches {
-	private final EncodedRow[][] batches;
+	private final EncodedBatch[] batches;
 	private final boolean[] loading;
 	private final int[] batchSizes;
 	private final int[] insertIndex;
 
 	public EncodedBatches(int batchCount, final int[] batchSizes) {
-		batches = new EncodedRow[batchCount][];
+		batches = new EncodedBatch[batchCount];
 		loading = new boolean[batchCount];
 		insertIndex = new int[batchCount];
-		for (int i = 0; i < batchCount; i++) {
-			batches[i] = new EncodedRow[batchSizes[i]];
-			insertIndex[i] = 0;
-		}
 		this.batchSizes = batchSizes;
 	}
 
-	public void setBatch(int identifier, EncodedRow[] batch) {
+	public void setBatch(int identifier, EncodedBatch batch) {
 		batches[identifier] = batch;
-		insertIndex[identifier] = batch.length;
+		insertIndex[identifier] = batch.getRowCount();
 	}
 
-	public void addToBatch(int identifier, EncodedRow row) {
-		batches[identifier][insertIndex[identifier]] = row;
-		insertIndex[identifier] += 1;
-	}
-
-	public void addToBatch(int identifier, List<EncodedRow> batch) {
-		for(int k = 0; k < batch.size(); k++) {
-			batches[identifier][insertIndex[identifier] + k] = batch.get(k);
+	public void addToBatch(int identifier, EncodedBatch split) {
+		if (insertIndex[identifier] == 0 && split.getRowCount() == batchSizes[identifier]) {
+			setBatch(identifier, split);
+			return;
 		}
-		insertIndex[identifier] += batch.size();
-	}
 
-	public void addToBatch(int identifier, EncodedRow[] batch) {
-//		for(int k = 0; k < batch.length; k++) {
-//			batches[identifier][insertIndex[identifier] + k] = batch[k];
-//		}
-		System.arraycopy(batch, 0, batches[identifier], insertIndex[identifier], batch.length);
-		insertIndex[identifier] += batch.length;
+		if (batches[identifier] == null) batches[identifier] = split.createEmpty(batchSizes[identifier]);
+		batches[identifier].copyRows(split, insertIndex[identifier]);
+		insertIndex[identifier] += split.getRowCount();
 	}
 
 	public boolean hasBatch(int identifier) {
 		return insertIndex[identifier] == batchSizes[identifier];
 	}
 
-	public EncodedRow[] getBatch(int identifier) {
+	public EncodedBatch getBatch(int identifier) {
 		return batches[identifier];
 	}
 
@@ -79,7 +63,7 @@ public class EncodedBatches {
 
 	public void updateBatchSizes() {
 		for(int i = 0; i < batchSizes.length; i++) {
-			batchSizes[i] = batches[i].length;
+			batchSizes[i] = batches[i].getRowCount();
 		}
 	}
 }
@@ -0,0 +1,77 @@
+package hitucc.model;
+
+import hitucc.behaviour.dictionary.IColumn;
+
+import java.util.List;
+
+/**
+ * A dictionary encoded table: one column of codes per attribute and the dictionary the codes refer to.
+ */
+public class EncodedTable {
+	private final IColumn[] columns;
+	private final List<String>[] dictionaries;
+	private final int rowCount;
+
+	public EncodedTable(IColumn[] columns, List<String>[] dictionaries, int rowCount) {
+		this.columns = columns;
+		this.dictionaries = dictionaries;
+		this.rowCount = rowCount;
+	}
+
+	public IColumn getColumn(int columnIndex) {
+		return columns[columnIndex];
+	}
+
+	public List<String> getDictionary(int columnIndex) {
+		return dictionaries[columnIndex];
+	}
+
+	public int getColumnCount() {
+		return columns.length;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @return the number of codes behind the dictionary codes of the column, which belong to unique null values
+	 */
+	public int getNullValueCount(int columnIndex) {
+		int maxCode = -1;
+		for (int row = 0; row < rowCount; row++) maxCode = Math.max(maxCode, columns[columnIndex].getValue(row));
+		return Math.max(0, maxCode + 1 - dictionaries[columnIndex].size());
+	}
+
+	/**
+	 * @return the table with the codes of every column translated, e.g. from slice local codes to global codes
+	 */
+	public EncodedTable translate(int[][] translation, int[] valueCounts) {
+		IColumn[] translatedColumns = new IColumn[columns.length];
+		for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+			IColumn column = columns[columnIndex];
+			IColumn translatedColumn = IColumn.create(rowCount, valueCounts[columnIndex]);
+			for (int row = 0; row < rowCount; row++) {
+				translatedColumn.setValue(row, translation[columnIndex][column.getValue(row)]);
+			}
+			translatedColumns[columnIndex] = translatedColumn;
+		}
+		return new EncodedTable(translatedColumns, new List[columns.length], rowCount);
+	}
+
+	/**
+	 * @return a table with only the given rows in the given order and the same dictionaries
+	 */
+	public EncodedTable selectRows(int[] rowIndices) {
+		IColumn[] selectedColumns = new IColumn[columns.length];
+		for (int columnIndex = 0; columnIndex < columns.length; columnIndex++) {
+			IColumn column = columns[columnIndex];
+			IColumn selectedColumn = column.createEmpty(rowIndices.length);
+			for (int i = 0; i < rowIndices.length; i++) {
+				selectedColumn.setValue(i, column.getValue(rowIndices[i]));
+			}
+			selectedColumns[columnIndex] = selectedColumn;
+		}
+		return new EncodedTable(selectedColumns, dictionaries, rowIndices.length);
+	}
+}
@@ -0,0 +1,106 @@
+package hitucc.model;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive longs with open addressing and linear probing. 0 marks a free slot, so the value 0 is tracked with
+ * a flag instead.
+ */
+public class LongHashSet {
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final long EMPTY = 0L;
+
+	private long[] slots;
+	private int mask;
+	private int size;
+	private boolean containsEmpty;
+
+	public LongHashSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongHashSet(int expectedSize) {
+		allocate(tableSize(expectedSize));
+	}
+
+	private static int tableSize(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+		return Math.max(capacity, 8);
+	}
+
+	private void allocate(int capacity) {
+		slots = new long[capacity];
+		mask = capacity - 1;
+	}
+
+	private int slot(long value) {
+		long hash = value * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	/**
+	 * @return true if the value was not in the set yet
+	 */
+	public boolean add(long value) {
+		if (value == EMPTY) {
+			if (containsEmpty) return false;
+			containsEmpty = true;
+			return true;
+		}
+
+		int slot = slot(value);
+		while (slots[slot] != EMPTY) {
+			if (slots[slot] == value) return false;
+			slot = (slot + 1) & mask;
+		}
+		slots[slot] = value;
+		size += 1;
+		if (size * 2 > slots.length) grow();
+		return true;
+	}
+
+	public boolean contains(long value) {
+		if (value == EMPTY) return containsEmpty;
+
+		int slot = slot(value);
+		while (slots[slot] != EMPTY) {
+			if (slots[slot] == value) return true;
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	private void grow() {
+		long[] oldSlots = slots;
+		allocate(oldSlots.length * 2);
+		for (long value : oldSlots) {
+			if (value == EMPTY) continue;
+			int slot = slot(value);
+			while (slots[slot] != EMPTY) slot = (slot + 1) & mask;
+			slots[slot] = value;
+		}
+	}
+
+	public int size() {
+		return containsEmpty ? size + 1 : size;
+	}
+
+	public long[] toArray() {
+		long[] values = new long[size()];
+		int index = 0;
+		if (containsEmpty) values[index++] = EMPTY;
+		for (long value : slots) {
+			if (value != EMPTY) values[index++] = value;
+		}
+		return values;
+	}
+
+	/**
+	 * Remove all values but keep the table, so refilling it to the same size does not allocate again.
+	 */
+	public void clear() {
+		Arrays.fill(slots, EMPTY);
+		size = 0;
+		containsEmpty = false;
+	}
+}
@@ -0,0 +1,119 @@
+package hitucc.model;
+
+import hitucc.behaviour.dictionary.IColumn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stripped partition of one column over the rows of a table or of one or two batches: every cluster holds the rows
+ * that share a value, clusters with a single row are left out. Rows of the second batch are numbered after the rows
+ * of the first.
+ */
+public class PositionListIndex {
+	private static final long ROW_MASK = 0xFFFFFFFFL;
+
+	private final List<int[]> clusters;
+	private final int rowCount;
+	private int[] probingTable;
+
+	private PositionListIndex(List<int[]> clusters, int rowCount) {
+		this.clusters = clusters;
+		this.rowCount = rowCount;
+	}
+
+	public static PositionListIndex create(EncodedTable table, int columnIndex) {
+		return create(table.getColumn(columnIndex), table.getRowCount(), null, 0);
+	}
+
+	public static PositionListIndex create(EncodedBatch batch, int columnIndex) {
+		return create(batch, null, columnIndex);
+	}
+
+	public static PositionListIndex create(EncodedBatch batchA, EncodedBatch batchB, int columnIndex) {
+		if (batchB == null) return create(batchA.getColumn(columnIndex), batchA.getRowCount(), null, 0);
+		return create(batchA.getColumn(columnIndex), batchA.getRowCount(), batchB.getColumn(columnIndex), batchB.getRowCount());
+	}
+
+	private static PositionListIndex create(IColumn columnA, int rowCountA, IColumn columnB, int rowCountB) {
+		// sort the rows by value, the row index in the lower half keeps rows of a cluster in row order
+		long[] entries = new long[rowCountA + rowCountB];
+		for (int row = 0; row < rowCountA; row++) entries[row] = ((long) columnA.getValue(row) << 32) | row;
+		for (int row = 0; row < rowCountB; row++) entries[rowCountA + row] = ((long) columnB.getValue(row) << 32) | (rowCountA + row);
+		Arrays.sort(entries);
+		return new PositionListIndex(clusters(entries), entries.length);
+	}
+
+	/**
+	 * @return the rows of all runs of equal values with more than one row, the entries have to be sorted
+	 */
+	private static List<int[]> clusters(long[] entries) {
+		List<int[]> clusters = new ArrayList<>();
+		int start = 0;
+		for (int i = 1; i <= entries.length; i++) {
+			if (i < entries.length && entries[i] >>> 32 == entries[start] >>> 32) continue;
+			if (i - start > 1) {
+				int[] cluster = new int[i - start];
+				for (int k = 0; k < cluster.length; k++) cluster[k] = (int) (entries[start + k] & ROW_MASK);
+				clusters.add(cluster);
+			}
+			start = i;
+		}
+		return clusters;
+	}
+
+	/**
+	 * @return the partition of the rows that agree in the columns of both indexes
+	 */
+	public PositionListIndex intersect(PositionListIndex other) {
+		int[] otherClusters = other.getProbingTable();
+		List<int[]> intersection = new ArrayList<>();
+		long[] entries = new long[0];
+		for (int[] cluster : clusters) {
+			if (entries.length < cluster.length) entries = new long[cluster.length];
+			int entryCount = 0;
+			for (int row : cluster) {
+				if (otherClusters[row] != -1) entries[entryCount++] = ((long) otherClusters[row] << 32) | row;
+			}
+			long[] clusterEntries = Arrays.copyOf(entries, entryCount);
+			Arrays.sort(clusterEntries);
+			intersection.addAll(clusters(clusterEntries));
+		}
+		return new PositionListIndex(intersection, rowCount);
+	}
+
+	/**
+	 * @return the cluster index of every row, -1 for rows without a cluster
+	 */
+	private int[] getProbingTable() {
+		if (probingTable == null) {
+			probingTable = new int[rowCount];
+			Arrays.fill(probingTable, -1);
+			for (int clusterIndex = 0; clusterIndex < clusters.size(); clusterIndex++) {
+				for (int row : clusters.get(clusterIndex)) probingTable[row] = clusterIndex;
+			}
+		}
+		return probingTable;
+	}
+
+	/**
+	 * @return the number of rows in clusters
+	 */
+	public long size() {
+		long size = 0;
+		for (int[] cluster : clusters) size += cluster.length;
+		return size;
+	}
+
+	public int getClusterCount() {
+		return clusters.size();
+	}
+
+	/**
+	 * @return the rows of the cluster in ascending order
+	 */
+	public int[] getCluster(int clusterIndex) {
+		return clusters.get(clusterIndex);
+	}
+}
@@ -15,6 +15,12 @@ public class SerializableBitSet implements Cloneable, Serializable {
 
 	private long[] words;
 
+	// summaries for fast subset tests, computed on first use and reset by every modification. Pool threads compute them
+	// for the same shared sets, so they are volatile: the long signature must not tear and the result is the same on
+	// every thread. Sets must not be modified while other threads read them.
+	private transient volatile int cardinalityPlusOne;
+	private transient volatile long signature;
+
 	/**
 	 * Calculate the word index that stores the given bit index.
 	 * @param bitIndex that needs to be located
@@ -49,6 +55,31 @@ public class SerializableBitSet implements Cloneable, Serializable {
 		this.words = Arrays.copyOf(words, words.length);
 	}
 
+	/**
+	 * Construct a new {@code BitSet} that uses the given words array without copying it.
+	 * @param words that are used as the backing words array, they must not be changed afterwards
+	 * @return a new {@code BitSet} instance backed by the given words
+	 */
+	public static SerializableBitSet fromWords(long[] words) {
+		SerializableBitSet set = new SerializableBitSet();
+		set.words = words;
+		return set;
+	}
+
+	/**
+	 * @return the number of words needed for a {@code BitSet} with the given capacity
+	 */
+	public static int wordCount(int capacity) {
+		return wordIndex(capacity - 1) + 1;
+	}
+
+	/**
+	 * @return the word with the given index, 0 if the {@code BitSet} has fewer words
+	 */
+	public long getWord(int wordIndex) {
+		return wordIndex < this.words.length ? this.words[wordIndex] : 0L;
+	}
+
 	public static SerializableBitSet fromBinary(byte[] bytes) {
 		return SerializableBitSet.fromBinary(ByteBuffer.wrap(bytes));
 	}
@@ -93,6 +124,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 		int wordIndex = wordIndex(bitIndex);
 
 		this.words[wordIndex] ^= (1L << bitIndex);
+		this.resetSummaries();
 	}
 
 	/**
@@ -103,6 +135,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 		int wordIndex = wordIndex(bitIndex);
 
 		this.words[wordIndex] |= (1L << bitIndex);
+		this.resetSummaries();
 	}
 
 	/**
@@ -125,6 +158,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 	public void set(int fromIndex, int toIndex) {
 		if (fromIndex == toIndex)
 			return;
+		this.resetSummaries();
 
 		int startWordIndex = wordIndex(fromIndex);
 		int endWordIndex = wordIndex(toIndex - 1);
@@ -151,6 +185,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 		int wordIndex = wordIndex(bitIndex);
 
 		this.words[wordIndex] &= ~(1L << bitIndex);
+		this.resetSummaries();
 	}
 
 	/**
@@ -159,6 +194,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 	public void clear() {
 		for (int i = 0; i < this.words.length; i++)
 			this.words[i] = 0;
+		this.resetSummaries();
 	}
 
 	/**
@@ -329,12 +365,57 @@ public class SerializableBitSet implements Cloneable, Serializable {
 	 * @return the number of bits set to {@code true} in this {@code BitSet}
 	 */
 	public int cardinality() {
+		if (this.cardinalityPlusOne != 0)
+			return this.cardinalityPlusOne - 1;
+
 		int cardinality = 0;
 		for (int i = 0; i < this.words.length; i++)
 			cardinality += Long.bitCount(this.words[i]);
+		this.cardinalityPlusOne = cardinality + 1;
 		return cardinality;
 	}
 
+	/**
+	 * Calculate a 64 bit summary of this {@code BitSet} by folding all words into one with a logical <b>OR</b>.
+	 * The signature of a subset has no bits that are missing in the signature of its superset.
+	 * @return the signature of this {@code BitSet}, equal to its only word if it has one
+	 */
+	public long signature() {
+		if (this.signature != 0)
+			return this.signature;
+
+		long signature = 0;
+		for (int i = 0; i < this.words.length; i++)
+			signature |= this.words[i];
+		return this.signature = signature;
+	}
+
+	/**
+	 * Return {@code true} if every bit that is set in this {@code BitSet} is also set in the specified {@code BitSet}.
+	 * Most pairs are rejected by cardinality and signature before any word is compared.
+	 * @param set is the potential superset, it may have another number of words
+	 * @return {@code true} if this {@code BitSet} is a subset of or equal to the specified {@code BitSet}
+	 */
+	public boolean isSubsetOf(SerializableBitSet set) {
+		if (this.cardinality() > set.cardinality())
+			return false;
+		if ((this.signature() & ~set.signature()) != 0)
+			return false;
+
+		for (int i = 0; i < this.words.length; i++)
+			if ((this.words[i] & ~set.getWord(i)) != 0)
+				return false;
+		return true;
+	}
+
+	private void resetSummaries() {
+		// most modifications happen before the summaries are computed, which spares the volatile writes
+		if (this.cardinalityPlusOne != 0)
+			this.cardinalityPlusOne = 0;
+		if (this.signature != 0)
+			this.signature = 0;
+	}
+
 	/**
 	 * Return true if this {@code BitSet} contains no bits that are set to {@code true}.
 	 * @return {@code true} if this {@code BitSet} is empty; {@code false} otherwise
@@ -376,6 +457,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 
 		for (int i = 0; i < this.words.length; i++)
 			this.words[i] &= set.words[i];
+		this.resetSummaries();
 	}
 
 	/**
@@ -390,6 +472,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 
 		for (int i = 0; i < this.words.length; i++)
 			this.words[i] |= set.words[i];
+		this.resetSummaries();
 	}
 
 	/**
@@ -406,6 +489,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 
 		for (int i = 0; i < this.words.length; i++)
 			this.words[i] ^= set.words[i];
+		this.resetSummaries();
 	}
 
 	/**
@@ -421,6 +505,7 @@ public class SerializableBitSet implements Cloneable, Serializable {
 
 		for (int i = 0; i < this.words.length; i++)
 			this.words[i] &= ~set.words[i];
+		this.resetSummaries();
 	}
 
 	@Override
@@ -0,0 +1,171 @@
+package hitucc.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Set-trie (UBTree) over bit sets: every path from the root follows the set bits of a stored set in ascending order.
+ * Besides exact lookups it answers whether a stored set is a subset of a query set and removes all stored supersets of
+ * a set, both by only descending into the children whose column can still match.
+ */
+public class SetTrie implements Iterable<SerializableBitSet> {
+	private Node root = new Node();
+	private int size;
+
+	/**
+	 * @return true if the set was not stored yet
+	 */
+	public boolean add(SerializableBitSet set) {
+		Node node = root;
+		for (int column = set.nextSetBit(0); column >= 0; column = set.nextSetBit(column + 1)) {
+			node = node.childOrCreate(column);
+		}
+		if (node.set != null) return false;
+		node.set = set;
+		size += 1;
+		return true;
+	}
+
+	public boolean contains(SerializableBitSet set) {
+		Node node = root;
+		for (int column = set.nextSetBit(0); column >= 0 && node != null; column = set.nextSetBit(column + 1)) {
+			node = node.child(column);
+		}
+		return node != null && node.set != null;
+	}
+
+	/**
+	 * @return true if a stored set is a subset of the given set, equal sets included
+	 */
+	public boolean containsSubsetOf(SerializableBitSet set) {
+		return containsSubsetOf(root, set);
+	}
+
+	private static boolean containsSubsetOf(Node node, SerializableBitSet set) {
+		if (node.set != null) return true;
+		for (int i = 0; i < node.childCount; i++) {
+			if (set.get(node.columns[i]) && containsSubsetOf(node.children[i], set)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove all stored sets that are supersets of the given set, equal sets included.
+	 *
+	 * @return the number of removed sets
+	 */
+	public int removeSupersetsOf(SerializableBitSet set) {
+		int before = size;
+		int firstColumn = set.nextSetBit(0);
+		// every set is a superset of the empty set, and the root can not be dropped like the other nodes
+		if (firstColumn < 0) {
+			clear();
+			return before;
+		}
+		removeSupersetsOf(root, set, firstColumn);
+		return before - size;
+	}
+
+	/**
+	 * @param required the smallest column of the set that is not on the path to this node yet, -1 if all are
+	 * @return true if the node holds no set anymore and can be dropped
+	 */
+	private boolean removeSupersetsOf(Node node, SerializableBitSet set, int required) {
+		if (required < 0) {
+			size -= node.count();
+			return true;
+		}
+
+		int kept = 0;
+		for (int i = 0; i < node.childCount; i++) {
+			int column = node.columns[i];
+			boolean empty = false;
+			// the columns of a path ascend, so a child after the required column can not lead to a superset
+			if (column < required) {
+				empty = removeSupersetsOf(node.children[i], set, required);
+			} else if (column == required) {
+				empty = removeSupersetsOf(node.children[i], set, set.nextSetBit(column + 1));
+			}
+			if (!empty) {
+				node.columns[kept] = column;
+				node.children[kept] = node.children[i];
+				kept += 1;
+			}
+		}
+		Arrays.fill(node.children, kept, node.childCount, null);
+		node.childCount = kept;
+		return node.set == null && kept == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		root = new Node();
+		size = 0;
+	}
+
+	public SerializableBitSet[] toArray() {
+		List<SerializableBitSet> sets = new ArrayList<>(size);
+		collect(root, sets);
+		return sets.toArray(new SerializableBitSet[0]);
+	}
+
+	private static void collect(Node node, List<SerializableBitSet> sets) {
+		if (node.set != null) sets.add(node.set);
+		for (int i = 0; i < node.childCount; i++) collect(node.children[i], sets);
+	}
+
+	@Override
+	public Iterator<SerializableBitSet> iterator() {
+		return Arrays.asList(toArray()).iterator();
+	}
+
+	private static class Node {
+		private static final int[] NO_COLUMNS = new int[0];
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		private SerializableBitSet set;
+		// children ordered by column
+		private int[] columns = NO_COLUMNS;
+		private Node[] children = NO_CHILDREN;
+		private int childCount;
+
+		private Node child(int column) {
+			int index = Arrays.binarySearch(columns, 0, childCount, column);
+			return index >= 0 ? children[index] : null;
+		}
+
+		private Node childOrCreate(int column) {
+			int index = Arrays.binarySearch(columns, 0, childCount, column);
+			if (index >= 0) return children[index];
+
+			index = -index - 1;
+			if (childCount == columns.length) {
+				int capacity = Math.max(2, childCount * 2);
+				columns = Arrays.copyOf(columns, capacity);
+				children = Arrays.copyOf(children, capacity);
+			}
+			System.arraycopy(columns, index, columns, index + 1, childCount - index);
+			System.arraycopy(children, index, children, index + 1, childCount - index);
+			Node child = new Node();
+			columns[index] = column;
+			children[index] = child;
+			childCount += 1;
+			return child;
+		}
+
+		private int count() {
+			int count = set == null ? 0 : 1;
+			for (int i = 0; i < childCount; i++) count += children[i].count();
+			return count;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package hitucc;
+
+import hitucc.behaviour.dictionary.IColumn;
+import hitucc.behaviour.dictionary.TableEncoder;
+import hitucc.model.EncodedBatch;
+import hitucc.model.EncodedTable;
+import hitucc.model.SerializableBitSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random tables and batches and the difference sets expected from comparing their rows.
+ */
+public final class TestFixtures {
+	private TestFixtures() {
+	}
+
+	/**
+	 * @return value counts of 2 + i % period for every column i
+	 */
+	public static int[] cyclicValueCounts(int columnCount, int period) {
+		int[] valueCounts = new int[columnCount];
+		for (int i = 0; i < columnCount; i++) valueCounts[i] = 2 + i % period;
+		return valueCounts;
+	}
+
+	public static EncodedBatch createBatch(Random random, int rowCount, int[] valueCounts) {
+		IColumn[] columns = new IColumn[valueCounts.length];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = IColumn.create(rowCount, valueCounts[i]);
+			for (int row = 0; row < rowCount; row++) columns[i].setValue(row, random.nextInt(valueCounts[i]));
+		}
+		return new EncodedBatch(columns, rowCount);
+	}
+
+	public static EncodedTable createTable(Random random, int rowCount, int[] valueCounts) {
+		List<String[]> rows = new ArrayList<>();
+		for (int i = 0; i < rowCount; i++) {
+			String[] row = new String[valueCounts.length];
+			for (int k = 0; k < row.length; k++) row[k] = String.valueOf(random.nextInt(valueCounts[k]));
+			rows.add(row);
+		}
+		TableEncoder tableEncoder = new TableEncoder(true);
+		tableEncoder.addRows(rows);
+		return tableEncoder.encode();
+	}
+
+	public static SerializableBitSet differenceSet(int[] rowA, int[] rowB) {
+		SerializableBitSet differenceSet = new SerializableBitSet(rowA.length);
+		for (int i = 0; i < rowA.length; i++) {
+			if (rowA[i] != rowB[i]) differenceSet.set(i);
+		}
+		return differenceSet;
+	}
+
+	/**
+	 * @return the difference sets of all row pairs within the batch, in the order of the pairs
+	 */
+	public static List<SerializableBitSet> differenceSets(EncodedBatch batch) {
+		int[][] rows = batch.decodeRows();
+		List<SerializableBitSet> differenceSets = new ArrayList<>();
+		for (int a = 0; a < rows.length; a++) {
+			for (int b = a + 1; b < rows.length; b++) differenceSets.add(differenceSet(rows[a], rows[b]));
+		}
+		return differenceSets;
+	}
+
+	/**
+	 * @return the difference sets of all row pairs across the batches, in the order of the pairs
+	 */
+	public static List<SerializableBitSet> differenceSets(EncodedBatch batchA, EncodedBatch batchB) {
+		int[][] rowsB = batchB.decodeRows();
+		List<SerializableBitSet> differenceSets = new ArrayList<>();
+		for (int[] rowA : batchA.decodeRows()) {
+			for (int[] rowB : rowsB) differenceSets.add(differenceSet(rowA, rowB));
+		}
+		return differenceSets;
+	}
+
+	public static List<SerializableBitSet> collect(Iterable<SerializableBitSet> sets) {
+		List<SerializableBitSet> collectedSets = new ArrayList<>();
+		for (SerializableBitSet set : sets) collectedSets.add(set);
+		return collectedSets;
+	}
+}
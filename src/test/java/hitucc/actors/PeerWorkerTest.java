@@ -0,0 +1,166 @@
+package hitucc.actors;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.testkit.javadsl.TestKit;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import hitucc.HitUCCApp;
+import hitucc.actors.messages.*;
+import hitucc.behaviour.differenceSets.SortingCalculateMinimalSetsStrategy;
+import hitucc.model.AlgorithmTimerObject;
+import hitucc.model.EncodedBatch;
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static hitucc.TestFixtures.createBatch;
+import static hitucc.TestFixtures.cyclicValueCounts;
+import static hitucc.TestFixtures.differenceSets;
+
+public class PeerWorkerTest {
+	private static final String SYSTEM_ID = ":1600";
+	private static final int COLUMNS = 8;
+	private static final int ROWS = 40;
+	private static final int[] VALUE_COUNTS = cyclicValueCounts(COLUMNS, COLUMNS);
+
+	private ActorSystem system;
+	private File outputFile;
+
+	@BeforeMethod
+	public void setUp() throws IOException {
+		Config config = ConfigFactory.parseString(
+				"akka.actor.provider = cluster\n" +
+						"akka.remote.artery.enabled = on\n" +
+						"akka.remote.artery.transport = tcp\n" +
+						"akka.remote.artery.canonical.hostname = \"127.0.0.1\"\n" +
+						"akka.remote.artery.canonical.port = 0\n")
+				.withFallback(ConfigFactory.defaultReference());
+		system = ActorSystem.create("PeerWorkerTest", config);
+		outputFile = File.createTempFile("hitucc-peer-worker", ".json");
+		outputFile.deleteOnExit();
+	}
+
+	@AfterMethod
+	public void tearDown() {
+		TestKit.shutdownActorSystem(system);
+	}
+
+	/**
+	 * The worker that accepts a merge request sends its difference sets and then DONE_MERGING, so the asking worker always
+	 * receives DONE_MERGING while its merge is still running on the shared pool.
+	 */
+	@Test
+	public void testDoneMergingDuringAsynchronousMerge() {
+		TestKit probe = new TestKit(system);
+		Random random = new Random(42);
+		EncodedBatch[] batches = {createBatch(random, ROWS, VALUE_COUNTS), createBatch(random, ROWS, VALUE_COUNTS)};
+
+		startPhaseOne(createWorkers(batches, probe.getRef()), batches);
+
+		probe.expectMsgClass(Duration.ofSeconds(10), StartTreeSearchMessage.class);
+	}
+
+	/**
+	 * The merge result computed on the shared pool is taken over by the worker, so the tree search starts with the minimal
+	 * sets of both batches. The probe registers as a remote worker, which is told the sets but takes no part in merging.
+	 */
+	@Test
+	public void testTreeSearchStartsWithMergedSets() {
+		TestKit probe = new TestKit(system);
+		TestKit remoteWorker = new TestKit(system);
+		Random random = new Random(7);
+		EncodedBatch[] batches = {createBatch(random, ROWS, VALUE_COUNTS), createBatch(random, ROWS, VALUE_COUNTS)};
+		Set<SerializableBitSet> uniqueSets = new LinkedHashSet<>(differenceSets(batches[0]));
+		uniqueSets.addAll(differenceSets(batches[1]));
+		SerializableBitSet[] expectedSets = new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(uniqueSets);
+
+		ActorRef[] workers = createWorkers(batches, probe.getRef());
+		// the workers answer the registration, possibly after the tree search started
+		remoteWorker.ignoreMsg(message -> message instanceof RegistrationMessage);
+		for (ActorRef worker : workers) worker.tell(new RegistrationMessage(), remoteWorker.getRef());
+		startPhaseOne(workers, batches);
+
+		StartTreeSearchMessage message = remoteWorker.expectMsgClass(Duration.ofSeconds(10), StartTreeSearchMessage.class);
+		Assert.assertEquals(new HashSet<>(Arrays.asList(message.getMinimalDifferenceSets())), new HashSet<>(Arrays.asList(expectedSets)));
+	}
+
+	/**
+	 * Create a worker per batch and a data bouncer that serves the batches, and register them with each other.
+	 */
+	private ActorRef[] createWorkers(EncodedBatch[] batches, ActorRef probe) {
+		ActorRef[] workers = new ActorRef[batches.length];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = system.actorOf(PeerWorker.props(HitUCCApp.CreateDiffSetsStrategy.HASH, HitUCCApp.MinimizeDiffSetsStrategy.BUCKETING, HitUCCApp.CompareBatchesStrategy.CROSS_PRODUCT, 0, 1), PeerWorker.DEFAULT_NAME + i + SYSTEM_ID);
+		}
+		ActorRef dataBouncer = system.actorOf(Props.create(StubDataBouncer.class, () -> new StubDataBouncer(batches, probe)), PeerDataBouncer.DEFAULT_NAME + SYSTEM_ID);
+		workers[0].tell(new RegistrationMessage(), workers[1]);
+		workers[1].tell(new RegistrationMessage(), workers[0]);
+		for (ActorRef worker : workers) worker.tell(new RegistrationMessage(), dataBouncer);
+		return workers;
+	}
+
+	/**
+	 * Every worker discovers the difference sets within its own batch, then both merge locally.
+	 */
+	private void startPhaseOne(ActorRef[] workers, EncodedBatch[] batches) {
+		AlgorithmTimerObject timerObject = new AlgorithmTimerObject(true, false, outputFile.getPath(), "test", 4, false);
+		int[] batchSizes = {ROWS, ROWS};
+		for (int i = 0; i < workers.length; i++) {
+			workers[i].tell(new FindDifferenceSetFromBatchMessage(Collections.singletonList(i), Collections.singletonList(i), batches.length, false, timerObject.clone(), batchSizes, null, null), ActorRef.noSender());
+		}
+	}
+
+	/**
+	 * Serves the batches only once every batch was requested. Otherwise, a fast worker could finish merging before the
+	 * other one started, because workers that did not start yet count as done.
+	 */
+	private static class StubDataBouncer extends AbstractActor {
+		private final EncodedBatch[] batches;
+		private final ActorRef probe;
+		private final Map<Integer, ActorRef> requesters = new HashMap<>();
+
+		StubDataBouncer(EncodedBatch[] batches, ActorRef probe) {
+			this.batches = batches;
+			this.probe = probe;
+		}
+
+		@Override
+		public Receive createReceive() {
+			return receiveBuilder()
+					.match(RequestDataBatchMessage.class, this::handle)
+					.match(StartTreeSearchMessage.class, message -> probe.tell(message, this.self()))
+					.matchAny(message -> {
+					})
+					.build();
+		}
+
+		private void handle(RequestDataBatchMessage message) {
+			if (requesters.size() == batches.length) {
+				this.sender().tell(new SendEncodedDataBatchMessage(message.getBatchIdentifier(), batches[message.getBatchIdentifier()], 0), this.self());
+				return;
+			}
+			requesters.put(message.getBatchIdentifier(), this.sender());
+			if (requesters.size() < batches.length) return;
+			for (Map.Entry<Integer, ActorRef> requester : requesters.entrySet()) {
+				requester.getValue().tell(new SendEncodedDataBatchMessage(requester.getKey(), batches[requester.getKey()], 0), this.self());
+			}
+		}
+	}
+}
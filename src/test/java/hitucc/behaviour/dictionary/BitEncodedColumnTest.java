@@ -1,29 +1,83 @@
 package hitucc.behaviour.dictionary;
 
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
 public class BitEncodedColumnTest {
-//	@Test
-//	public void testSetAndGetValues() {
-//		int[] columnData = new int[]{0, 1, 0, 2, 1};
-//
-//		IColumn column = new BitEncodedColumn(columnData.length, 3);
-//		for (int i = 0; i < columnData.length; i++) {
-//			column.setValue(i, columnData[i]);
-//		}
-//
-//		for (int i = 0; i < columnData.length; i++) {
-//			Assert.assertEquals(column.getValue(i), columnData[i]);
-//		}
-//	}
-//
-//	@Test
-//	public void testSize() {
-//		int[] columnData = new int[]{0, 1, 0, 2, 1};
-//
-//		IColumn column = new Column(columnData.length);
-//		for (int i = 0; i < columnData.length; i++) {
-//			column.setValue(i, columnData[i]);
-//		}
-//
-//		Assert.assertEquals(column.size(), columnData.length);
-//	}
+	@Test
+	public void testSetAndGetValues() {
+		int[] columnData = new int[]{0, 1, 0, 2, 1};
+
+		IColumn column = new BitEncodedColumn(columnData.length, 3);
+		for (int i = 0; i < columnData.length; i++) {
+			column.setValue(i, columnData[i]);
+		}
+
+		for (int i = 0; i < columnData.length; i++) {
+			Assert.assertEquals(column.getValue(i), columnData[i]);
+		}
+	}
+
+	@Test
+	public void testOverwriteValues() {
+		IColumn column = new BitEncodedColumn(100, 1000);
+		for (int i = 0; i < column.size(); i++) column.setValue(i, 999);
+		for (int i = 0; i < column.size(); i++) column.setValue(i, i);
+
+		for (int i = 0; i < column.size(); i++) {
+			Assert.assertEquals(column.getValue(i), i);
+		}
+	}
+
+	@Test
+	public void testAllValueWidths() {
+		Random random = new Random(42);
+		for (int bits = 1; bits < Integer.SIZE; bits++) {
+			int dictionarySize = (int) Math.min(Integer.MAX_VALUE, 1L << bits);
+			int[] columnData = new int[257];
+			for (int i = 0; i < columnData.length; i++) columnData[i] = random.nextInt(dictionarySize);
+
+			IColumn column = new BitEncodedColumn(columnData.length, dictionarySize);
+			Assert.assertEquals(column.getBitsPerValue(), bits);
+			for (int i = 0; i < columnData.length; i++) {
+				column.setValue(i, columnData[i]);
+			}
+
+			for (int i = 0; i < columnData.length; i++) {
+				Assert.assertEquals(column.getValue(i), columnData[i], "bits " + bits + ", index " + i);
+			}
+			Assert.assertEquals(column.createEmpty(10).getBitsPerValue(), bits);
+		}
+	}
+
+	@Test
+	public void testSize() {
+		int[] columnData = new int[]{0, 1, 0, 2, 1};
+
+		IColumn column = new BitEncodedColumn(columnData.length, 3);
+		for (int i = 0; i < columnData.length; i++) {
+			column.setValue(i, columnData[i]);
+		}
+
+		Assert.assertEquals(column.size(), columnData.length);
+		Assert.assertEquals(column.getBitsPerValue(), 2);
+	}
+
+	@Test
+	public void testCreateNarrowestColumn() {
+		Assert.assertTrue(IColumn.create(10, 1) instanceof ByteColumn);
+		Assert.assertTrue(IColumn.create(10, 256) instanceof ByteColumn);
+		Assert.assertTrue(IColumn.create(10, 257) instanceof ShortColumn);
+		Assert.assertTrue(IColumn.create(10, 65536) instanceof ShortColumn);
+		Assert.assertTrue(IColumn.create(10, 65537) instanceof BitEncodedColumn);
+		Assert.assertEquals(IColumn.create(10, 65537).getBitsPerValue(), 17);
+
+		IColumn column = IColumn.create(3, 65536);
+		column.setValue(0, 65535);
+		column.setValue(1, 255);
+		Assert.assertEquals(column.getValue(0), 65535);
+		Assert.assertEquals(column.getValue(1), 255);
+	}
 }
@@ -0,0 +1,80 @@
+package hitucc.behaviour.dictionary;
+
+import hitucc.HitUCCApp;
+import hitucc.model.EncodedTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+public class DictionaryMergerTest {
+
+	private EncodedTable encode(List<String[]> rows) {
+		TableEncoder tableEncoder = new TableEncoder(false);
+		tableEncoder.addRows(rows);
+		return tableEncoder.encode();
+	}
+
+	private List<String>[] getDictionaries(EncodedTable table) {
+		List<String>[] dictionaries = new List[table.getColumnCount()];
+		for (int i = 0; i < dictionaries.length; i++) dictionaries[i] = table.getDictionary(i);
+		return dictionaries;
+	}
+
+	private int[] getNullValueCounts(EncodedTable table) {
+		int[] nullValueCounts = new int[table.getColumnCount()];
+		for (int i = 0; i < nullValueCounts.length; i++) nullValueCounts[i] = table.getNullValueCount(i);
+		return nullValueCounts;
+	}
+
+	private void testMerge(HitUCCApp.DictionaryEncodingStrategy encodingStrategy) {
+		List<String[]> sliceA = Arrays.asList(new String[]{"A", ""}, new String[]{"B", "X"}, new String[]{"A", ""});
+		List<String[]> sliceB = Arrays.asList(new String[]{"C", "X"}, new String[]{"A", ""});
+		EncodedTable[] slices = new EncodedTable[]{encode(sliceA), encode(sliceB), encode(Collections.emptyList())};
+
+		DictionaryMerger merger = new DictionaryMerger(slices.length, encodingStrategy);
+		for (int i = slices.length - 1; i >= 0; i--) {
+			Assert.assertFalse(merger.hasAllSlices());
+			merger.addSlice(i, getDictionaries(slices[i]), getNullValueCounts(slices[i]));
+		}
+		Assert.assertTrue(merger.hasAllSlices());
+		Assert.assertEquals(merger.getColumnCount(), 2);
+		Assert.assertEquals(merger.getDictionary(0).size(), 3);
+		Assert.assertEquals(merger.getValueCount(0), 3);
+		Assert.assertEquals(merger.getValueCount(1), 4);
+
+		int[] valueCounts = new int[]{merger.getValueCount(0), merger.getValueCount(1)};
+		List<int[]> rows = new ArrayList<>();
+		List<String[]> rawRows = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			EncodedTable table = slices[i].translate(merger.getTranslation(i), valueCounts);
+			for (int row = 0; row < table.getRowCount(); row++) {
+				rows.add(new int[]{table.getColumn(0).getValue(row), table.getColumn(1).getValue(row)});
+			}
+			rawRows.addAll(i == 0 ? sliceA : sliceB);
+		}
+		Assert.assertEquals(merger.getTranslation(2).length, 0);
+
+		Set<Integer> nullCodes = new HashSet<>();
+		for (int a = 0; a < rows.size(); a++) {
+			Assert.assertEquals(merger.getDictionary(0).get(rows.get(a)[0]), rawRows.get(a)[0]);
+			if (rawRows.get(a)[1].isEmpty()) {
+				Assert.assertTrue(rows.get(a)[1] >= merger.getDictionary(1).size());
+				Assert.assertTrue(nullCodes.add(rows.get(a)[1]));
+			} else {
+				Assert.assertEquals(merger.getDictionary(1).get(rows.get(a)[1]), rawRows.get(a)[1]);
+			}
+		}
+		Assert.assertEquals(nullCodes.size(), 3);
+	}
+
+	@Test
+	public void testMergeHash() {
+		testMerge(HitUCCApp.DictionaryEncodingStrategy.HASH);
+	}
+
+	@Test
+	public void testMergeSorted() {
+		testMerge(HitUCCApp.DictionaryEncodingStrategy.SORT);
+	}
+}
@@ -0,0 +1,65 @@
+package hitucc.behaviour.dictionary;
+
+import hitucc.model.EncodedTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DuplicateRowDetectorTest {
+
+	private static EncodedTable encode(boolean nullEqualsNull, String[]... rows) {
+		List<String[]> rowList = new ArrayList<>();
+		for (String[] row : rows) rowList.add(row);
+		TableEncoder tableEncoder = new TableEncoder(nullEqualsNull);
+		tableEncoder.addRows(rowList);
+		return tableEncoder.encode();
+	}
+
+	@Test
+	public void testDistinctRows() {
+		EncodedTable table = encode(true, new String[]{"A", "X"}, new String[]{"A", "Y"}, new String[]{"B", "X"});
+		DuplicateRowDetector detector = new DuplicateRowDetector(table);
+
+		Assert.assertFalse(detector.hasDuplicates());
+		Assert.assertNull(detector.getDuplicatePair());
+		Assert.assertEquals(detector.getDistinctRows(), new int[]{0, 1, 2});
+	}
+
+	@Test
+	public void testDuplicateRows() {
+		EncodedTable table = encode(true, new String[]{"A", "X"}, new String[]{"B", "X"}, new String[]{"A", "X"}, new String[]{"B", "X"}, new String[]{"C", "X"});
+		DuplicateRowDetector detector = new DuplicateRowDetector(table);
+
+		Assert.assertTrue(detector.hasDuplicates());
+		Assert.assertEquals(detector.getDuplicatePair(), new int[]{0, 2});
+		Assert.assertEquals(detector.getDistinctRows(), new int[]{0, 1, 4});
+
+		EncodedTable distinctTable = table.selectRows(detector.getDistinctRows());
+		Assert.assertEquals(distinctTable.getRowCount(), 3);
+		Assert.assertEquals(distinctTable.getColumn(0).getValue(2), table.getColumn(0).getValue(4));
+		Assert.assertFalse(new DuplicateRowDetector(distinctTable).hasDuplicates());
+	}
+
+	@Test
+	public void testNullRows() {
+		String[][] rows = {new String[]{"A", ""}, new String[]{"A", ""}};
+
+		Assert.assertTrue(new DuplicateRowDetector(encode(true, rows)).hasDuplicates());
+		Assert.assertFalse(new DuplicateRowDetector(encode(false, rows)).hasDuplicates());
+	}
+
+	@Test
+	public void testManyRows() {
+		List<String[]> rows = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) rows.add(new String[]{"a" + (i % 100), "b" + (i / 100), "c" + (i % 7)});
+		rows.add(new String[]{"a5", "b3", "c" + (305 % 7)});
+		TableEncoder tableEncoder = new TableEncoder(true);
+		tableEncoder.addRows(rows);
+		DuplicateRowDetector detector = new DuplicateRowDetector(tableEncoder.encode());
+
+		Assert.assertEquals(detector.getDuplicatePair(), new int[]{305, 10000});
+		Assert.assertEquals(detector.getDistinctRows().length, 10000);
+	}
+}
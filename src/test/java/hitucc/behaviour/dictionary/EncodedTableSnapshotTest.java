@@ -0,0 +1,101 @@
+package hitucc.behaviour.dictionary;
+
+import hitucc.model.EncodedTable;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EncodedTableSnapshotTest {
+	private static final String SETTINGS = "nullEqualsNull=false";
+
+	private Path path;
+	private EncodedTable table;
+
+	@BeforeMethod
+	private void beforeMethod() throws IOException {
+		path = File.createTempFile("encoded-table", EncodedTableSnapshot.FILE_EXTENSION).toPath();
+		Files.delete(path);
+
+		List<String[]> rows = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			rows.add(new String[]{"v" + i, "c" + (i % 3), "ü" + (i % 300), i % 10 == 0 ? "" : "x"});
+		}
+		TableEncoder tableEncoder = new TableEncoder(false);
+		tableEncoder.addRows(rows);
+		table = tableEncoder.encode();
+	}
+
+	@AfterMethod
+	private void afterMethod() throws IOException {
+		Files.deleteIfExists(path);
+	}
+
+	@Test
+	private void testWriteAndRead() throws IOException {
+		new EncodedTableSnapshot(path, 42, SETTINGS).write(table);
+		EncodedTable loadedTable = new EncodedTableSnapshot(path, 42, SETTINGS).read();
+
+		Assert.assertNotNull(loadedTable);
+		Assert.assertEquals(loadedTable.getRowCount(), table.getRowCount());
+		Assert.assertEquals(loadedTable.getColumnCount(), table.getColumnCount());
+		for (int columnIndex = 0; columnIndex < table.getColumnCount(); columnIndex++) {
+			Assert.assertEquals(loadedTable.getDictionary(columnIndex), table.getDictionary(columnIndex));
+			Assert.assertEquals(loadedTable.getColumn(columnIndex).getBitsPerValue(), table.getColumn(columnIndex).getBitsPerValue());
+			for (int row = 0; row < table.getRowCount(); row++) {
+				Assert.assertEquals(loadedTable.getColumn(columnIndex).getValue(row), table.getColumn(columnIndex).getValue(row));
+			}
+		}
+	}
+
+	@Test
+	private void testWriteAndReadWideColumns() throws IOException {
+		IColumn packedColumn = new BitEncodedColumn(100, 100000);
+		IColumn intColumn = new Column(100);
+		for (int row = 0; row < 100; row++) {
+			packedColumn.setValue(row, row * 999);
+			intColumn.setValue(row, row * 20000000);
+		}
+		List<String>[] dictionaries = new List[]{new ArrayList<>(), new ArrayList<>()};
+		new EncodedTableSnapshot(path, 42, SETTINGS).write(new EncodedTable(new IColumn[]{packedColumn, intColumn}, dictionaries, 100));
+
+		EncodedTable loadedTable = new EncodedTableSnapshot(path, 42, SETTINGS).read();
+		Assert.assertEquals(loadedTable.getColumn(0).getBitsPerValue(), 17);
+		for (int row = 0; row < 100; row++) {
+			Assert.assertEquals(loadedTable.getColumn(0).getValue(row), row * 999);
+			Assert.assertEquals(loadedTable.getColumn(1).getValue(row), row * 20000000);
+		}
+	}
+
+	@Test
+	private void testIgnoreOutdatedSnapshot() throws IOException {
+		Assert.assertNull(new EncodedTableSnapshot(path, 42, SETTINGS).read());
+
+		new EncodedTableSnapshot(path, 42, SETTINGS).write(table);
+		Assert.assertNull(new EncodedTableSnapshot(path, 43, SETTINGS).read());
+		Assert.assertNull(new EncodedTableSnapshot(path, 42, "nullEqualsNull=true").read());
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	private void testRejectOtherFiles() throws IOException {
+		Files.write(path, "a,b,c\n1,2,3\n".getBytes());
+		new EncodedTableSnapshot(path, 42, SETTINGS).read();
+	}
+
+	@Test
+	private void testChecksum() throws IOException {
+		Files.write(path, "a,b,c\n1,2,3\n".getBytes());
+		long checksum = EncodedTableSnapshot.checksum(path);
+		Assert.assertEquals(EncodedTableSnapshot.checksum(path), checksum);
+
+		Files.write(path, "a,b,c\n1,2,4\n".getBytes());
+		Assert.assertNotEquals(EncodedTableSnapshot.checksum(path), checksum);
+	}
+}
@@ -0,0 +1,54 @@
+package hitucc.behaviour.dictionary;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class HashDictionaryEncoderTest {
+
+	private String[] columnData;
+	private HashDictionaryEncoder dictionaryEncoder;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		columnData = new String[]{"C", "B", "A", "C", "B"};
+		dictionaryEncoder = new HashDictionaryEncoder(true);
+
+		for (String value : columnData) {
+			dictionaryEncoder.addValue(value);
+		}
+	}
+
+	@Test
+	public void testGetDictionary() {
+		Assert.assertEquals(dictionaryEncoder.getDictionary().toArray(), new String[]{"C", "B", "A"});
+	}
+
+	@Test
+	public void testEncode() {
+		IColumn column = dictionaryEncoder.getColumn();
+		Assert.assertEquals(column.size(), columnData.length);
+		for (int i = 0; i < columnData.length; i++) {
+			Assert.assertEquals(dictionaryEncoder.getDictionary().get(column.getValue(i)), columnData[i]);
+		}
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void testAddValueAfterEncode() {
+		dictionaryEncoder.getColumn();
+		dictionaryEncoder.addValue("D");
+	}
+
+	@Test
+	public void testNullNotEqualsNull() {
+		HashDictionaryEncoder encoder = new HashDictionaryEncoder(false);
+		for (String value : new String[]{"", "A", "", "A"}) encoder.addValue(value);
+
+		IColumn column = encoder.getColumn();
+		Assert.assertEquals(encoder.getDictionary().toArray(), new String[]{"A"});
+		Assert.assertEquals(column.getValue(1), column.getValue(3));
+		Assert.assertNotEquals(column.getValue(0), column.getValue(2));
+		Assert.assertNotEquals(column.getValue(0), column.getValue(1));
+		Assert.assertNotEquals(column.getValue(2), column.getValue(1));
+	}
+}
@@ -0,0 +1,76 @@
+package hitucc.behaviour.dictionary;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SortingDictionaryEncoderTest {
+
+	private String[] columnData;
+	private SortingDictionaryEncoder dictionaryEncoder;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		columnData = new String[]{"C", "B", "A", "C", "B"};
+		dictionaryEncoder = new SortingDictionaryEncoder(true);
+
+		for (String value : columnData) {
+			dictionaryEncoder.addValue(value);
+		}
+	}
+
+	@Test
+	public void testAddValue() {
+		Assert.assertEquals(dictionaryEncoder.size(), columnData.length);
+		Assert.assertEquals(dictionaryEncoder.dictionary.toArray(), new String[]{"C", "B", "A"});
+	}
+
+	@Test
+	public void testGetDictionary() {
+		Assert.assertEquals(dictionaryEncoder.getDictionary().toArray(), new String[]{"A", "B", "C"});
+	}
+
+	@Test
+	public void testEncode() {
+		IColumn column = dictionaryEncoder.getColumn();
+		Assert.assertEquals(column.size(), columnData.length);
+		Assert.assertEquals(column.getValue(0), 2);
+		Assert.assertEquals(column.getValue(1), 1);
+		Assert.assertEquals(column.getValue(2), 0);
+		Assert.assertEquals(column.getValue(3), 2);
+		Assert.assertEquals(column.getValue(4), 1);
+	}
+
+	@Test
+	public void testEncodeEqualsDictionaryEncoder() {
+		DictionaryEncoder sortingEncoder = new DictionaryEncoder(columnData.length, true);
+		for (String value : columnData) sortingEncoder.addValue(value);
+
+		Assert.assertEquals(dictionaryEncoder.getDictionary(), sortingEncoder.getDictionary());
+		for (int i = 0; i < columnData.length; i++) {
+			Assert.assertEquals(dictionaryEncoder.getColumn().getValue(i), sortingEncoder.getColumn().getValue(i));
+		}
+	}
+
+	@Test
+	public void testNullNotEqualsNull() {
+		SortingDictionaryEncoder encoder = new SortingDictionaryEncoder(false);
+		for (String value : new String[]{"", "A", "", "A"}) encoder.addValue(value);
+
+		IColumn column = encoder.getColumn();
+		Assert.assertEquals(column.getValue(1), column.getValue(3));
+		Assert.assertNotEquals(column.getValue(0), column.getValue(2));
+		Assert.assertNotEquals(column.getValue(0), column.getValue(1));
+		Assert.assertNotEquals(column.getValue(2), column.getValue(1));
+	}
+
+	@Test
+	public void testNullEqualsNull() {
+		SortingDictionaryEncoder encoder = new SortingDictionaryEncoder(true);
+		for (String value : new String[]{"", "A", "", "A"}) encoder.addValue(value);
+
+		IColumn column = encoder.getColumn();
+		Assert.assertEquals(column.getValue(0), column.getValue(2));
+		Assert.assertNotEquals(column.getValue(0), column.getValue(1));
+	}
+}
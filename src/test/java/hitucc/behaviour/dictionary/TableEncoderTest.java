@@ -0,0 +1,55 @@
+package hitucc.behaviour.dictionary;
+
+import hitucc.HitUCCApp;
+import hitucc.model.EncodedTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TableEncoderTest {
+
+	@Test
+	public void testEncode() {
+		List<String[]> blockA = new ArrayList<>();
+		blockA.add(new String[]{"A", "X"});
+		blockA.add(new String[]{"B", "X"});
+		List<String[]> blockB = new ArrayList<>();
+		blockB.add(new String[]{"A", "Y"});
+
+		TableEncoder tableEncoder = new TableEncoder(true);
+		tableEncoder.addRows(blockA);
+		tableEncoder.addRows(blockB);
+		EncodedTable table = tableEncoder.encode();
+
+		Assert.assertEquals(table.getRowCount(), 3);
+		Assert.assertEquals(table.getColumnCount(), 2);
+		Assert.assertEquals(table.getDictionary(0).toArray(), new String[]{"A", "B"});
+		Assert.assertEquals(table.getDictionary(1).toArray(), new String[]{"X", "Y"});
+
+		Assert.assertEquals(table.getColumn(0).getValue(0), table.getColumn(0).getValue(2));
+		Assert.assertNotEquals(table.getColumn(0).getValue(0), table.getColumn(0).getValue(1));
+		Assert.assertEquals(table.getColumn(1).getValue(0), table.getColumn(1).getValue(1));
+		Assert.assertNotEquals(table.getColumn(1).getValue(0), table.getColumn(1).getValue(2));
+	}
+
+	@Test
+	public void testEncodeSorted() {
+		List<String[]> rows = new ArrayList<>();
+		for (int i = 0; i < 100; i++) rows.add(new String[]{"v" + (99 - i), "c" + (i % 3), "x"});
+
+		TableEncoder tableEncoder = new TableEncoder(true, HitUCCApp.DictionaryEncodingStrategy.SORT);
+		tableEncoder.addRows(rows.subList(0, 50));
+		tableEncoder.addRows(rows.subList(50, 100));
+		EncodedTable table = tableEncoder.encode();
+
+		Assert.assertEquals(table.getDictionary(1).toArray(), new String[]{"c0", "c1", "c2"});
+		Assert.assertEquals(table.getDictionary(2).size(), 1);
+		for (int columnIndex = 0; columnIndex < table.getColumnCount(); columnIndex++) {
+			for (int row = 0; row < table.getRowCount(); row++) {
+				Assert.assertEquals(table.getDictionary(columnIndex).get(table.getColumn(columnIndex).getValue(row)), rows.get(row)[columnIndex]);
+			}
+		}
+	}
+}
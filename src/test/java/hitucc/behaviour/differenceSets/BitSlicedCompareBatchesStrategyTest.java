@@ -0,0 +1,73 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.EncodedBatch;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static hitucc.TestFixtures.collect;
+import static hitucc.TestFixtures.createBatch;
+import static hitucc.TestFixtures.cyclicValueCounts;
+import static hitucc.TestFixtures.differenceSets;
+
+public class BitSlicedCompareBatchesStrategyTest {
+	private static final int COLUMNS = 130;
+	private static final int[] VALUE_COUNTS = cyclicValueCounts(COLUMNS, 5);
+
+	@Test
+	public void testCompareBatch() {
+		EncodedBatch batch = createBatch(new Random(11), 150, VALUE_COUNTS);
+		JustAddDifferenceSetStrategy addStrategy = new JustAddDifferenceSetStrategy();
+		new BitSlicedCompareBatchesStrategy().compareBatch(batch, new DifferenceSetDetector(addStrategy, new NaiveCalculateMinimalSetsStrategy(), new TwoSidedMergeMinimalSetsStrategy()));
+
+		Assert.assertEquals(collect(addStrategy.getIterable()), differenceSets(batch));
+	}
+
+	@Test
+	public void testCompareBatches() {
+		Random random = new Random(12);
+		EncodedBatch batchA = createBatch(random, 20, VALUE_COUNTS);
+		EncodedBatch batchB = createBatch(random, 97, VALUE_COUNTS);
+		JustAddDifferenceSetStrategy addStrategy = new JustAddDifferenceSetStrategy();
+		new BitSlicedCompareBatchesStrategy().compareBatches(batchA, batchB, new DifferenceSetDetector(addStrategy, new NaiveCalculateMinimalSetsStrategy(), new TwoSidedMergeMinimalSetsStrategy()));
+
+		Assert.assertEquals(collect(addStrategy.getIterable()), differenceSets(batchA, batchB));
+	}
+
+	@Test
+	public void testTranspose() {
+		Random random = new Random(13);
+		long[] matrix = new long[64];
+		for (int i = 0; i < matrix.length; i++) matrix[i] = random.nextLong();
+		long[] transposed = matrix.clone();
+		BitSlicedCompareBatchesStrategy.transpose(transposed);
+
+		for (int r = 0; r < 64; r++) {
+			for (int c = 0; c < 64; c++) {
+				Assert.assertEquals((transposed[c] >>> r) & 1L, (matrix[r] >>> c) & 1L);
+			}
+		}
+	}
+
+	@Test
+	public void testTiledComparison() {
+		Random random = new Random(14);
+		EncodedBatch batchA = createBatch(random, 150, VALUE_COUNTS);
+		EncodedBatch batchB = createBatch(random, 170, VALUE_COUNTS);
+		JustAddDifferenceSetStrategy addStrategy = new JustAddDifferenceSetStrategy();
+		JustAddDifferenceSetStrategy tiledAddStrategy = new JustAddDifferenceSetStrategy();
+		ICompareBatchesStrategy tiledStrategy = new BitSlicedCompareBatchesStrategy(64 * COLUMNS * Integer.BYTES);
+
+		new CrossProductCompareBatchesStrategy(256, Integer.MAX_VALUE).compareBatch(batchA, new DifferenceSetDetector(addStrategy, new NaiveCalculateMinimalSetsStrategy(), new TwoSidedMergeMinimalSetsStrategy()));
+		tiledStrategy.compareBatch(batchA, new DifferenceSetDetector(tiledAddStrategy, new NaiveCalculateMinimalSetsStrategy(), new TwoSidedMergeMinimalSetsStrategy()));
+		Assert.assertEqualsNoOrder(collect(tiledAddStrategy.getIterable()).toArray(), collect(addStrategy.getIterable()).toArray());
+
+		addStrategy.clearState();
+		tiledAddStrategy.clearState();
+		new CrossProductCompareBatchesStrategy(256, Integer.MAX_VALUE).compareBatches(batchA, batchB, new DifferenceSetDetector(addStrategy, new NaiveCalculateMinimalSetsStrategy(), new TwoSidedMergeMinimalSetsStrategy()));
+		tiledStrategy.compareBatches(batchA, batchB, new DifferenceSetDetector(tiledAddStrategy, new NaiveCalculateMinimalSetsStrategy(), new TwoSidedMergeMinimalSetsStrategy()));
+		Assert.assertEquals(collect(tiledAddStrategy.getIterable()).size(), 150 * 170);
+		Assert.assertEqualsNoOrder(collect(tiledAddStrategy.getIterable()).toArray(), collect(addStrategy.getIterable()).toArray());
+	}
+}
@@ -1,5 +1,6 @@
 package hitucc.behaviour.differenceSets;
 
+import hitucc.model.LongHashSet;
 import hitucc.model.SerializableBitSet;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
@@ -7,6 +8,7 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static hitucc.behaviour.differenceSets.DifferenceSetDetectorTest.createBitSet;
 
@@ -42,4 +44,24 @@ public class BucketingCalculateMinimalSetsStrategyTest {
 		Assert.assertEquals(minimalDifferenceSets.length, 2);
 		Assert.assertEqualsNoOrder(minimalDifferenceSets, new SerializableBitSet[]{c, d});
 	}
+
+	@Test
+	public void testCalculateWordSets() {
+		// the sets of testCalculateMinimalDifferenceSets as words, bit i is column i
+		long[] minimalSets = minimalStrategy.calculateMinimalDifferenceSets(new long[]{0b11011L, 0b11111L, 0b00001L, 0b01000L, 0b11010L});
+
+		Assert.assertEquals(minimalSets, new long[]{0b00001L, 0b01000L});
+	}
+
+	@Test
+	public void testWordSetsMatchSortingStrategy() {
+		Random random = new Random(37);
+		LongHashSet sets = new LongHashSet();
+		while (sets.size() < 3000) sets.add(random.nextLong() & random.nextLong() & 0x1FL << random.nextInt(40) | random.nextLong() & random.nextLong() & random.nextLong());
+		long[] uniqueSets = sets.toArray();
+
+		long[] minimalSets = new BucketingCalculateMinimalSetsStrategy(Long.SIZE).calculateMinimalDifferenceSets(uniqueSets);
+
+		Assert.assertEquals(minimalSets, new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(uniqueSets));
+	}
 }
@@ -0,0 +1,38 @@
+package hitucc.behaviour.differenceSets;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+public class CompareRowsStrategyTest {
+	private static final int[] COLUMN_COUNTS = new int[]{0, 1, 7, 13, 64, 71, 130};
+
+	private long[] naiveDifferenceWords(int[] rowA, int[] rowB) {
+		long[] words = new long[(rowA.length + 63) / 64];
+		for (int i = 0; i < rowA.length; i++) {
+			if (rowA[i] != rowB[i]) words[i / 64] |= 1L << (i % 64);
+		}
+		return words;
+	}
+
+	private void testStrategy(ICompareRowsStrategy strategy) {
+		Random random = new Random(17);
+		for (int columnCount : COLUMN_COUNTS) {
+			for (int pair = 0; pair < 50; pair++) {
+				int[] rowA = new int[columnCount];
+				int[] rowB = new int[columnCount];
+				for (int i = 0; i < columnCount; i++) {
+					rowA[i] = random.nextInt(3) - 1;
+					rowB[i] = random.nextInt(3) - 1;
+				}
+				Assert.assertEquals(strategy.differenceWords(rowA, rowB), naiveDifferenceWords(rowA, rowB));
+			}
+		}
+	}
+
+	@Test
+	public void testScalarStrategy() {
+		testStrategy(new ScalarCompareRowsStrategy());
+	}
+}
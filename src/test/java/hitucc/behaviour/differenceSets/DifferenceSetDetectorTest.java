@@ -7,6 +7,7 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class DifferenceSetDetectorTest {
 
@@ -282,4 +283,58 @@ public class DifferenceSetDetectorTest {
 		Assert.assertEquals(bitSets.size(), 3);
 		Assert.assertEqualsNoOrder(bitSets.toArray(), listG.toArray());
 	}
+
+	@Test
+	public void testSeedDifferenceSets() {
+		differenceSetDetector.seedDifferenceSets(new SerializableBitSet[]{createBitSet(0, 1, 0)});
+
+		differenceSetDetector.addDifferenceSet(new int[]{1, 1, 1}, new int[]{1, 2, 2});
+		differenceSetDetector.addDifferenceSet(new int[]{1, 1, 1}, new int[]{2, 1, 2});
+		Assert.assertEquals(differenceSetDetector.getCachedDifferenceSetCount(), 1);
+		Assert.assertEqualsNoOrder(differenceSetDetector.getMinimalDifferenceSets(), new SerializableBitSet[]{createBitSet(0, 1, 0), createBitSet(1, 0, 1)});
+	}
+
+	@Test
+	public void testWordDifferenceSets() {
+		DifferenceSetDetector wordDetector = new DifferenceSetDetector(
+				new HashAddDifferenceSetStrategy(), new SortingCalculateMinimalSetsStrategy(), new OneSidedMergeMinimalSetsStrategy(), 3
+		);
+		Assert.assertTrue(wordDetector.collectsWords());
+		wordDetector.seedDifferenceSets(new SerializableBitSet[]{createBitSet(0, 1, 0)});
+
+		wordDetector.addDifferenceSet(new int[]{1, 1, 1}, new int[]{1, 2, 2});
+		wordDetector.addDifferenceSet(new int[]{1, 1, 1}, new int[]{2, 1, 2});
+		wordDetector.addDifferenceSet(new int[]{1, 1, 1}, new int[]{2, 1, 2});
+		wordDetector.addDifferenceSet(0b111L);
+		Assert.assertEquals(wordDetector.getCachedDifferenceSetCount(), 1);
+		Assert.assertEqualsNoOrder(wordDetector.getMinimalDifferenceSets(), new SerializableBitSet[]{createBitSet(0, 1, 0), createBitSet(1, 0, 1)});
+
+		wordDetector.addDifferenceSet(0b001L);
+		Assert.assertEqualsNoOrder(wordDetector.getMinimalDifferenceSets(), new SerializableBitSet[]{createBitSet(0, 1, 0), createBitSet(1, 0, 0)});
+	}
+
+	@Test
+	public void testWordDifferenceSetsMatchBitSets() {
+		DifferenceSetDetector wordDetector = new DifferenceSetDetector(
+				new HashAddDifferenceSetStrategy(), new SortingCalculateMinimalSetsStrategy(), new OneSidedMergeMinimalSetsStrategy(), 64
+		);
+		Assert.assertFalse(new DifferenceSetDetector(
+				new HashAddDifferenceSetStrategy(), new SortingCalculateMinimalSetsStrategy(), new OneSidedMergeMinimalSetsStrategy(), 65
+		).collectsWords());
+
+		Random random = new java.util.Random(3);
+		for (int round = 0; round < 3; round++) {
+			for (int pair = 0; pair < 500; pair++) {
+				int[] rowA = new int[64];
+				int[] rowB = new int[64];
+				for (int i = 0; i < 64; i++) {
+					rowA[i] = random.nextInt(4) == 0 ? 0 : 1;
+					rowB[i] = random.nextInt(4) == 0 ? 0 : 1;
+				}
+				differenceSetDetector.addDifferenceSet(rowA, rowB);
+				wordDetector.addDifferenceSet(rowA, rowB);
+			}
+			Assert.assertEqualsNoOrder(wordDetector.getMinimalDifferenceSets(), differenceSetDetector.getMinimalDifferenceSets());
+		}
+	}
 }
@@ -0,0 +1,56 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.behaviour.dictionary.TableEncoder;
+import hitucc.model.EncodedTable;
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class FocusedSamplerTest {
+
+	@Test
+	public void testSample() {
+		Random random = new Random(7);
+		List<String[]> rows = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			rows.add(new String[]{"a" + random.nextInt(5), "b" + random.nextInt(20), "c" + random.nextInt(50), "d" + random.nextInt(3)});
+		}
+		TableEncoder tableEncoder = new TableEncoder(true);
+		tableEncoder.addRows(rows);
+		EncodedTable table = tableEncoder.encode();
+		int[] columnOrder = new int[]{3, 1, 0, 2};
+
+		// the minimal sets of all row pairs
+		DifferenceSetDetector detector = new DifferenceSetDetector(new HashAddDifferenceSetStrategy(), new BucketingCalculateMinimalSetsStrategy(4), new TwoSidedMergeMinimalSetsStrategy());
+		for (int a = 0; a < table.getRowCount(); a++) {
+			for (int b = a + 1; b < table.getRowCount(); b++) {
+				SerializableBitSet differenceSet = new SerializableBitSet(4);
+				for (int i = 0; i < columnOrder.length; i++) {
+					if (table.getColumn(columnOrder[i]).getValue(a) != table.getColumn(columnOrder[i]).getValue(b)) differenceSet.set(i);
+				}
+				detector.addDifferenceSet(differenceSet);
+			}
+		}
+		SerializableBitSet[] minimalSets = detector.getMinimalDifferenceSets();
+
+		FocusedSampler sampler = new FocusedSampler(table, columnOrder, 0.001);
+		SerializableBitSet[] sampledSets = sampler.sample();
+
+		Assert.assertTrue(sampledSets.length > 0);
+		Assert.assertTrue(sampler.getComparisons() < 500L * 499 / 2);
+		for (SerializableBitSet sampledSet : sampledSets) {
+			boolean dominated = false;
+			for (SerializableBitSet minimalSet : minimalSets) {
+				if (DifferenceSetDetector.containsAll(sampledSet, minimalSet)) dominated = true;
+			}
+			Assert.assertTrue(dominated, "sampled set is no difference set");
+			for (SerializableBitSet other : sampledSets) {
+				if (other != sampledSet) Assert.assertFalse(DifferenceSetDetector.containsAll(sampledSet, other), "sampled sets are not minimal");
+			}
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.behaviour.oracle.HittingSetOracle;
+import hitucc.model.EncodedTable;
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static hitucc.TestFixtures.createTable;
+
+public class HybridDifferenceSetSearchTest {
+	private static Set<SerializableBitSet> exactUCCs(EncodedTable table, int[] columnOrder) {
+		DifferenceSetDetector detector = new DifferenceSetDetector(new HashAddDifferenceSetStrategy(), new BucketingCalculateMinimalSetsStrategy(columnOrder.length), new TwoSidedMergeMinimalSetsStrategy());
+		for (int a = 0; a < table.getRowCount(); a++) {
+			for (int b = a + 1; b < table.getRowCount(); b++) {
+				SerializableBitSet differenceSet = new SerializableBitSet(columnOrder.length);
+				for (int i = 0; i < columnOrder.length; i++) {
+					if (table.getColumn(columnOrder[i]).getValue(a) != table.getColumn(columnOrder[i]).getValue(b)) differenceSet.set(i);
+				}
+				detector.addDifferenceSet(differenceSet);
+			}
+		}
+		return new HashSet<>(HittingSetOracle.minimalHittingSets(detector.getMinimalDifferenceSets(), columnOrder.length));
+	}
+
+	@Test
+	public void testSameUCCsAsExactSearch() {
+		Random random = new Random(3);
+		int[] columnOrder = new int[]{4, 0, 2, 1, 3};
+		for (int i = 0; i < 10; i++) {
+			EncodedTable table = createTable(random, 300, new int[]{4, 10, 30, 6, 80});
+
+			SerializableBitSet[] sampledSets = new FocusedSampler(table, columnOrder, 0.05).sample();
+			HybridDifferenceSetSearch hybridSearch = new HybridDifferenceSetSearch(table, columnOrder);
+			SerializableBitSet[] differenceSets = hybridSearch.search(sampledSets);
+			Set<SerializableBitSet> uccs = new HashSet<>(HittingSetOracle.minimalHittingSets(differenceSets, columnOrder.length));
+
+			Assert.assertEquals(uccs, exactUCCs(table, columnOrder));
+		}
+	}
+
+	@Test
+	public void testWithoutSampledSets() {
+		EncodedTable table = createTable(new Random(5), 100, new int[]{5, 5, 50});
+		int[] columnOrder = new int[]{0, 1, 2};
+
+		SerializableBitSet[] differenceSets = new HybridDifferenceSetSearch(table, columnOrder).search(new SerializableBitSet[0]);
+		Set<SerializableBitSet> uccs = new HashSet<>(HittingSetOracle.minimalHittingSets(differenceSets, columnOrder.length));
+
+		Assert.assertEquals(uccs, exactUCCs(table, columnOrder));
+	}
+}
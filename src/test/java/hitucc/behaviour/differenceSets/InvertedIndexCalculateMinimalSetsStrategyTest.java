@@ -0,0 +1,106 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static hitucc.behaviour.differenceSets.DifferenceSetDetectorTest.createBitSet;
+
+public class InvertedIndexCalculateMinimalSetsStrategyTest {
+
+	private ICalculateMinimalSetsStrategy minimalStrategy;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		minimalStrategy = new InvertedIndexCalculateMinimalSetsStrategy();
+	}
+
+	@Test
+	public void testCalculateMinimalDifferenceSets() {
+		SerializableBitSet a = createBitSet(1, 1, 0, 1, 1);
+		SerializableBitSet b = createBitSet(1, 1, 1, 1, 1);
+		SerializableBitSet c = createBitSet(1, 0, 0, 0, 0);
+		SerializableBitSet d = createBitSet(0, 0, 0, 1, 0);
+		SerializableBitSet e = createBitSet(0, 1, 0, 1, 1);
+
+		SerializableBitSet[] minimalDifferenceSets = minimalStrategy.calculateMinimalDifferenceSets(Arrays.asList(a, b, c, d, e));
+
+		Assert.assertEquals(minimalDifferenceSets.length, 2);
+		Assert.assertEqualsNoOrder(minimalDifferenceSets, new SerializableBitSet[]{c, d});
+	}
+
+	@Test
+	public void testCalculateWithOldMinimalSets() {
+		SerializableBitSet[] oldMinimalSets = new SerializableBitSet[]{createBitSet(0, 0, 1, 1, 0), createBitSet(1, 1, 0, 0, 0)};
+		List<SerializableBitSet> sets = Arrays.asList(createBitSet(0, 0, 1, 1, 1), createBitSet(0, 1, 0, 0, 0), createBitSet(0, 0, 1, 1, 0));
+
+		SerializableBitSet[] minimalDifferenceSets = minimalStrategy.calculateMinimalDifferenceSets(null, sets, oldMinimalSets);
+
+		Assert.assertEquals(minimalDifferenceSets, new SerializableBitSet[]{createBitSet(0, 1, 0, 0, 0), createBitSet(0, 0, 1, 1, 0)});
+	}
+
+	@Test
+	public void testDuplicateCandidates() {
+		List<SerializableBitSet> sets = Arrays.asList(createBitSet(0, 1, 1), createBitSet(1, 0, 0), createBitSet(0, 1, 1), createBitSet(1, 0, 0), createBitSet(1, 1, 1));
+
+		Assert.assertEquals(minimalStrategy.calculateMinimalDifferenceSets(sets), new SerializableBitSet[]{createBitSet(1, 0, 0), createBitSet(0, 1, 1)});
+	}
+
+	@Test
+	public void testEmptySetDominatesAll() {
+		List<SerializableBitSet> sets = Arrays.asList(createBitSet(0, 1, 0), createBitSet(0, 0, 0), createBitSet(1, 0, 1));
+
+		Assert.assertEquals(minimalStrategy.calculateMinimalDifferenceSets(sets), new SerializableBitSet[]{createBitSet(0, 0, 0)});
+	}
+
+	@Test
+	public void testMatchesSortingStrategy() {
+		Random random = new Random(25);
+		List<SerializableBitSet> sets = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			SerializableBitSet set = new SerializableBitSet(80);
+			for (int column = 0; column < 80; column++) {
+				if (random.nextInt(4) != 0) set.set(column);
+			}
+			sets.add(set);
+		}
+
+		SerializableBitSet[] expected = new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(sets);
+		SerializableBitSet[] minimalDifferenceSets = minimalStrategy.calculateMinimalDifferenceSets(sets);
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList(minimalDifferenceSets)), new HashSet<>(Arrays.asList(expected)));
+		Assert.assertEquals(minimalDifferenceSets.length, expected.length);
+	}
+
+	@Test
+	public void testWordSetsMatchDefault() {
+		Random random = new Random(31);
+		long[] sets = new long[5000];
+		for (int i = 0; i < sets.length; i++) {
+			// sparse sets with the highest column, some of them found twice
+			sets[i] = i % 10 == 0 ? sets[i / 2] : random.nextLong() & random.nextLong() & random.nextLong() | Long.MIN_VALUE;
+		}
+
+		long[] expected = new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(sets);
+		long[] minimalSets = minimalStrategy.calculateMinimalDifferenceSets(sets);
+
+		Assert.assertEquals(minimalSets.length, expected.length);
+		Arrays.sort(minimalSets);
+		Arrays.sort(expected);
+		Assert.assertEquals(minimalSets, expected);
+	}
+
+	@Test
+	public void testWordSetsOrderedByCardinality() {
+		long[] minimalSets = minimalStrategy.calculateMinimalDifferenceSets(new long[]{0b111000L, 0b0110L, 0b1L, 0b0110L, 0b1110L});
+
+		Assert.assertEquals(minimalSets, new long[]{0b1L, 0b0110L, 0b111000L});
+	}
+}
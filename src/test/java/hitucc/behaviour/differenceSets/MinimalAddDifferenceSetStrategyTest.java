@@ -0,0 +1,55 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static hitucc.behaviour.differenceSets.DifferenceSetDetectorTest.createBitSet;
+
+public class MinimalAddDifferenceSetStrategyTest {
+	private List<SerializableBitSet> iterableToArray(Iterable<SerializableBitSet> iterable) {
+		List<SerializableBitSet> list = new ArrayList<>();
+		for (SerializableBitSet set : iterable) list.add(set);
+		return list;
+	}
+
+	@Test
+	public void testAddDifferenceSet() {
+		IAddDifferenceSetStrategy addStrategy = new MinimalAddDifferenceSetStrategy();
+		addStrategy.addDifferenceSet(createBitSet(0, 1, 1, 0, 1));
+		addStrategy.addDifferenceSet(createBitSet(1, 1, 0, 0, 0));
+		Assert.assertEquals(addStrategy.getCachedDifferenceSetCount(), 2);
+
+		// dominated by the first set
+		addStrategy.addDifferenceSet(createBitSet(0, 1, 1, 1, 1));
+		// duplicate
+		addStrategy.addDifferenceSet(createBitSet(1, 1, 0, 0, 0));
+		Assert.assertEquals(addStrategy.getCachedDifferenceSetCount(), 2);
+
+		// evicts both sets
+		addStrategy.addDifferenceSet(createBitSet(0, 1, 0, 0, 0));
+		Assert.assertEquals(iterableToArray(addStrategy.getIterable()).toArray(), new SerializableBitSet[]{createBitSet(0, 1, 0, 0, 0)});
+	}
+
+	@Test
+	public void testMatchesMinimization() {
+		Random random = new Random(4);
+		IAddDifferenceSetStrategy addStrategy = new MinimalAddDifferenceSetStrategy();
+		List<SerializableBitSet> allSets = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			SerializableBitSet set = new SerializableBitSet(20);
+			for (int k = 0; k < 20; k++) {
+				if (random.nextInt(3) > 0) set.set(k);
+			}
+			allSets.add(set);
+			addStrategy.addDifferenceSet(set);
+		}
+
+		SerializableBitSet[] expected = new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(allSets);
+		Assert.assertEqualsNoOrder(iterableToArray(addStrategy.getIterable()).toArray(), expected);
+	}
+}
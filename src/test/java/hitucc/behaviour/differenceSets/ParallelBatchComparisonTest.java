@@ -0,0 +1,76 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.EncodedBatch;
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static hitucc.TestFixtures.createBatch;
+import static hitucc.TestFixtures.cyclicValueCounts;
+
+public class ParallelBatchComparisonTest {
+	private static final int COLUMNS = 12;
+	private static final int[] VALUE_COUNTS = cyclicValueCounts(COLUMNS, 4);
+
+	private static Supplier<DifferenceSetDetector> detectorFactory(int columnCount) {
+		return () -> new DifferenceSetDetector(new HashAddDifferenceSetStrategy(), new BucketingCalculateMinimalSetsStrategy(COLUMNS), new TwoSidedMergeMinimalSetsStrategy(), columnCount);
+	}
+
+	private static SerializableBitSet[] sequentialMinimalSets(EncodedBatch batchA, EncodedBatch batchB) {
+		DifferenceSetDetector detector = detectorFactory(0).get();
+		if (batchB == null) {
+			new CrossProductCompareBatchesStrategy().compareBatch(batchA, detector);
+		} else {
+			new CrossProductCompareBatchesStrategy().compareBatches(batchA, batchB, detector);
+		}
+		detector.removeDuplicates();
+		return detector.getMinimalDifferenceSets();
+	}
+
+	private static void assertCardinalityOrder(SerializableBitSet[] sets) {
+		for (int i = 1; i < sets.length; i++) Assert.assertTrue(sets[i - 1].cardinality() <= sets[i].cardinality());
+	}
+
+	@Test
+	public void testCompareBatch() throws Exception {
+		EncodedBatch batch = createBatch(new Random(21), 300, VALUE_COUNTS);
+		SerializableBitSet[] expected = sequentialMinimalSets(batch, null);
+
+		for (int parallelism : new int[]{1, 3, 8}) {
+			SerializableBitSet[] minimalSets = new ParallelBatchComparison(new CrossProductCompareBatchesStrategy(), detectorFactory(0), parallelism)
+					.compare(batch, null, new SerializableBitSet[0]).get();
+			Assert.assertEquals(new HashSet<>(Arrays.asList(minimalSets)), new HashSet<>(Arrays.asList(expected)));
+			Assert.assertEquals(minimalSets.length, expected.length);
+			assertCardinalityOrder(minimalSets);
+		}
+	}
+
+	@Test
+	public void testCompareBatchesWithKnownSets() throws Exception {
+		Random random = new Random(22);
+		EncodedBatch batchA = createBatch(random, 150, VALUE_COUNTS);
+		EncodedBatch batchB = createBatch(random, 170, VALUE_COUNTS);
+		EncodedBatch batchC = createBatch(random, 90, VALUE_COUNTS);
+		SerializableBitSet[] knownMinimalSets = sequentialMinimalSets(batchC, null);
+
+		DifferenceSetDetector detector = detectorFactory(0).get();
+		new CrossProductCompareBatchesStrategy().compareBatches(batchA, batchB, detector);
+		detector.removeDuplicates();
+		detector.getMinimalDifferenceSets();
+		SerializableBitSet[] expected = detector.mergeMinimalDifferenceSets(knownMinimalSets);
+
+		// word mode and bit set mode have to agree as well
+		for (int columnCount : new int[]{0, COLUMNS}) {
+			SerializableBitSet[] minimalSets = new ParallelBatchComparison(new BitSlicedCompareBatchesStrategy(), detectorFactory(columnCount), 4)
+					.compare(batchA, batchB, knownMinimalSets).get();
+			Assert.assertEquals(new HashSet<>(Arrays.asList(minimalSets)), new HashSet<>(Arrays.asList(expected)));
+			Assert.assertEquals(minimalSets.length, expected.length);
+			assertCardinalityOrder(minimalSets);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.EncodedBatch;
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static hitucc.TestFixtures.createBatch;
+
+public class PliCompareBatchesStrategyTest {
+	private static final int COLUMNS = 5;
+
+	private static DifferenceSetDetector createDetector() {
+		return new DifferenceSetDetector(new HashAddDifferenceSetStrategy(), new BucketingCalculateMinimalSetsStrategy(COLUMNS), new TwoSidedMergeMinimalSetsStrategy());
+	}
+
+	private static Set<SerializableBitSet> minimalSets(DifferenceSetDetector detector) {
+		return new HashSet<>(Arrays.asList(detector.getMinimalDifferenceSets()));
+	}
+
+	@Test
+	public void testSameMinimalSetsAsCrossProduct() {
+		Random random = new Random(42);
+		int[] valueCounts = new int[]{40, 60, 3, 100, 1000};
+		for (int i = 0; i < 20; i++) {
+			EncodedBatch batchA = createBatch(random, 50, valueCounts);
+			EncodedBatch batchB = createBatch(random, 30, valueCounts);
+
+			DifferenceSetDetector crossProduct = createDetector();
+			new CrossProductCompareBatchesStrategy().compareBatch(batchA, crossProduct);
+			new CrossProductCompareBatchesStrategy().compareBatches(batchA, batchB, crossProduct);
+			DifferenceSetDetector pli = createDetector();
+			new PliCompareBatchesStrategy().compareBatch(batchA, pli);
+			new PliCompareBatchesStrategy().compareBatches(batchA, batchB, pli);
+
+			Assert.assertEquals(minimalSets(pli), minimalSets(crossProduct));
+		}
+	}
+
+	@Test
+	public void testFullSetIfNoPairAgrees() {
+		int[] valueCounts = new int[]{1000, 1000, 1000, 1000, 1000};
+		EncodedBatch batch = createBatch(new Random(1), 2, valueCounts);
+		for (int i = 0; i < COLUMNS; i++) {
+			batch.getColumn(i).setValue(0, 1);
+			batch.getColumn(i).setValue(1, 2);
+		}
+
+		DifferenceSetDetector pli = createDetector();
+		new PliCompareBatchesStrategy().compareBatch(batch, pli);
+
+		SerializableBitSet fullSet = new SerializableBitSet(COLUMNS);
+		fullSet.set(0, COLUMNS);
+		Assert.assertEquals(pli.getMinimalDifferenceSets(), new SerializableBitSet[]{fullSet});
+	}
+}
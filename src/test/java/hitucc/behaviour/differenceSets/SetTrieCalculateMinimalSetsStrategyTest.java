@@ -0,0 +1,91 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static hitucc.behaviour.differenceSets.DifferenceSetDetectorTest.createBitSet;
+
+public class SetTrieCalculateMinimalSetsStrategyTest {
+
+	private ICalculateMinimalSetsStrategy minimalStrategy;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		minimalStrategy = new SetTrieCalculateMinimalSetsStrategy();
+	}
+
+	@Test
+	public void testCalculateMinimalDifferenceSets() {
+		SerializableBitSet a = createBitSet(1, 1, 0, 1, 1);
+		SerializableBitSet b = createBitSet(1, 1, 1, 1, 1);
+		SerializableBitSet c = createBitSet(1, 0, 0, 0, 0);
+		SerializableBitSet d = createBitSet(0, 0, 0, 1, 0);
+		SerializableBitSet e = createBitSet(0, 1, 0, 1, 1);
+
+		SerializableBitSet[] minimalDifferenceSets = minimalStrategy.calculateMinimalDifferenceSets(Arrays.asList(a, b, c, d, e));
+
+		Assert.assertEquals(minimalDifferenceSets.length, 2);
+		Assert.assertEqualsNoOrder(minimalDifferenceSets, new SerializableBitSet[]{c, d});
+	}
+
+	@Test
+	public void testCalculateWithOldMinimalSets() {
+		SerializableBitSet[] oldMinimalSets = new SerializableBitSet[]{createBitSet(0, 0, 1, 1, 0), createBitSet(1, 1, 0, 0, 0)};
+		List<SerializableBitSet> sets = Arrays.asList(createBitSet(0, 0, 1, 1, 1), createBitSet(0, 1, 0, 0, 0), createBitSet(0, 0, 1, 1, 0));
+
+		SerializableBitSet[] minimalDifferenceSets = minimalStrategy.calculateMinimalDifferenceSets(null, sets, oldMinimalSets);
+
+		Assert.assertEquals(minimalDifferenceSets, new SerializableBitSet[]{createBitSet(0, 1, 0, 0, 0), createBitSet(0, 0, 1, 1, 0)});
+	}
+
+	@Test
+	public void testMatchesSortingStrategy() {
+		Random random = new Random(23);
+		List<SerializableBitSet> sets = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			SerializableBitSet set = new SerializableBitSet(80);
+			for (int column = 0; column < 80; column++) {
+				if (random.nextInt(4) != 0) set.set(column);
+			}
+			sets.add(set);
+		}
+
+		SerializableBitSet[] expected = new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(sets);
+		SerializableBitSet[] minimalDifferenceSets = minimalStrategy.calculateMinimalDifferenceSets(sets);
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList(minimalDifferenceSets)), new HashSet<>(Arrays.asList(expected)));
+		for (int i = 1; i < minimalDifferenceSets.length; i++) {
+			Assert.assertTrue(minimalDifferenceSets[i - 1].cardinality() <= minimalDifferenceSets[i].cardinality());
+		}
+	}
+
+	@Test
+	public void testWordSetsMatchDefault() {
+		Random random = new Random(29);
+		long[] sets = new long[5000];
+		for (int i = 0; i < sets.length; i++) {
+			// sparse sets with the highest column, some of them found twice
+			sets[i] = i % 10 == 0 ? sets[i / 2] : random.nextLong() & random.nextLong() & random.nextLong() | Long.MIN_VALUE;
+		}
+
+		long[] expected = new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(sets);
+		long[] minimalSets = minimalStrategy.calculateMinimalDifferenceSets(sets);
+
+		Assert.assertEquals(minimalSets, expected);
+	}
+
+	@Test
+	public void testWordSetsWithEmptySet() {
+		long[] minimalSets = minimalStrategy.calculateMinimalDifferenceSets(new long[]{0b101L, 0L, 0b1L});
+
+		Assert.assertEquals(minimalSets, new long[]{0L});
+	}
+}
@@ -0,0 +1,69 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static hitucc.behaviour.differenceSets.DifferenceSetDetectorTest.createBitSet;
+
+public class SlabAddDifferenceSetStrategyTest {
+	private IAddDifferenceSetStrategy addStrategy;
+
+	private List<SerializableBitSet> iterableToArray(Iterable<SerializableBitSet> iterable) {
+		List<SerializableBitSet> list = new ArrayList<>();
+		for (SerializableBitSet set : iterable) list.add(set);
+		return list;
+	}
+
+	@BeforeMethod
+	private void beforeMethod() {
+		addStrategy = new SlabAddDifferenceSetStrategy(5);
+	}
+
+	@Test
+	public void testAddDifferenceSet() {
+		SerializableBitSet[] testSets = new SerializableBitSet[]{
+				createBitSet(0, 1, 1, 0, 1),
+				createBitSet(0, 1, 0, 0, 0),
+				createBitSet(1, 0, 0, 0, 0)
+		};
+
+		for (SerializableBitSet set : testSets) addStrategy.addDifferenceSet(set);
+
+		// added 3 sets
+		Assert.assertEquals(addStrategy.getCachedDifferenceSetCount(), 3);
+		Assert.assertEqualsNoOrder(iterableToArray(addStrategy.getIterable()).toArray(), testSets);
+
+		// not added because the new set is a duplicate
+		addStrategy.addDifferenceSet(createBitSet(1, 0, 0, 0, 0));
+		Assert.assertEquals(addStrategy.getCachedDifferenceSetCount(), 3);
+		Assert.assertEqualsNoOrder(iterableToArray(addStrategy.getIterable()).toArray(), testSets);
+
+		addStrategy.clearState();
+		Assert.assertEquals(addStrategy.getCachedDifferenceSetCount(), 0);
+		Assert.assertFalse(addStrategy.getIterable().iterator().hasNext());
+	}
+
+	@Test
+	public void testWideDifferenceSets() {
+		int columns = 150;
+		addStrategy = new SlabAddDifferenceSetStrategy(columns);
+		addStrategy.setNeededCapacity(10);
+		Set<SerializableBitSet> expected = new HashSet<>();
+		Random random = new Random(9);
+		for (int i = 0; i < 20000; i++) {
+			SerializableBitSet set = new SerializableBitSet(columns);
+			for (int k = 0; k < columns; k++) {
+				if (random.nextInt(40) == 0) set.set(k);
+			}
+			expected.add(set);
+			addStrategy.addDifferenceSet(set);
+		}
+
+		Assert.assertEquals(addStrategy.getCachedDifferenceSetCount(), expected.size());
+		Assert.assertEquals(new HashSet<>(iterableToArray(addStrategy.getIterable())), expected);
+	}
+}
@@ -42,4 +42,12 @@ public class SortingCalculateMinimalSetsStrategyTest {
 		Assert.assertEquals(minimalDifferenceSets.length, 2);
 		Assert.assertEqualsNoOrder(minimalDifferenceSets, new SerializableBitSet[]{c, d});
 	}
+
+	@Test
+	public void testCalculateWordSets() {
+		// the sets of testCalculateMinimalDifferenceSets as words, bit i is column i
+		long[] minimalSets = minimalStrategy.calculateMinimalDifferenceSets(new long[]{0b11011L, 0b11111L, 0b00001L, 0b01000L, 0b11010L});
+
+		Assert.assertEquals(minimalSets, new long[]{0b00001L, 0b01000L});
+	}
 }
@@ -0,0 +1,85 @@
+package hitucc.behaviour.differenceSets;
+
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SpillingAddDifferenceSetStrategyTest {
+	private static final int COLUMNS = 100;
+
+	private static class PressureGovernor extends MemoryGovernor {
+		@Override
+		public boolean isUnderPressure() {
+			return true;
+		}
+	}
+
+	private SerializableBitSet randomSet(Random random) {
+		SerializableBitSet set = new SerializableBitSet(COLUMNS);
+		for (int k = 0; k < COLUMNS; k++) {
+			if (random.nextInt(4) > 0) set.set(k);
+		}
+		return set;
+	}
+
+	@Test
+	public void testSpilledRunsAreMerged() {
+		SpillingAddDifferenceSetStrategy addStrategy = new SpillingAddDifferenceSetStrategy(new HashAddDifferenceSetStrategy(), COLUMNS, new MemoryGovernor());
+		DifferenceSetDetector detector = new DifferenceSetDetector(addStrategy, new SortingCalculateMinimalSetsStrategy(), new TwoSidedMergeMinimalSetsStrategy());
+		Assert.assertNull(addStrategy.getSpilledRuns());
+
+		Random random = new Random(8);
+		List<SerializableBitSet> allSets = new ArrayList<>();
+		for (int run = 0; run < 3; run++) {
+			for (int i = 0; i < 500; i++) {
+				SerializableBitSet set = randomSet(random);
+				allSets.add(set);
+				detector.addDifferenceSet(set);
+			}
+			if (run < 2) addStrategy.spill();
+		}
+		Assert.assertEquals(addStrategy.getCachedDifferenceSetCount(), allSets.size());
+
+		DifferenceSetRuns runs = addStrategy.getSpilledRuns();
+		Assert.assertEquals(runs.getSpilledRunCount(), 2);
+		int lastCardinality = 0;
+		int count = 0;
+		for (SerializableBitSet set : runs) {
+			Assert.assertTrue(set.cardinality() >= lastCardinality);
+			lastCardinality = set.cardinality();
+			count += 1;
+		}
+		Assert.assertEquals(count, allSets.size());
+
+		SerializableBitSet[] expected = new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(allSets);
+		Assert.assertEqualsNoOrder(detector.getMinimalDifferenceSets(), expected);
+		Assert.assertNull(addStrategy.getSpilledRuns());
+	}
+
+	@Test
+	public void testSpillUnderPressure() {
+		SpillingAddDifferenceSetStrategy addStrategy = new SpillingAddDifferenceSetStrategy(new HashAddDifferenceSetStrategy(), COLUMNS, new PressureGovernor());
+		DifferenceSetDetector detector = new DifferenceSetDetector(addStrategy, new BucketingCalculateMinimalSetsStrategy(COLUMNS), new TwoSidedMergeMinimalSetsStrategy());
+		SerializableBitSet seed = new SerializableBitSet(COLUMNS);
+		seed.set(0, 10);
+		SerializableBitSet[] oldMinimalSets = new SerializableBitSet[]{seed};
+		detector.seedDifferenceSets(oldMinimalSets);
+
+		Random random = new Random(9);
+		List<SerializableBitSet> allSets = new ArrayList<>();
+		allSets.add(seed);
+		for (int i = 0; i < 40000; i++) {
+			SerializableBitSet set = randomSet(random);
+			allSets.add(set);
+			detector.addDifferenceSet(set);
+		}
+		Assert.assertNotNull(addStrategy.getSpilledRuns());
+
+		SerializableBitSet[] expected = new SortingCalculateMinimalSetsStrategy().calculateMinimalDifferenceSets(allSets);
+		Assert.assertEqualsNoOrder(detector.getMinimalDifferenceSets(), expected);
+	}
+}
@@ -0,0 +1,96 @@
+package hitucc.behaviour.input;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.opencsv.CSVParser;
+import hitucc.ReadDataTable;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+public class DecompressionPipelineTest {
+	private File file;
+	private byte[] content;
+
+	@BeforeMethod
+	private void beforeMethod() throws IOException {
+		file = File.createTempFile("decompression-pipeline", ".csv");
+
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			builder.append(i).append(",name").append(i % 13).append(",\"quoted, value\"\n");
+		}
+		content = builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@AfterMethod
+	private void afterMethod() {
+		file.delete();
+	}
+
+	private void write(OutputStream output) throws IOException {
+		try (OutputStream out = output) {
+			out.write(content);
+		}
+	}
+
+	private byte[] readAll(InputStream input) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (InputStream in = input) {
+			byte[] buffer = new byte[777];
+			int length;
+			while ((length = in.read(buffer)) != -1) out.write(buffer, 0, length);
+		}
+		return out.toByteArray();
+	}
+
+	@Test
+	public void testGzip() throws IOException {
+		write(new GZIPOutputStream(new FileOutputStream(file)));
+
+		Assert.assertEquals(DecompressionPipeline.detectCompression(file.getPath()), DecompressionPipeline.Compression.GZIP);
+		Assert.assertEquals(readAll(DecompressionPipeline.open(file.getPath(), 1000, 2)), content);
+	}
+
+	@Test
+	public void testZstd() throws IOException {
+		write(new ZstdOutputStream(new FileOutputStream(file)));
+
+		Assert.assertEquals(DecompressionPipeline.detectCompression(file.getPath()), DecompressionPipeline.Compression.ZSTD);
+		Assert.assertEquals(readAll(DecompressionPipeline.open(file.getPath(), 1000, 2)), content);
+	}
+
+	@Test
+	public void testUncompressed() throws IOException {
+		write(new FileOutputStream(file));
+
+		Assert.assertEquals(DecompressionPipeline.detectCompression(file.getPath()), DecompressionPipeline.Compression.NONE);
+		Assert.assertEquals(readAll(DecompressionPipeline.open(file.getPath())), content);
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void testCorruptInput() throws IOException {
+		byte[] corrupt = new byte[]{(byte) 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, 0, 1, 2, 3, 4, 5};
+		Files.write(file.toPath(), corrupt);
+		readAll(DecompressionPipeline.open(file.getPath()));
+	}
+
+	@Test
+	public void testReadCompressedTable() throws IOException {
+		write(new FileOutputStream(file));
+		String[][] expected = ReadDataTable.readTable(file.getPath(), ',', false, CSVParser.DEFAULT_QUOTE_CHARACTER, CSVParser.DEFAULT_ESCAPE_CHARACTER);
+
+		write(new GZIPOutputStream(new FileOutputStream(file)));
+		String[][] records = ReadDataTable.readTable(file.getPath(), ',', false, CSVParser.DEFAULT_QUOTE_CHARACTER, CSVParser.DEFAULT_ESCAPE_CHARACTER, true);
+
+		Assert.assertEquals(records.length, expected.length);
+		for (int i = 0; i < expected.length; i++) {
+			Assert.assertEquals(records[i], expected[i]);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package hitucc.behaviour.input;
+
+import com.opencsv.CSVParser;
+import hitucc.ReadDataTable;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MappedCsvReaderTest {
+	private File file;
+
+	@BeforeMethod
+	private void beforeMethod() throws IOException {
+		file = File.createTempFile("mapped-csv-reader", ".csv");
+
+		StringBuilder content = new StringBuilder("id,name,comment\n");
+		for (int i = 0; i < 200; i++) {
+			content.append(i).append(",name").append(i % 7).append(",");
+			if (i % 5 == 0) content.append("\"quoted, with\nnew line ").append(i).append("\"");
+			else if (i % 11 == 0) content.append("\"escaped \\\" quote\"");
+			else content.append("plain");
+			content.append("\n");
+		}
+		content.append("broken,line\n");
+		content.append("last,row,without new line");
+
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(content.toString());
+		}
+	}
+
+	@AfterMethod
+	private void afterMethod() {
+		file.delete();
+	}
+
+	private String[][] readSequential(boolean hasHeader) throws IOException {
+		return ReadDataTable.readTable(file.getPath(), ',', hasHeader, CSVParser.DEFAULT_QUOTE_CHARACTER, CSVParser.DEFAULT_ESCAPE_CHARACTER);
+	}
+
+	private List<String[]> readMapped(boolean hasHeader, int chunkSize) throws IOException {
+		return new MappedCsvReader(file.getPath(), ',', hasHeader, CSVParser.DEFAULT_QUOTE_CHARACTER, CSVParser.DEFAULT_ESCAPE_CHARACTER, 4, chunkSize).readAll();
+	}
+
+	@Test
+	public void testReadAllEqualsSequentialRead() throws IOException {
+		String[][] expected = readSequential(true);
+
+		for (int chunkSize : new int[]{1, 7, 64, 1000, MappedCsvReader.DEFAULT_CHUNK_SIZE}) {
+			List<String[]> records = readMapped(true, chunkSize);
+
+			Assert.assertEquals(records.size(), expected.length, "chunk size " + chunkSize);
+			for (int i = 0; i < expected.length; i++) {
+				Assert.assertEquals(records.get(i), expected[i], "chunk size " + chunkSize + ", row " + i);
+			}
+		}
+	}
+
+	@Test
+	public void testReadAllWithHeader() throws IOException {
+		List<String[]> withHeader = readMapped(false, 64);
+		List<String[]> withoutHeader = readMapped(true, 64);
+
+		Assert.assertEquals(withHeader.size(), withoutHeader.size() + 1);
+		Assert.assertEquals(withHeader.get(0), new String[]{"id", "name", "comment"});
+		Assert.assertEquals(withoutHeader.get(0)[0], "0");
+	}
+
+	@Test
+	public void testSkipLinesWithWrongColumnCount() throws IOException {
+		for (String[] record : readMapped(true, 32)) {
+			Assert.assertEquals(record.length, 3);
+		}
+	}
+
+	@Test
+	public void testReadSlices() throws IOException {
+		String[][] expected = readSequential(true);
+		MappedCsvReader reader = new MappedCsvReader(file.getPath(), ',', true, CSVParser.DEFAULT_QUOTE_CHARACTER, CSVParser.DEFAULT_ESCAPE_CHARACTER, 2, 16);
+
+		for (int sliceCount : new int[]{1, 3, 8}) {
+			long[] boundaries = reader.findSliceBoundaries(sliceCount);
+			Assert.assertTrue(boundaries.length - 1 <= sliceCount);
+			Assert.assertEquals(boundaries[0], 0);
+			Assert.assertEquals(boundaries[boundaries.length - 1], file.length());
+
+			List<String[]> records = new ArrayList<>();
+			for (int i = 0; i + 1 < boundaries.length; i++) {
+				reader.read(boundaries[i], boundaries[i + 1], block -> {
+					for (String[] record : block) if (record.length == 3) records.add(record);
+				});
+			}
+
+			Assert.assertEquals(records.size(), expected.length, "slice count " + sliceCount);
+			for (int i = 0; i < expected.length; i++) {
+				Assert.assertEquals(records.get(i), expected[i], "slice count " + sliceCount + ", row " + i);
+			}
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package hitucc.behaviour.profiling;
+
+import hitucc.behaviour.dictionary.TableEncoder;
+import hitucc.model.ColumnProfile;
+import hitucc.model.EncodedTable;
+import hitucc.model.SerializableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ColumnProfilerTest {
+
+	private static EncodedTable encode(String[]... rows) {
+		List<String[]> rowList = new ArrayList<>();
+		Collections.addAll(rowList, rows);
+		TableEncoder tableEncoder = new TableEncoder(true);
+		tableEncoder.addRows(rowList);
+		return tableEncoder.encode();
+	}
+
+	@Test
+	public void testProfile() {
+		// 0: key, 1: constant, 2 and 4: same partition, 3: other partition
+		EncodedTable table = encode(
+				new String[]{"1", "c", "a", "x", "A"},
+				new String[]{"2", "c", "a", "y", "A"},
+				new String[]{"3", "c", "b", "x", "B"},
+				new String[]{"4", "c", "b", "x", "B"});
+		ColumnProfile profile = ColumnProfiler.profile(table);
+
+		Assert.assertEquals(profile.getKeyColumns(), new int[]{0});
+		Assert.assertEquals(profile.getConstantColumns(), new int[]{1});
+		Assert.assertEquals(profile.getRepresentative(4), 2);
+		Assert.assertEquals(profile.getSearchColumns(), new int[]{2, 3});
+	}
+
+	@Test
+	public void testDifferentPartitionsWithSameCardinality() {
+		EncodedTable table = encode(
+				new String[]{"a", "x"},
+				new String[]{"a", "y"},
+				new String[]{"b", "x"},
+				new String[]{"b", "y"});
+		ColumnProfile profile = ColumnProfiler.profile(table);
+
+		Assert.assertEquals(profile.getSearchColumns(), new int[]{0, 1});
+	}
+
+	@Test
+	public void testProfileValueCounts() {
+		ColumnProfile profile = ColumnProfiler.profile(new int[]{10, 1, 4}, 10);
+
+		Assert.assertEquals(profile.getKeyColumns(), new int[]{0});
+		Assert.assertEquals(profile.getConstantColumns(), new int[]{1});
+		Assert.assertEquals(profile.getSearchColumns(), new int[]{2});
+	}
+
+	@Test
+	public void testSearchAllColumnsIfNoneRemains() {
+		ColumnProfile profile = ColumnProfiler.profile(encode(new String[]{"a", "b"}, new String[]{"a", "b"}));
+
+		Assert.assertEquals(profile.getSearchColumns(), new int[]{0, 1});
+		Assert.assertEquals(profile.getKeyColumns().length, 0);
+	}
+
+	@Test
+	public void testExpand() {
+		ColumnProfile profile = new ColumnProfile(new int[]{ColumnProfile.KEY_COLUMN, ColumnProfile.CONSTANT_COLUMN, 2, 3, 2}, new int[]{3, 2});
+
+		// the search found the UCC of both search columns, column 4 can replace column 2
+		SerializableBitSet searchUCC = new SerializableBitSet(2);
+		searchUCC.set(0);
+		searchUCC.set(1);
+		List<SerializableBitSet> uccs = profile.expand(Collections.singletonList(searchUCC));
+
+		Assert.assertEquals(uccs.size(), 3);
+		Assert.assertEquals(uccs.get(0).nextSetBit(0), 0);
+		Assert.assertEquals(uccs.get(0).cardinality(), 1);
+		for (SerializableBitSet ucc : uccs.subList(1, 3)) {
+			Assert.assertTrue(ucc.get(3));
+			Assert.assertTrue(ucc.get(2) ^ ucc.get(4));
+			Assert.assertEquals(ucc.cardinality(), 2);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package hitucc.model;
+
+import hitucc.behaviour.dictionary.IColumn;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class EncodedBatchTest {
+	private static final int ROWS = 250;
+
+	private EncodedBatch batch;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		IColumn[] columns = new IColumn[]{IColumn.create(ROWS, 3), IColumn.create(ROWS, 1000), IColumn.create(ROWS, 100000)};
+		for (int row = 0; row < ROWS; row++) {
+			columns[0].setValue(row, row % 3);
+			columns[1].setValue(row, row * 3);
+			columns[2].setValue(row, row * 400);
+		}
+		batch = new EncodedBatch(columns, ROWS);
+	}
+
+	@Test
+	private void testDecodeRows() {
+		int[][] rows = batch.decodeRows();
+		Assert.assertEquals(rows.length, ROWS);
+		for (int row = 0; row < ROWS; row++) {
+			Assert.assertEquals(rows[row], new int[]{row % 3, row * 3, row * 400});
+		}
+	}
+
+	@Test
+	private void testDecodeColumns() {
+		int[][] columns = batch.decodeColumns();
+		Assert.assertEquals(columns.length, 3);
+		for (int row = 0; row < ROWS; row++) {
+			Assert.assertEquals(columns[0][row], row % 3);
+			Assert.assertEquals(columns[1][row], row * 3);
+			Assert.assertEquals(columns[2][row], row * 400);
+		}
+	}
+
+	@Test
+	private void testSliceAndReassemble() {
+		EncodedBatches batches = new EncodedBatches(1, new int[]{ROWS});
+		for (int from = 0; from < ROWS; from += 100) {
+			EncodedBatch split = batch.slice(from, Math.min(from + 100, ROWS));
+			Assert.assertEquals(split.getColumn(2).getBitsPerValue(), batch.getColumn(2).getBitsPerValue());
+			batches.addToBatch(0, split);
+		}
+
+		Assert.assertTrue(batches.hasBatch(0));
+		int[][] expected = batch.decodeRows();
+		int[][] rows = batches.getBatch(0).decodeRows();
+		for (int row = 0; row < ROWS; row++) {
+			Assert.assertEquals(rows[row], expected[row]);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package hitucc.model;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class LongHashSetTest {
+	@Test
+	public void testAddAndContains() {
+		LongHashSet set = new LongHashSet(4);
+		Set<Long> expected = new HashSet<>();
+		Random random = new Random(5);
+		for (int i = 0; i < 10000; i++) {
+			long value = random.nextInt(3000) - 5;
+			Assert.assertEquals(set.add(value), expected.add(value));
+		}
+
+		Assert.assertEquals(set.size(), expected.size());
+		for (long value = -10; value < 3010; value++) {
+			Assert.assertEquals(set.contains(value), expected.contains(value));
+		}
+
+		long[] values = set.toArray();
+		Arrays.sort(values);
+		Assert.assertEquals(values, expected.stream().mapToLong(Long::longValue).sorted().toArray());
+	}
+
+	@Test
+	public void testZeroAndClear() {
+		LongHashSet set = new LongHashSet();
+		Assert.assertTrue(set.add(0L));
+		Assert.assertFalse(set.add(0L));
+		Assert.assertTrue(set.add(-1L));
+		Assert.assertEquals(set.size(), 2);
+
+		set.clear();
+		Assert.assertEquals(set.size(), 0);
+		Assert.assertFalse(set.contains(0L));
+		Assert.assertFalse(set.contains(-1L));
+		Assert.assertEquals(set.toArray().length, 0);
+	}
+}
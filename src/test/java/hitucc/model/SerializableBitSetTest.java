@@ -0,0 +1,90 @@
+package hitucc.model;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+public class SerializableBitSetTest {
+	private static final int COLUMNS = 150;
+
+	private static SerializableBitSet randomSet(Random random, int capacity) {
+		SerializableBitSet set = new SerializableBitSet(capacity);
+		for (int i = 0; i < capacity; i++) {
+			if (random.nextInt(8) == 0) set.set(i);
+		}
+		return set;
+	}
+
+	private static boolean isSubset(SerializableBitSet subset, SerializableBitSet set) {
+		for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+			if (!set.get(i)) return false;
+		}
+		return true;
+	}
+
+	@Test
+	public void testSummariesFollowModifications() {
+		SerializableBitSet set = new SerializableBitSet(COLUMNS);
+		Assert.assertEquals(set.cardinality(), 0);
+		Assert.assertEquals(set.signature(), 0L);
+
+		set.set(3);
+		set.set(64 + 5);
+		Assert.assertEquals(set.cardinality(), 2);
+		Assert.assertEquals(set.signature(), (1L << 3) | (1L << 5));
+
+		set.clear(3);
+		Assert.assertEquals(set.cardinality(), 1);
+		Assert.assertEquals(set.signature(), 1L << 5);
+
+		set.set(0, 10);
+		Assert.assertEquals(set.cardinality(), 11);
+
+		SerializableBitSet other = new SerializableBitSet(COLUMNS);
+		other.set(128);
+		set.or(other);
+		Assert.assertEquals(set.cardinality(), 12);
+		set.andNot(other);
+		Assert.assertEquals(set.cardinality(), 11);
+		set.xor(other);
+		Assert.assertEquals(set.cardinality(), 12);
+		set.and(other);
+		Assert.assertEquals(set.cardinality(), 1);
+		set.flip(0);
+		Assert.assertEquals(set.cardinality(), 2);
+		set.clear();
+		Assert.assertEquals(set.cardinality(), 0);
+		Assert.assertEquals(set.signature(), 0L);
+	}
+
+	@Test
+	public void testIsSubsetOf() {
+		Random random = new Random(24);
+		for (int i = 0; i < 2000; i++) {
+			SerializableBitSet set = randomSet(random, COLUMNS);
+			SerializableBitSet subset = set.clone();
+			for (int column = subset.nextSetBit(0); column >= 0; column = subset.nextSetBit(column + 1)) {
+				if (random.nextBoolean()) subset.clear(column);
+			}
+			SerializableBitSet other = randomSet(random, COLUMNS);
+
+			Assert.assertTrue(subset.isSubsetOf(set));
+			Assert.assertTrue(set.isSubsetOf(set));
+			Assert.assertEquals(set.isSubsetOf(subset), isSubset(set, subset));
+			Assert.assertEquals(other.isSubsetOf(set), isSubset(other, set));
+		}
+	}
+
+	@Test
+	public void testIsSubsetOfWithOtherWordCount() {
+		SerializableBitSet narrow = new SerializableBitSet(10);
+		narrow.set(2);
+		SerializableBitSet wide = new SerializableBitSet(COLUMNS);
+		wide.set(2);
+		wide.set(130);
+
+		Assert.assertTrue(narrow.isSubsetOf(wide));
+		Assert.assertFalse(wide.isSubsetOf(narrow));
+	}
+}
@@ -0,0 +1,100 @@
+package hitucc.model;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class SetTrieTest {
+	private static final int COLUMNS = 12;
+
+	private SerializableBitSet randomSet(Random random) {
+		SerializableBitSet set = new SerializableBitSet(COLUMNS);
+		for (int i = 0; i < COLUMNS; i++) {
+			if (random.nextInt(3) == 0) set.set(i);
+		}
+		return set;
+	}
+
+	private static boolean isSubset(SerializableBitSet subset, SerializableBitSet set) {
+		for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+			if (!set.get(i)) return false;
+		}
+		return true;
+	}
+
+	@Test
+	public void testAddAndContains() {
+		SetTrie trie = new SetTrie();
+		SerializableBitSet set = new SerializableBitSet(COLUMNS);
+		set.set(3);
+		set.set(7);
+		SerializableBitSet empty = new SerializableBitSet(COLUMNS);
+
+		Assert.assertTrue(trie.add(set));
+		Assert.assertFalse(trie.add(set.clone()));
+		Assert.assertTrue(trie.contains(set));
+		Assert.assertFalse(trie.contains(empty));
+		Assert.assertTrue(trie.add(empty));
+		Assert.assertEquals(trie.size(), 2);
+		Assert.assertEqualsNoOrder(trie.toArray(), new SerializableBitSet[]{set, empty});
+	}
+
+	@Test
+	public void testSubsetQueries() {
+		Random random = new Random(21);
+		SetTrie trie = new SetTrie();
+		Set<SerializableBitSet> expected = new HashSet<>();
+		for (int i = 0; i < 300; i++) {
+			SerializableBitSet set = randomSet(random);
+			trie.add(set);
+			expected.add(set);
+		}
+		Assert.assertEquals(trie.size(), expected.size());
+
+		for (int i = 0; i < 300; i++) {
+			SerializableBitSet query = randomSet(random);
+			boolean containsSubset = false;
+			for (SerializableBitSet set : expected) containsSubset |= isSubset(set, query);
+			Assert.assertEquals(trie.containsSubsetOf(query), containsSubset);
+		}
+
+		for (int i = 0; i < 50; i++) {
+			SerializableBitSet query = randomSet(random);
+			List<SerializableBitSet> supersets = new ArrayList<>();
+			for (SerializableBitSet set : expected) {
+				if (isSubset(query, set)) supersets.add(set);
+			}
+			expected.removeAll(supersets);
+
+			Assert.assertEquals(trie.removeSupersetsOf(query), supersets.size());
+			Assert.assertEquals(trie.size(), expected.size());
+			Assert.assertEquals(new HashSet<>(Arrays.asList(trie.toArray())), expected);
+		}
+	}
+
+	@Test
+	public void testInsertEmptySetIntoPopulatedTrie() {
+		Random random = new Random(23);
+		SetTrie trie = new SetTrie();
+		for (int i = 0; i < 100; i++) trie.add(randomSet(random));
+		int storedSets = trie.size();
+		SerializableBitSet empty = new SerializableBitSet(COLUMNS);
+
+		// inserting a new minimal set drops its supersets first
+		Assert.assertEquals(trie.removeSupersetsOf(empty), storedSets);
+		Assert.assertTrue(trie.isEmpty());
+		Assert.assertEquals(trie.toArray().length, 0);
+		Assert.assertFalse(trie.iterator().hasNext());
+
+		Assert.assertTrue(trie.add(empty));
+		Assert.assertEquals(trie.size(), 1);
+		Assert.assertEquals(trie.toArray(), new SerializableBitSet[]{empty});
+		Assert.assertTrue(trie.containsSubsetOf(randomSet(random)));
+	}
+}
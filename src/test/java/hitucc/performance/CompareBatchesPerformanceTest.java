@@ -0,0 +1,54 @@
+package hitucc.performance;
+
+import hitucc.behaviour.dictionary.IColumn;
+import hitucc.behaviour.differenceSets.*;
+import hitucc.model.EncodedBatch;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * Compares two large batches with and without cache tiling, as created by a low data duplication factor. The second
+ * batch does not fit into the L2 cache.
+ */
+public class CompareBatchesPerformanceTest {
+	private static final int ROWS_A = 2000;
+	private static final int ROWS_B = 30000;
+	private static final int COLUMNS = 40;
+	private static final int TRIES = 3;
+
+	private EncodedBatch createBatch(Random random, int rowCount) {
+		IColumn[] columns = new IColumn[COLUMNS];
+		for (int i = 0; i < COLUMNS; i++) {
+			// most columns follow a few row groups, so the number of unique difference sets stays small
+			int valueCount = 2 + i % 5;
+			columns[i] = IColumn.create(rowCount, valueCount);
+			for (int row = 0; row < rowCount; row++) columns[i].setValue(row, i < COLUMNS - 12 ? row % valueCount : random.nextInt(valueCount));
+		}
+		return new EncodedBatch(columns, rowCount);
+	}
+
+	private void benchmark(String name, ICompareBatchesStrategy strategy, EncodedBatch batchA, EncodedBatch batchB) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < TRIES; i++) {
+			DifferenceSetDetector detector = new DifferenceSetDetector(new HashAddDifferenceSetStrategy(), new BucketingCalculateMinimalSetsStrategy(COLUMNS), new TwoSidedMergeMinimalSetsStrategy(), COLUMNS);
+			long start = System.nanoTime();
+			strategy.compareBatches(batchA, batchB, detector);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		Reporter.log(name + ": " + best / 1000000 + " ms", true);
+	}
+
+	@Test
+	public void testTiling() {
+		Random random = new Random(1337);
+		EncodedBatch batchA = createBatch(random, ROWS_A);
+		EncodedBatch batchB = createBatch(random, ROWS_B);
+
+		benchmark("cross product untiled", new CrossProductCompareBatchesStrategy(CrossProductCompareBatchesStrategy.DEFAULT_BLOCK_SIZE, Integer.MAX_VALUE), batchA, batchB);
+		benchmark("cross product 256 KB tiles", new CrossProductCompareBatchesStrategy(CrossProductCompareBatchesStrategy.DEFAULT_BLOCK_SIZE, 256 * 1024), batchA, batchB);
+		benchmark("bit sliced untiled", new BitSlicedCompareBatchesStrategy(Integer.MAX_VALUE), batchA, batchB);
+		benchmark("bit sliced 256 KB tiles", new BitSlicedCompareBatchesStrategy(256 * 1024), batchA, batchB);
+	}
+}
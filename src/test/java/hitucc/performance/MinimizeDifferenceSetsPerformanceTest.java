@@ -0,0 +1,101 @@
+package hitucc.performance;
+
+import hitucc.behaviour.differenceSets.*;
+import hitucc.model.SerializableBitSet;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Minimizes many unique candidate sets with the available strategies. In the dominated cases every candidate contains
+ * one of a few small minimal sets, in the antichain case all candidates are minimal.
+ */
+public class MinimizeDifferenceSetsPerformanceTest {
+	private static final int CANDIDATES = 1000000;
+	private static final int TRIES = 3;
+
+	private static Set<SerializableBitSet> dominatedCandidates(Random random, int columns, int minimalCount, double density) {
+		List<SerializableBitSet> minimalSets = new ArrayList<>(antichainCandidates(random, columns, minimalCount, 3));
+		Set<SerializableBitSet> candidates = new LinkedHashSet<>(minimalSets);
+		while (candidates.size() < CANDIDATES) {
+			SerializableBitSet set = minimalSets.get(random.nextInt(minimalCount)).clone();
+			for (int column = 0; column < columns; column++) {
+				if (random.nextDouble() < density) set.set(column);
+			}
+			candidates.add(set);
+		}
+		return candidates;
+	}
+
+	private static Set<SerializableBitSet> antichainCandidates(Random random, int columns, int count, int cardinality) {
+		Set<SerializableBitSet> candidates = new LinkedHashSet<>();
+		while (candidates.size() < count) {
+			SerializableBitSet set = new SerializableBitSet(columns);
+			while (set.cardinality() < cardinality) set.set(random.nextInt(columns));
+			candidates.add(set);
+		}
+		return candidates;
+	}
+
+	private void benchmark(String name, ICalculateMinimalSetsStrategy strategy, Set<SerializableBitSet> candidates) {
+		long best = Long.MAX_VALUE;
+		int minimalSets = 0;
+		for (int i = 0; i < TRIES; i++) {
+			long start = System.nanoTime();
+			minimalSets = strategy.calculateMinimalDifferenceSets(candidates).length;
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		Reporter.log(name + ": " + minimalSets + " minimal sets in " + best / 1000000 + " ms", true);
+	}
+
+	private void benchmarkWords(String name, ICalculateMinimalSetsStrategy strategy, long[] candidates) {
+		long best = Long.MAX_VALUE;
+		int minimalSets = 0;
+		for (int i = 0; i < TRIES; i++) {
+			long start = System.nanoTime();
+			minimalSets = strategy.calculateMinimalDifferenceSets(candidates).length;
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		Reporter.log(name + " (words): " + minimalSets + " minimal sets in " + best / 1000000 + " ms", true);
+	}
+
+	private void benchmarkAll(int columns, Set<SerializableBitSet> candidates) {
+		benchmark("bucketing", new BucketingCalculateMinimalSetsStrategy(columns), candidates);
+		benchmark("set trie", new SetTrieCalculateMinimalSetsStrategy(), candidates);
+		benchmark("inverted index", new InvertedIndexCalculateMinimalSetsStrategy(), candidates);
+		if (columns > Long.SIZE) return;
+
+		// tables with at most 64 columns minimize their sets as words
+		long[] words = new long[candidates.size()];
+		int i = 0;
+		for (SerializableBitSet candidate : candidates) words[i++] = candidate.getWord(0);
+		benchmarkWords("bucketing", new BucketingCalculateMinimalSetsStrategy(columns), words);
+		benchmarkWords("set trie", new SetTrieCalculateMinimalSetsStrategy(), words);
+		benchmarkWords("inverted index", new InvertedIndexCalculateMinimalSetsStrategy(), words);
+	}
+
+	@Test
+	public void testDenselyDominatedCandidates() {
+		benchmarkAll(40, dominatedCandidates(new Random(1337), 40, 10, 0.5));
+	}
+
+	@Test
+	public void testSparselyDominatedCandidates() {
+		benchmarkAll(80, dominatedCandidates(new Random(1338), 80, 20000, 0.05));
+	}
+
+	@Test
+	public void testSparselyDominatedWordCandidates() {
+		benchmarkAll(64, dominatedCandidates(new Random(1340), 64, 20000, 0.05));
+	}
+
+	@Test
+	public void testAntichainCandidates() {
+		benchmarkAll(40, antichainCandidates(new Random(1339), 40, 20000, 6));
+	}
+}